@@ -0,0 +1,31 @@
+package com.dh.TaskManager.admission;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el control de admisión delante de los endpoints de /tasks. GET /tasks/changes queda excluido: sus
+ * conexiones duran lo que dure la suscripción y TaskChangeFeed ya limita la cantidad de suscriptores.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    /**
+     * Constructor de la clase AdmissionControlConfig que realiza la inyección de dependencias.
+     *
+     * @param admissionControlInterceptor El interceptor que aplica el control de admisión.
+     */
+    public AdmissionControlConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/tasks", "/tasks/**")
+                .excludePathPatterns("/tasks/changes");
+    }
+}
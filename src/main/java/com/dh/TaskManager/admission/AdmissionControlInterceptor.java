@@ -0,0 +1,186 @@
+package com.dh.TaskManager.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión de las solicitudes a /tasks: antes de llegar a TaskController cada solicitud debe obtener un
+ * lugar en el AdmissionLimiter de lecturas (GET y HEAD) o en el de escrituras (el resto de los métodos), de modo que
+ * una ráfaga de escrituras no deja sin lugar a las lecturas y viceversa. Las solicitudes rechazadas terminan en
+ * ServiceUnavailableException, que ExceptionConfig responde con 503 y Retry-After.
+ *      *
+ * Las respuestas que se escriben de forma incremental (GET /tasks, exportación e importación) conservan su lugar
+ * hasta que terminan de escribirse, pero su duración no se utiliza para ajustar el límite.
+ *      *
+ * Publica las métricas taskmanager.admission.queued (solicitudes que esperaron su turno),
+ * taskmanager.admission.rejected (con la etiqueta "reason": queue_full o timeout), taskmanager.admission.wait
+ * (tiempo de espera en la cola) y los valores actuales taskmanager.admission.limit, taskmanager.admission.in-flight
+ * y taskmanager.admission.waiting, todas con la etiqueta "class" (read o write).
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".admission";
+
+    /**
+     * Clase de solicitud, cada una con su propio límite y su propia cola.
+     */
+    enum RequestClass {
+        READ,
+        WRITE
+    }
+
+    private final boolean enabled;
+    private final Map<RequestClass, AdmissionLimiter> limiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> queuedCounters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Timer> waitTimers = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Map<AdmissionLimiter.Rejection, Counter>> rejectedCounters =
+            new EnumMap<>(RequestClass.class);
+
+    /**
+     * Constructor de la clase AdmissionControlInterceptor que lee la configuración y registra las métricas.
+     *
+     * @param enabled           Indica si se aplica el control de admisión.
+     * @param readMaxLimit      El máximo de lecturas simultáneas.
+     * @param readMinLimit      El mínimo al que puede bajar el límite adaptativo de lecturas.
+     * @param readQueueSize     La cantidad máxima de lecturas en espera.
+     * @param readQueueTimeout  El tiempo máximo que una lectura espera su turno.
+     * @param writeMaxLimit     El máximo de escrituras simultáneas.
+     * @param writeMinLimit     El mínimo al que puede bajar el límite adaptativo de escrituras.
+     * @param writeQueueSize    La cantidad máxima de escrituras en espera.
+     * @param writeQueueTimeout El tiempo máximo que una escritura espera su turno.
+     * @param adaptive          Indica si los límites se ajustan según la latencia observada.
+     * @param tolerance         El aumento de latencia (como proporción de la latencia de referencia) que se tolera
+     *                          sin reducir el límite.
+     * @param window            La duración de cada ventana de medición de la latencia.
+     * @param retryAfter        El tiempo que se sugiere esperar al cliente cuando su solicitud se rechaza.
+     * @param meterRegistry     El registro de métricas.
+     */
+    public AdmissionControlInterceptor(@Value("${taskmanager.admission.enabled:true}") boolean enabled,
+                                       @Value("${taskmanager.admission.reads.max-concurrency:200}") int readMaxLimit,
+                                       @Value("${taskmanager.admission.reads.min-concurrency:8}") int readMinLimit,
+                                       @Value("${taskmanager.admission.reads.queue-size:200}") int readQueueSize,
+                                       @Value("${taskmanager.admission.reads.queue-timeout:100ms}") Duration readQueueTimeout,
+                                       @Value("${taskmanager.admission.writes.max-concurrency:50}") int writeMaxLimit,
+                                       @Value("${taskmanager.admission.writes.min-concurrency:2}") int writeMinLimit,
+                                       @Value("${taskmanager.admission.writes.queue-size:100}") int writeQueueSize,
+                                       @Value("${taskmanager.admission.writes.queue-timeout:200ms}") Duration writeQueueTimeout,
+                                       @Value("${taskmanager.admission.adaptive:true}") boolean adaptive,
+                                       @Value("${taskmanager.admission.latency-tolerance:2.0}") double tolerance,
+                                       @Value("${taskmanager.admission.window:1s}") Duration window,
+                                       @Value("${taskmanager.admission.retry-after:1s}") Duration retryAfter,
+                                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        limiters.put(RequestClass.READ, new AdmissionLimiter(readMinLimit, readMaxLimit, readQueueSize,
+                readQueueTimeout, adaptive, tolerance, window, retryAfter));
+        limiters.put(RequestClass.WRITE, new AdmissionLimiter(writeMinLimit, writeMaxLimit, writeQueueSize,
+                writeQueueTimeout, adaptive, tolerance, window, retryAfter));
+        limiters.forEach((requestClass, limiter) -> registerMetrics(requestClass, limiter, meterRegistry));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Al volver a despachar una respuesta asíncrona la solicitud ya tiene su lugar.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RequestClass requestClass = classify(request);
+        AdmissionLimiter.Admission admission;
+        try {
+            admission = limiters.get(requestClass).acquire();
+        } catch (AdmissionLimiter.RejectedException e) {
+            rejectedCounters.get(requestClass).get(e.getReason()).increment();
+            throw e;
+        }
+        if (admission.isQueued()) {
+            queuedCounters.get(requestClass).increment();
+            waitTimers.get(requestClass).record(admission.getWaitNanos(), TimeUnit.NANOSECONDS);
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admitted(requestClass, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object admitted = request.getAttribute(ADMISSION_ATTRIBUTE);
+        if (admitted instanceof Admitted admission) {
+            admission.async = true;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object admitted = request.getAttribute(ADMISSION_ATTRIBUTE);
+        if (admitted instanceof Admitted admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            long latency = admission.async ? -1 : System.nanoTime() - admission.start;
+            limiters.get(admission.requestClass).release(latency);
+        }
+    }
+
+    private static RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? RequestClass.READ : RequestClass.WRITE;
+    }
+
+    private void registerMetrics(RequestClass requestClass, AdmissionLimiter limiter, MeterRegistry meterRegistry) {
+        String tag = requestClass.name().toLowerCase();
+        Gauge.builder("taskmanager.admission.limit", limiter, AdmissionLimiter::getLimit)
+                .description("Límite actual de solicitudes simultáneas")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.admission.in-flight", limiter, AdmissionLimiter::getInFlight)
+                .description("Solicitudes que se están atendiendo")
+                .tag("class", tag)
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.admission.waiting", limiter, AdmissionLimiter::getWaiting)
+                .description("Solicitudes que esperan su turno")
+                .tag("class", tag)
+                .register(meterRegistry);
+        queuedCounters.put(requestClass, Counter.builder("taskmanager.admission.queued")
+                .description("Solicitudes que esperaron su turno antes de ser admitidas")
+                .tag("class", tag)
+                .register(meterRegistry));
+        waitTimers.put(requestClass, Timer.builder("taskmanager.admission.wait")
+                .description("Tiempo de espera de las solicitudes admitidas después de esperar su turno")
+                .tag("class", tag)
+                .register(meterRegistry));
+        Map<AdmissionLimiter.Rejection, Counter> rejected = new EnumMap<>(AdmissionLimiter.Rejection.class);
+        for (AdmissionLimiter.Rejection reason : AdmissionLimiter.Rejection.values()) {
+            rejected.put(reason, Counter.builder("taskmanager.admission.rejected")
+                    .description("Solicitudes rechazadas con 503 por el control de admisión")
+                    .tag("class", tag)
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        rejectedCounters.put(requestClass, rejected);
+    }
+
+    /**
+     * Lugar obtenido por una solicitud, guardado como atributo de la solicitud hasta que termina.
+     */
+    private static final class Admitted {
+        private final RequestClass requestClass;
+        private final long start;
+        private volatile boolean async;
+
+        private Admitted(RequestClass requestClass, long start) {
+            this.requestClass = requestClass;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.dh.TaskManager.admission;
+
+import com.dh.TaskManager.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limita la cantidad de solicitudes que se atienden a la vez, con una cola de espera acotada y un límite que se
+ * adapta a la latencia observada.
+ *      *
+ * Mientras haya lugar, una solicitud se admite de inmediato. Si no lo hay, espera su turno en orden de llegada hasta
+ * el tiempo máximo de espera; si la cola ya está llena o el tiempo se agota, se rechaza con
+ * ServiceUnavailableException (503 con Retry-After). Así, ante una sobrecarga, las solicitudes admitidas conservan
+ * una latencia acotada y el resto falla rápido en lugar de acumularse en los hilos del servidor.
+ *      *
+ * El límite se ajusta al final de cada ventana de tiempo comparando la latencia promedio de la ventana con una
+ * latencia de referencia, que es un promedio móvil lento de las ventanas anteriores. Si la latencia crece por encima
+ * de la tolerancia, el límite se reduce en la misma proporción (como mucho a la mitad por ventana); si se mantiene,
+ * el límite crece de a poco (su raíz cuadrada por ventana) hasta el máximo configurado. El límite solo crece cuando
+ * la ventana llegó a utilizar al menos la mitad de él, para no crecer sin haber sido puesto a prueba.
+ */
+public class AdmissionLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int BASELINE_WINDOWS = 20;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final boolean adaptive;
+    private final double tolerance;
+    private final long windowNanos;
+    private final Duration retryAfter;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private long windowStart = System.nanoTime();
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double baselineLatency;
+
+    /**
+     * Constructor de la clase AdmissionLimiter.
+     *
+     * @param minLimit     El límite mínimo de solicitudes simultáneas al que puede bajar el límite adaptativo.
+     * @param maxLimit     El límite máximo de solicitudes simultáneas, que también es el límite inicial.
+     * @param queueSize    La cantidad máxima de solicitudes que pueden esperar su turno.
+     * @param queueTimeout El tiempo máximo que una solicitud espera su turno antes de ser rechazada.
+     * @param adaptive     Indica si el límite se ajusta según la latencia; si no, se mantiene en el máximo.
+     * @param tolerance    La proporción de aumento de la latencia respecto de la referencia que se tolera sin reducir
+     *                     el límite (por ejemplo, 2.0 tolera el doble).
+     * @param window       La duración de cada ventana de medición de la latencia.
+     * @param retryAfter   El tiempo que se sugiere esperar al cliente cuando su solicitud se rechaza.
+     */
+    public AdmissionLimiter(int minLimit, int maxLimit, int queueSize, Duration queueTimeout, boolean adaptive,
+                            double tolerance, Duration window, Duration retryAfter) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = Math.max(1, maxLimit);
+        this.queueSize = queueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.adaptive = adaptive;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.retryAfter = retryAfter;
+        this.limit = this.maxLimit;
+    }
+
+    private final String QUEUE_FULL_MESSAGE = "El servicio está saturado, intente nuevamente más tarde";
+    private final String QUEUE_TIMEOUT_MESSAGE = "Se agotó el tiempo de espera para atender la solicitud";
+    private final String INTERRUPTED_MESSAGE = "Se interrumpió la espera para atender la solicitud";
+
+    /**
+     * Resultado de una admisión: indica cuánto esperó la solicitud en la cola.
+     */
+    public static final class Admission {
+        private final long waitNanos;
+
+        private Admission(long waitNanos) {
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * @return boolean Verdadero si la solicitud tuvo que esperar su turno.
+         */
+        public boolean isQueued() {
+            return waitNanos >= 0;
+        }
+
+        /**
+         * @return long El tiempo de espera en la cola, en nanosegundos, o -1 si se admitió de inmediato.
+         */
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+    }
+
+    /**
+     * Motivo por el que se rechazó una solicitud.
+     */
+    public enum Rejection {
+        QUEUE_FULL,
+        TIMEOUT
+    }
+
+    /**
+     * Excepción lanzada al rechazar una solicitud, con el motivo del rechazo.
+     */
+    public static final class RejectedException extends ServiceUnavailableException {
+        private final Rejection reason;
+
+        private RejectedException(String message, Duration retryAfter, Rejection reason) {
+            super(message, retryAfter);
+            this.reason = reason;
+        }
+
+        /**
+         * @return Rejection El motivo del rechazo.
+         */
+        public Rejection getReason() {
+            return reason;
+        }
+    }
+
+    /**
+     * Admite una solicitud, esperando su turno si no hay lugar.
+     *
+     * @return Admission El resultado de la admisión. Cada admisión debe terminar con una llamada a release().
+     * @throws RejectedException Si la cola está llena, se agota el tiempo de espera o se interrumpe el hilo.
+     */
+    public Admission acquire() {
+        lock.lock();
+        try {
+            // Con solicitudes en espera, una nueva no se adelanta aunque haya un lugar libre.
+            if (waiting == 0 && inFlight < (int) limit) {
+                admit();
+                return new Admission(-1);
+            }
+            if (waiting >= queueSize) {
+                throw new RejectedException(QUEUE_FULL_MESSAGE, retryAfter, Rejection.QUEUE_FULL);
+            }
+            long start = System.nanoTime();
+            long remaining = queueTimeoutNanos;
+            waiting++;
+            try {
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw new RejectedException(QUEUE_TIMEOUT_MESSAGE, retryAfter, Rejection.TIMEOUT);
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedException(INTERRUPTED_MESSAGE, retryAfter, Rejection.TIMEOUT);
+            } finally {
+                waiting--;
+            }
+            admit();
+            // Si quedó más lugar (por ejemplo, porque creció el límite), se despierta a la siguiente en la cola.
+            if (waiting > 0 && inFlight < (int) limit) {
+                available.signal();
+            }
+            return new Admission(System.nanoTime() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera el lugar de una solicitud admitida y registra su latencia para ajustar el límite.
+     *
+     * @param latencyNanos La duración de la solicitud desde su admisión, o un valor negativo para no utilizarla en
+     *                     el ajuste (por ejemplo, en las respuestas que se escriben de forma incremental, cuya
+     *                     duración depende del tamaño de la respuesta y no de la saturación).
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (adaptive && latencyNanos >= 0) {
+                sample(latencyNanos);
+            }
+            if (waiting > 0 && inFlight < (int) limit) {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int El límite actual de solicitudes simultáneas.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int La cantidad de solicitudes que se están atendiendo.
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int La cantidad de solicitudes que esperan su turno.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit() {
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+    }
+
+    /**
+     * Acumula la latencia de una solicitud y, al cerrar la ventana, ajusta el límite. Se llama con el lock tomado.
+     */
+    private void sample(long latencyNanos) {
+        windowLatencySum += latencyNanos;
+        windowSamples++;
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+
+        double latency = (double) windowLatencySum / windowSamples;
+        if (baselineLatency == 0) {
+            baselineLatency = latency;
+        } else {
+            baselineLatency += (latency - baselineLatency) / BASELINE_WINDOWS;
+            // Si la latencia bajó mucho (por ejemplo, al terminar una sobrecarga) la referencia la sigue más rápido.
+            if (baselineLatency > 2 * latency) {
+                baselineLatency = latency;
+            }
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineLatency / latency));
+        boolean tested = windowMaxInFlight >= limit / 2;
+        if (gradient < 1.0 || tested) {
+            double target = gradient < 1.0 ? limit * gradient : limit + Math.sqrt(limit);
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+        }
+
+        windowStart = now;
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+    }
+}
@@ -0,0 +1,145 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura (read-through) de tareas por identificador.
+ *      *
+ * Utiliza Caffeine, que combina una política de desalojo W-TinyLFU con un tamaño máximo de entradas y,
+ * opcionalmente, un tiempo de expiración. Las entradas se invalidan cuando se confirma la transacción que
+ * modificó o eliminó la tarea; si la invalidación llega mientras la tarea se está cargando, la carga en curso se
+ * quita de la caché, por lo que una lectura concurrente nunca puede dejar almacenada una versión anterior a la
+ * confirmada.
+ *      *
+ * La carga desde el repositorio no se ejecuta dentro del bloqueo de la caché: cada entrada es un CompletableFuture
+ * que se registra sin realizar E/S y que luego completa el mismo hilo que la solicitó. Así una consulta JDBC nunca
+ * queda dentro de un bloque synchronized (lo que fijaría el hilo portador de un hilo virtual), y las lecturas
+ * concurrentes de la misma tarea esperan el resultado de esa única consulta.
+ *      *
+ * Los objetos almacenados se comparten entre solicitudes y no deben modificarse.
+ */
+@Component
+public class TaskCache {
+
+    /**
+     * El orden de la invalidación de esta caché entre los oyentes de TaskChangedEvent. Se invalida antes que las
+     * cachés que se completan a partir de ella (TaskResponseBodyCache) y antes de publicar el cambio a los
+     * suscriptores, de modo que una lectura posterior a esas invalidaciones ya no obtiene la versión anterior.
+     */
+    public static final int INVALIDATION_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final boolean enabled;
+    private final AsyncCache<Long, TaskResponseDTO> cache;
+
+    /**
+     * Constructor de la clase TaskCache que construye la caché a partir de la configuración.
+     *
+     * @param enabled          Indica si la caché está activa. Si no lo está, todas las lecturas van al repositorio.
+     * @param maximumSize      La cantidad máxima de tareas almacenadas.
+     * @param expireAfterWrite El tiempo tras el cual una entrada expira, o cero para no expirar por tiempo.
+     * @param meterRegistry    El registro de métricas donde se publican los aciertos, fallos y desalojos
+     *                         (cache.gets, cache.evictions, etc. con la etiqueta cache=tasks).
+     */
+    public TaskCache(@Value("${taskmanager.cache.enabled:true}") boolean enabled,
+                     @Value("${taskmanager.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${taskmanager.cache.expire-after-write:0s}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats();
+        if (!expireAfterWrite.isZero()) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        this.cache = builder.buildAsync();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "tasks");
+        }
+    }
+
+    /**
+     * Obtiene una tarea de la caché o, si no está, la carga con la función indicada y la almacena.
+     * Si la función lanza una excepción (por ejemplo, porque la tarea no existe), no se almacena nada.
+     *
+     * @param id     El identificador de la tarea.
+     * @param loader La función que obtiene la tarea del repositorio.
+     * @return TaskResponseDTO La tarea solicitada.
+     */
+    public TaskResponseDTO get(Long id, Function<Long, TaskResponseDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        CompletableFuture<TaskResponseDTO> loading = new CompletableFuture<>();
+        CompletableFuture<TaskResponseDTO> cached = cache.get(id, (key, executor) -> loading);
+        if (cached != loading) {
+            return join(cached);
+        }
+        try {
+            TaskResponseDTO task = loader.apply(id);
+            loading.complete(task);
+            return task;
+        } catch (RuntimeException e) {
+            // Caffeine descarta las entradas que se completan con una excepción.
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene una tarea de la caché sin cargarla si no está almacenada.
+     *
+     * @param id El identificador de la tarea.
+     * @return TaskResponseDTO La tarea almacenada, o nula si no está en la caché o la caché está desactivada.
+     */
+    public TaskResponseDTO getIfPresent(Long id) {
+        CompletableFuture<TaskResponseDTO> cached = enabled ? cache.getIfPresent(id) : null;
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join();
+    }
+
+    /**
+     * Invalida la entrada de una tarea cuando se confirma su actualización o eliminación.
+     * Si el cambio ocurre fuera de una transacción, la invalidación se realiza de inmediato.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @Order(INVALIDATION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (enabled && event.getType() != TaskChangeType.CREATED) {
+            cache.synchronous().invalidate(event.getId());
+        }
+    }
+
+    private static TaskResponseDTO join(CompletableFuture<TaskResponseDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
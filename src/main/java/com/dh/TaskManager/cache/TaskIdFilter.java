@@ -0,0 +1,139 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Filtro en memoria de los identificadores de tareas existentes, que permite responder 404 a los identificadores
+ * desconocidos sin consultar la base de datos.
+ *      *
+ * Los identificadores se asignan de forma consecutiva, por lo que se guardan en un mapa de bits dividido en páginas
+ * de 65536 identificadores (8 KB) que se crean a medida que se usan. A diferencia de un filtro de Bloom, el mapa de
+ * bits admite bajas y no da falsos positivos por colisiones.
+ *      *
+ * Nunca debe indicar que no existe una tarea que sí existe. Por eso el alta marca el identificador al publicarse el
+ * evento, antes de confirmar la transacción, y la baja lo desmarca recién una vez confirmada. La carga desde el
+ * repositorio (ver TaskIdFilterReconciler) solo marca identificadores, y hasta que termina la primera carga el
+ * filtro deja pasar todas las consultas. Un identificador marcado que no existe (por un alta revertida o una baja
+ * hecha por fuera de la aplicación) solo hace que esa consulta llegue a la base de datos. En cambio, una tarea
+ * creada por fuera de la aplicación (por ejemplo, por otra instancia) se responde como inexistente hasta la carga
+ * siguiente; si varias instancias escriben en la misma base de datos conviene desactivar el filtro.
+ */
+@Component
+public class TaskIdFilter {
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+
+    private final boolean enabled;
+    private final Map<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor de la clase TaskIdFilter que lee la configuración.
+     *
+     * @param enabled       Indica si el filtro está activo. Si no lo está, todas las consultas llegan al repositorio.
+     * @param meterRegistry El registro de métricas donde se publica la cantidad de consultas respondidas por el
+     *                      filtro (taskmanager.id-filter.rejected).
+     */
+    public TaskIdFilter(@Value("${taskmanager.id-filter.enabled:true}") boolean enabled, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.rejected = Counter.builder("taskmanager.id-filter.rejected")
+                .description("Consultas de tareas inexistentes respondidas sin acceder a la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return boolean true si el filtro está activo.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indica si una tarea puede existir. Si devuelve false, la tarea no existe y no hace falta consultar el
+     * repositorio; si devuelve true, la tarea puede existir o no.
+     *
+     * @param id El identificador de la tarea.
+     * @return boolean false solo si la tarea seguro no existe.
+     */
+    public boolean mightExist(Long id) {
+        if (!enabled || !loaded || id == null) {
+            return true;
+        }
+        AtomicLongArray page = pages.get(id >> PAGE_SHIFT);
+        int bit = (int) (id & PAGE_MASK);
+        if (page != null && (page.get(bit >>> 6) & (1L << bit)) != 0) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Marca el identificador de una tarea creada en cuanto se publica el evento, antes de confirmar la
+     * transacción, para que no haya un intervalo en el que la tarea exista y el filtro la rechace.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @EventListener
+    public void onTaskCreated(TaskChangedEvent event) {
+        if (enabled && event.getType() == TaskChangeType.CREATED) {
+            add(event.getId());
+        }
+    }
+
+    /**
+     * Desmarca el identificador de una tarea eliminada una vez confirmada la transacción.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskDeleted(TaskChangedEvent event) {
+        if (enabled && event.getType() == TaskChangeType.DELETED) {
+            remove(event.getId());
+        }
+    }
+
+    /**
+     * Marca los identificadores de las tareas existentes en el repositorio. Los identificadores ya marcados se
+     * conservan, ya que pueden corresponder a altas todavía no confirmadas. Al terminar la primera carga el filtro
+     * comienza a rechazar identificadores.
+     *
+     * @param source Función que recorre los identificadores de todas las tareas entregándolos al consumidor indicado.
+     */
+    public void load(Consumer<LongConsumer> source) {
+        if (!enabled) {
+            return;
+        }
+        source.accept(this::add);
+        loaded = true;
+    }
+
+    private void add(long id) {
+        AtomicLongArray page = pages.computeIfAbsent(id >> PAGE_SHIFT, key -> new AtomicLongArray((PAGE_MASK + 1) / Long.SIZE));
+        int bit = (int) (id & PAGE_MASK);
+        page.getAndAccumulate(bit >>> 6, 1L << bit, (word, mask) -> word | mask);
+    }
+
+    private void remove(long id) {
+        AtomicLongArray page = pages.get(id >> PAGE_SHIFT);
+        if (page != null) {
+            int bit = (int) (id & PAGE_MASK);
+            page.getAndAccumulate(bit >>> 6, ~(1L << bit), (word, mask) -> word & mask);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.service.ITaskService;
+import com.dh.TaskManager.service.impl.TaskService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga el filtro de identificadores de tareas desde el repositorio cuando la aplicación termina de iniciar y
+ * luego periódicamente, en un hilo propio, para incorporar las tareas creadas por fuera de la aplicación.
+ */
+@Component
+public class TaskIdFilterReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskIdFilterReconciler.class);
+
+    private final ITaskService taskService;
+    private final TaskIdFilter taskIdFilter;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-id-filter-reconciler").daemon().factory());
+
+    /**
+     * Constructor de la clase TaskIdFilterReconciler que realiza la inyección de dependencias.
+     *
+     * @param taskService  El servicio de tareas utilizado para recorrer los identificadores de las tareas existentes.
+     * @param taskIdFilter El filtro a cargar.
+     * @param interval     Cada cuánto se vuelve a cargar el filtro; cero solo lo carga al iniciar.
+     */
+    public TaskIdFilterReconciler(TaskService taskService, TaskIdFilter taskIdFilter,
+                                  @Value("${taskmanager.id-filter.reconcile-interval:10m}") Duration interval) {
+        this.taskService = taskService;
+        this.taskIdFilter = taskIdFilter;
+        this.interval = interval;
+    }
+
+    /**
+     * Carga el filtro al iniciar y programa las cargas periódicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!taskIdFilter.isEnabled()) {
+            return;
+        }
+        LOGGER.info("Filtro de identificadores de tareas cargado en {} ms", reconcile());
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::reconcileSafely, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Detiene las cargas periódicas.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private long reconcile() {
+        long start = System.nanoTime();
+        taskIdFilter.load(taskService::streamAllTaskIds);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void reconcileSafely() {
+        try {
+            LOGGER.debug("Filtro de identificadores de tareas cargado en {} ms", reconcile());
+        } catch (RuntimeException e) {
+            LOGGER.warn("No se pudo cargar el filtro de identificadores de tareas", e);
+        }
+    }
+}
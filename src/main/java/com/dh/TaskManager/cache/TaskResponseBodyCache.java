@@ -0,0 +1,187 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya serializadas de GET /tasks/{id}.
+ *      *
+ * Cada entrada guarda el JSON de la tarea y su versión y, si la configuración lo indica y el resultado es menor,
+ * también el mismo JSON comprimido con gzip. Así una tarea consultada con frecuencia se escribe en la respuesta
+ * directamente a partir de los bytes almacenados, sin convertirla a TaskResponseDTO ni serializarla otra vez.
+ *      *
+ * Cada entrada se utiliza solo para la versión de la tarea que se serializó: la tarea se obtiene primero (de
+ * TaskCache o del repositorio) y, si la entrada almacenada corresponde a otra versión, se vuelve a serializar la
+ * tarea obtenida. Así la respuesta y su ETag siempre coinciden con la tarea leída por la solicitud, y una entrada
+ * que se completó a partir de una versión anterior no puede seguir respondiéndose una vez que TaskCache tiene la
+ * nueva.
+ *      *
+ * El tamaño de la caché se limita por la cantidad total de bytes almacenados y no por la cantidad de entradas.
+ * Las entradas se invalidan cuando se confirma la actualización o la eliminación de la tarea, después de invalidar
+ * TaskCache (ver TaskCache.INVALIDATION_ORDER).
+ */
+@Component
+public class TaskResponseBodyCache {
+
+    /**
+     * Bytes que se suman al peso de cada entrada por los objetos que la componen, además del contenido.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final boolean enabled;
+    private final boolean gzip;
+    private final int gzipMinSize;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, SerializedTask> cache;
+
+    /**
+     * Constructor de la clase TaskResponseBodyCache que construye la caché a partir de la configuración.
+     *
+     * @param enabled       Indica si la caché está activa. Si no lo está, GET /tasks/{id} serializa la tarea en cada solicitud.
+     * @param maximumSize   La cantidad máxima de bytes almacenados entre todas las entradas.
+     * @param gzip          Indica si también se almacena cada respuesta comprimida con gzip.
+     * @param gzipMinSize   El tamaño mínimo del JSON a partir del cual se intenta comprimir.
+     * @param objectMapper  El ObjectMapper con el que se serializan las tareas, el mismo que utilizan las respuestas.
+     * @param meterRegistry El registro de métricas donde se publican los aciertos, fallos y desalojos
+     *                      (cache.gets, cache.evictions, etc. con la etiqueta cache=task-responses).
+     */
+    public TaskResponseBodyCache(@Value("${taskmanager.response-cache.enabled:true}") boolean enabled,
+                                 @Value("${taskmanager.response-cache.maximum-size:16MB}") DataSize maximumSize,
+                                 @Value("${taskmanager.response-cache.gzip:true}") boolean gzip,
+                                 @Value("${taskmanager.response-cache.gzip-min-size:256B}") DataSize gzipMinSize,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<Long, SerializedTask>weigher((id, body) -> body.weight())
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "task-responses");
+        }
+    }
+
+    /**
+     * Indica si la caché está activa.
+     *
+     * @return boolean true si GET /tasks/{id} debe responder con los bytes de esta caché.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtiene la respuesta serializada de la versión indicada de una tarea. Si la entrada almacenada no existe o
+     * corresponde a otra versión, serializa la tarea y la almacena, salvo que otra solicitud ya haya almacenado una
+     * versión posterior.
+     *
+     * @param task La tarea obtenida por la solicitud.
+     * @return SerializedTask La respuesta serializada de esa versión de la tarea.
+     */
+    public SerializedTask get(TaskResponseDTO task) {
+        SerializedTask cached = cache.getIfPresent(task.getId());
+        if (cached != null && isVersion(cached, task.getVersion())) {
+            return cached;
+        }
+        SerializedTask body = serialize(task);
+        cache.asMap().merge(task.getId(), body,
+                (existing, serialized) -> isNewer(existing, serialized) ? existing : serialized);
+        return body;
+    }
+
+    /**
+     * Invalida la respuesta de una tarea cuando se confirma su actualización o eliminación, después de TaskCache.
+     * Si el cambio ocurre fuera de una transacción, la invalidación se realiza de inmediato.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @Order(TaskCache.INVALIDATION_ORDER + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (enabled && event.getType() != TaskChangeType.CREATED) {
+            cache.invalidate(event.getId());
+        }
+    }
+
+    private static boolean isVersion(SerializedTask body, Long version) {
+        return body.version != null && body.version.equals(version);
+    }
+
+    private static boolean isNewer(SerializedTask existing, SerializedTask serialized) {
+        return existing.version != null && serialized.version != null && existing.version > serialized.version;
+    }
+
+    private SerializedTask serialize(TaskResponseDTO task) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(task);
+            byte[] compressed = gzip && json.length >= gzipMinSize ? compress(json) : null;
+            if (compressed != null && compressed.length >= json.length) {
+                compressed = null;
+            }
+            return new SerializedTask(task.getVersion(), json, compressed);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Respuesta serializada de una tarea. Los arreglos se comparten entre solicitudes y no deben modificarse.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SerializedTask {
+
+        /**
+         * La versión de la tarea serializada, utilizada para el ETag.
+         */
+        private final Long version;
+
+        /**
+         * El cuerpo de la respuesta en JSON.
+         */
+        private final byte[] json;
+
+        /**
+         * El mismo cuerpo comprimido con gzip, o nulo si no se comprime.
+         */
+        private final byte[] gzip;
+
+        private int weight() {
+            return ENTRY_OVERHEAD + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
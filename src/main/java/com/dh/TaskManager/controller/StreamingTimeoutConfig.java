@@ -0,0 +1,61 @@
+package com.dh.TaskManager.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Aplica a las respuestas que se escriben de forma incremental (StreamingResponseBody) su propio límite de tiempo,
+ * taskmanager.streaming.timeout, en lugar del límite general de las solicitudes asíncronas
+ * (spring.mvc.async.request-timeout), que sigue rigiendo para las demás, como GET /tasks/changes.
+ *      *
+ * TaskController marca cada respuesta incremental con markStreaming y el interceptor aplica el límite justo antes de
+ * iniciar el procesamiento asíncrono de esa solicitud.
+ */
+@Configuration
+public class StreamingTimeoutConfig implements WebMvcConfigurer {
+
+    private static final String STREAMING_ATTRIBUTE = StreamingTimeoutConfig.class.getName() + ".streaming";
+
+    private final long timeoutMillis;
+
+    /**
+     * Constructor de la clase StreamingTimeoutConfig que lee la configuración.
+     *
+     * @param timeout El límite de tiempo de las respuestas incrementales; 0 las deja sin límite.
+     */
+    public StreamingTimeoutConfig(@Value("${taskmanager.streaming.timeout:0}") Duration timeout) {
+        this.timeoutMillis = timeout.isZero() || timeout.isNegative() ? -1 : timeout.toMillis();
+    }
+
+    /**
+     * Indica que la solicitud en curso responde con un cuerpo incremental, para que se le aplique su propio límite
+     * de tiempo.
+     */
+    public static void markStreaming() {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(STREAMING_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest asyncWebRequest
+                        && request.getAttribute(STREAMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncWebRequest.setTimeout(timeoutMillis);
+                }
+            }
+        });
+    }
+}
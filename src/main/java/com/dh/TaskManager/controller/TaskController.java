@@ -1,17 +1,45 @@
 package com.dh.TaskManager.controller;
 
+import com.dh.TaskManager.cache.TaskResponseBodyCache;
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskField;
+import com.dh.TaskManager.dto.TaskIngestStatusDTO;
+import com.dh.TaskManager.dto.TaskPageDTO;
 import com.dh.TaskManager.dto.TaskRequestDTO;
 import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
 import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.dto.TaskSearchResultDTO;
+import com.dh.TaskManager.dto.TaskStatsDTO;
 import com.dh.TaskManager.exception.NotFoundException;
+import com.dh.TaskManager.feed.TaskChangeFeed;
+import com.dh.TaskManager.exception.PreconditionFailedException;
+import com.dh.TaskManager.service.ITaskImportService;
+import com.dh.TaskManager.service.ITaskIngestService;
 import com.dh.TaskManager.service.ITaskService;
+import com.dh.TaskManager.service.impl.TaskImportService;
+import com.dh.TaskManager.service.impl.TaskIngestService;
 import com.dh.TaskManager.service.impl.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con las tareas.
@@ -21,66 +49,322 @@ import java.util.List;
 public class TaskController {
 
     private final ITaskService taskService;
+    private final ITaskIngestService taskIngestService;
+    private final ITaskImportService taskImportService;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskResponseBodyCache taskResponseBodyCache;
+    private final ObjectMapper objectMapper;
+
+    private static final String COLLECTION_ETAG_PREFIX = "tasks-";
+    private static final String GZIP = "gzip";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IF_MATCH_MISMATCH_MESSAGE = "El encabezado If-Match no corresponde a la tarea indicada";
 
     /**
      * Constructor de la clase TaskController que realiza la inyección de dependencias del servicio de tareas.
      *
-     * @param taskService La implementación concreta del servicio de tareas que se utilizará en el controlador.
-     *                    Aunque se utiliza la interfaz ITaskService como atributo, se pasa la implementación
-     *                    concreta del servicio al constructor, siguiendo el principio de inversión de dependencias.
+     * @param taskService  La implementación concreta del servicio de tareas que se utilizará en el controlador.
+     *                     Aunque se utiliza la interfaz ITaskService como atributo, se pasa la implementación
+     *                     concreta del servicio al constructor, siguiendo el principio de inversión de dependencias.
+     * @param taskIngestService La implementación del modo de alta asíncrono, utilizada por POST /tasks cuando está activo.
+     * @param taskImportService La implementación de la importación masiva de tareas en formato NDJSON.
+     * @param taskChangeFeed El canal que publica los cambios sobre las tareas en GET /tasks/changes.
+     * @param taskResponseBodyCache La caché de respuestas ya serializadas de GET /tasks/{id}.
+     * @param objectMapper El objeto ObjectMapper utilizado para escribir las tareas en la respuesta a medida que se leen.
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskIngestService taskIngestService,
+                          TaskImportService taskImportService, TaskChangeFeed taskChangeFeed,
+                          TaskResponseBodyCache taskResponseBodyCache, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskIngestService = taskIngestService;
+        this.taskImportService = taskImportService;
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskResponseBodyCache = taskResponseBodyCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
      Crea una nueva tarea utilizando los datos proporcionados en el objeto TaskRequestDTO.
+     *      *
+     * Si el modo de alta asíncrono está activo (taskmanager.ingest.enabled), la tarea solo se encola y se responde
+     * 202 (ACCEPTED) con un token de seguimiento; su estado se consulta en la URL del encabezado Location.
      *
      * @param taskDTO El objeto TaskRequestDTO que contiene los datos de la tarea a crear.
-     * @return ResponseEntity<TaskResponseDTO> ResponseEntity que contiene el objeto TaskResponseDTO creado,
-     *          con un estado HTTP 201 (CREATED) si la tarea se crea correctamente.
+     * @return ResponseEntity<?> ResponseEntity que contiene el objeto TaskResponseDTO creado, con un estado
+     *          HTTP 201 (CREATED) si la tarea se crea correctamente, o el objeto TaskIngestStatusDTO con un estado
+     *          HTTP 202 (ACCEPTED) si la tarea se aceptó en el modo asíncrono.
+     * @throws com.dh.TaskManager.exception.ServiceUnavailableException Si la cola del modo asíncrono está llena.
      */
     @PostMapping
-    public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO taskDTO) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(taskDTO));
+    public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequestDTO taskDTO) {
+        if (taskIngestService.isEnabled()) {
+            TaskIngestStatusDTO status = taskIngestService.submitTask(taskDTO);
+            return ResponseEntity.accepted().location(URI.create("/tasks/ingest/" + status.getToken())).body(status);
+        }
+        TaskResponseDTO task = taskService.createTask(taskDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(taskETag(task.getId(), task.getVersion())).body(task);
+    }
+
+    /**
+     * Obtiene el estado de una tarea aceptada por el modo de alta asíncrono.
+     *
+     * @param token El token de seguimiento devuelto por POST /tasks.
+     * @return ResponseEntity<TaskIngestStatusDTO> Un ResponseEntity que contiene el estado de la tarea (PENDING,
+     *          CREATED o FAILED), con un estado HTTP 200 (OK), o estado HTTP 404 (NOT FOUND) si el token no existe.
+     * @throws NotFoundException Si el token no existe o su estado ya expiró.
+     */
+    @GetMapping("/ingest/{token}")
+    public ResponseEntity<TaskIngestStatusDTO> getIngestStatus(@PathVariable String token) {
+        return ResponseEntity.ok(taskIngestService.getIngestStatus(token));
     }
 
     /**
      * Obtiene una tarea específica por su identificador.
      *
-     * @param id El identificador único de la tarea.
-     * @return ResponseEntity<TaskResponseDTO> Un ResponseEntity que contiene el objeto TaskResponseDTO correspondiente
-     *         a la tarea solicitada, con un estado HTTP 200 (OK) si se encuentra la tarea, o estado HTTP 404 (NOT FOUND)
-     *         si no se encuentra.
+     *      *
+     * La respuesta incluye un ETag fuerte basado en la versión de la tarea. Si la solicitud trae un encabezado
+     * If-None-Match, primero se obtiene solo la versión y, si coincide, se responde 304 (NOT MODIFIED) sin
+     * convertir ni serializar la tarea.
+     *      *
+     * Si la caché de respuestas está activa, el cuerpo se escribe directamente a partir de los bytes almacenados
+     * (comprimidos con gzip si el cliente lo acepta y la entrada los tiene), sin construir ni serializar el DTO.
+     *      *
+     * Con el parámetro fields (por ejemplo, fields=id,title) solo se incluyen los campos indicados; si no se pide la
+     * descripción, tampoco se lee de la base de datos. Estas respuestas no pasan por la caché de respuestas y su
+     * ETag incluye los campos pedidos.
+     *
+     * @param id      El identificador único de la tarea.
+     * @param fields  Los campos a incluir, separados por comas (opcional; por defecto, todos).
+     * @param request La solicitud web, utilizada para evaluar los encabezados If-None-Match y Accept-Encoding.
+     * @return ResponseEntity<?> Un ResponseEntity que contiene la tarea solicitada (como TaskResponseDTO o ya
+     *         serializada), con un estado HTTP 200 (OK) si se encuentra la tarea, estado HTTP 304 (NOT MODIFIED)
+     *         si el cliente ya tiene la versión actual, o estado HTTP 404 (NOT FOUND) si no se encuentra.
      * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si algún campo indicado no existe.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        Set<TaskField> taskFields = TaskField.parse(fields);
+        if (!TaskField.isAll(taskFields)) {
+            TaskResponseDTO task = taskService.getTaskById(id, taskFields);
+            // checkNotModified también agrega el encabezado ETag a la respuesta.
+            if (request.checkNotModified(taskETag(id, task.getVersion(), taskFields))) {
+                return null;
+            }
+            return ResponseEntity.ok(task);
+        }
+        if (taskResponseBodyCache.isEnabled()) {
+            return getSerializedTaskById(id, request);
+        }
+        // checkNotModified agrega el encabezado ETag a la respuesta, por lo que solo se agrega aquí si no se llamó.
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        if (conditional && request.checkNotModified(taskETag(id, taskService.getTaskVersion(id)))) {
+            return null;
+        }
+        TaskResponseDTO task = taskService.getTaskById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!conditional) {
+            response.eTag(taskETag(id, task.getVersion()));
+        }
+        return response.body(task);
     }
 
     /**
      * Obtiene todas las tareas disponibles.
+     *      *
+     * Las tareas se devuelven como un arreglo JSON que se escribe en la respuesta a medida que se lee de la base
+     * de datos, sin acumular la lista completa en memoria. El ETag de la colección se obtiene con una consulta
+     * agregada; si coincide con el encabezado If-None-Match se responde 304 (NOT MODIFIED) sin leer las tareas.
+     * Con el parámetro fields solo se incluyen (y se leen) los campos indicados.
      *
-     * @return ResponseEntity<List<TaskResponseDTO>> Un ResponseEntity que contiene una lista de TaskResponseDTO,
+     * @param fields  Los campos a incluir en cada tarea, separados por comas (opcional; por defecto, todos).
+     * @param request La solicitud web, utilizada para evaluar el encabezado If-None-Match.
+     * @return ResponseEntity<StreamingResponseBody> Un ResponseEntity cuyo cuerpo escribe el arreglo de TaskResponseDTO,
      *          con un estado HTTP 200 (OK) si se obtienen las tareas correctamente.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si algún campo indicado no existe.
+     */
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<StreamingResponseBody> getAllTasks(@RequestParam(required = false) String fields,
+                                                             WebRequest request) {
+        Set<TaskField> taskFields = TaskField.parse(fields);
+        // checkNotModified también agrega el encabezado ETag a la respuesta.
+        if (request.checkNotModified(collectionETag(taskFields))) {
+            return null;
+        }
+        StreamingTimeoutConfig.markStreaming();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(streamAllTasks(taskFields));
+    }
+
+    /**
+     * Suscribe al cliente a los cambios sobre las tareas mediante Server-Sent Events.
+     *      *
+     * Cada alta, modificación o baja confirmada se envía como un evento "created", "updated" o "deleted" con un
+     * objeto TaskChangeDTO. Al reconectarse con el encabezado Last-Event-ID el cliente recibe los cambios que se
+     * perdió; si ya no están disponibles recibe un evento "reset" y debe volver a obtener GET /tasks.
+     *
+     * @param lastEventId El identificador del último evento recibido antes de una reconexión (opcional).
+     * @return SseEmitter El emisor por el que se envían los cambios, con un estado HTTP 200 (OK).
+     * @throws com.dh.TaskManager.exception.ServiceUnavailableException Si se alcanzó la cantidad máxima de suscriptores.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Exporta todas las tareas en formato JSON delimitado por líneas (NDJSON), una tarea por línea.
+     *      *
+     * Las tareas se escriben a medida que se leen de la base de datos, igual que en GET /tasks, por lo que el
+     * consumo de memoria no depende de la cantidad de tareas. El resultado puede importarse con POST /tasks/import.
+     *
+     * @return ResponseEntity<StreamingResponseBody> Un ResponseEntity cuyo cuerpo escribe una tarea por línea,
+     *          con un estado HTTP 200 (OK).
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingTimeoutConfig.markStreaming();
+        return ResponseEntity.ok().contentType(NDJSON).body(outputStream -> {
+            try (JsonGenerator generator = ndjsonGenerator(outputStream)) {
+                taskService.streamAllTasks(task -> {
+                    try {
+                        generator.writeObject(task);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Importa tareas desde un cuerpo en formato JSON delimitado por líneas (NDJSON), una tarea por línea.
+     *      *
+     * El cuerpo se lee y se guarda por bloques, cada uno en su propia transacción, mientras la respuesta se escribe
+     * también en NDJSON: una línea por cada línea rechazada (con su número y el motivo), una línea de avance por cada
+     * bloque confirmado y una línea final con el resultado (completed = true). Los campos desconocidos, como el
+     * identificador de un archivo exportado, se ignoran: las tareas importadas reciben identificadores nuevos.
+     *
+     * @param request La solicitud HTTP, de cuyo cuerpo se leen las tareas.
+     * @return ResponseEntity<StreamingResponseBody> Un ResponseEntity cuyo cuerpo informa los errores y el avance de la
+     *          importación, con un estado HTTP 200 (OK).
+     * @throws IOException Si no se puede leer el cuerpo de la solicitud.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importTasks(HttpServletRequest request) throws IOException {
+        InputStream input = request.getInputStream();
+        StreamingTimeoutConfig.markStreaming();
+        return ResponseEntity.ok().contentType(NDJSON).body(outputStream -> {
+            try (JsonGenerator generator = ndjsonGenerator(outputStream)) {
+                Consumer<Object> writeLine = line -> {
+                    try {
+                        generator.writeObject(line);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                writeLine.accept(taskImportService.importTasks(input, writeLine::accept, progress -> {
+                    writeLine.accept(progress);
+                    try {
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        });
+    }
+
+    /**
+     * Obtiene una página de tareas utilizando paginación por cursor.
+     *
+     * Las páginas no llevan ETag: el ETag de la colección requiere una consulta agregada sobre toda la tabla, que
+     * costaría más que leer la propia página.
+     *
+     * @param after   Cursor opaco devuelto por la página anterior (opcional).
+     * @param limit   Cantidad máxima de tareas por página (opcional).
+     * @param fields  Los campos a incluir en cada tarea, separados por comas (opcional; por defecto, todos).
+     * @return ResponseEntity<TaskPageDTO> Un ResponseEntity que contiene las tareas de la página y el cursor de la
+     *          página siguiente, con un estado HTTP 200 (OK) si se obtienen las tareas correctamente.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si el cursor, el límite o algún campo no son válidos.
      */
     @GetMapping
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<TaskPageDTO> getTasksPage(@RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.getTasksPage(after, limit, TaskField.parse(fields)));
+    }
+
+    /**
+     * Busca tareas por texto en su título y descripción.
+     *
+     * @param q    El texto a buscar. Cada palabra también coincide con las palabras que comienzan con ella.
+     * @param page Número de página, comenzando en 0 (opcional).
+     * @param size Cantidad máxima de resultados por página (opcional).
+     * @return ResponseEntity<TaskSearchResultDTO> Un ResponseEntity que contiene las tareas encontradas ordenadas por
+     *          relevancia, con un estado HTTP 200 (OK) si la búsqueda se realiza correctamente.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si la consulta está vacía o la paginación no es válida.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResultDTO> searchTasks(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer page,
+                                                           @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskService.searchTasks(q, page, size));
+    }
+
+    /**
+     * Obtiene las estadísticas de las tareas: cantidad total, altas, modificaciones y bajas recientes y distribución
+     * de las longitudes del título y la descripción. Se calculan en memoria, sin leer las tareas.
+     *
+     * @return ResponseEntity<TaskStatsDTO> Un ResponseEntity que contiene las estadísticas, con un estado HTTP 200 (OK).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats() {
+        return ResponseEntity.ok(taskService.getTaskStats());
     }
 
     /**
      * Actualiza una tarea existente utilizando los datos proporcionados en el objeto TaskRequestToUpdateDTO.
+     *      *
+     * Si la solicitud incluye el encabezado If-Match con el ETag de la tarea, la actualización solo se aplica si
+     * la tarea no fue modificada desde entonces; de lo contrario se responde 412 (PRECONDITION FAILED).
      *
      * @param taskRequestDTO El objeto TaskRequestToUpdateDTO que contiene los datos actualizados de la tarea.
+     * @param ifMatch        El valor del encabezado If-Match (opcional).
      * @return ResponseEntity<TaskResponseDTO> Un ResponseEntity que contiene el objeto TaskResponseDTO actualizado,
      *          con un estado HTTP 200 (OK) si la tarea se actualiza correctamente.
-     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws NotFoundException           Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws PreconditionFailedException Si la tarea fue modificada después de obtener el ETag indicado.
      */
     @PutMapping
-    public ResponseEntity<TaskResponseDTO> updateTask(@Valid @RequestBody TaskRequestToUpdateDTO taskRequestDTO) {
-        return ResponseEntity.ok(taskService.updateTask(taskRequestDTO));
+    public ResponseEntity<TaskResponseDTO> updateTask(@Valid @RequestBody TaskRequestToUpdateDTO taskRequestDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null : parseIfMatch(ifMatch, taskRequestDTO.getId());
+        TaskResponseDTO task = taskService.updateTask(taskRequestDTO, expectedVersion);
+        return ResponseEntity.ok().eTag(taskETag(task.getId(), task.getVersion())).body(task);
+    }
+
+    /**
+     * Actualiza parcialmente una tarea existente: solo se modifican los campos presentes en el objeto TaskRequestToUpdateDTO.
+     *      *
+     * Admite el encabezado If-Match de la misma forma que PUT: si la tarea fue modificada después de obtener el
+     * ETag indicado se responde 412 (PRECONDITION FAILED).
+     *
+     * @param taskRequestDTO El objeto TaskRequestToUpdateDTO con el identificador de la tarea y los campos a modificar.
+     * @param ifMatch        El valor del encabezado If-Match (opcional).
+     * @return ResponseEntity<TaskResponseDTO> Un ResponseEntity que contiene el objeto TaskResponseDTO actualizado,
+     *          con un estado HTTP 200 (OK) si la tarea se actualiza correctamente.
+     * @throws NotFoundException           Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws PreconditionFailedException Si la tarea fue modificada después de obtener el ETag indicado.
+     */
+    @PatchMapping
+    public ResponseEntity<TaskResponseDTO> patchTask(@RequestBody TaskRequestToUpdateDTO taskRequestDTO,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null : parseIfMatch(ifMatch, taskRequestDTO.getId());
+        TaskResponseDTO task = taskService.patchTask(taskRequestDTO, expectedVersion);
+        return ResponseEntity.ok().eTag(taskETag(task.getId(), task.getVersion())).body(task);
     }
 
     /**
@@ -96,4 +380,165 @@ public class TaskController {
         taskService.deleteTaskById(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Crea varias tareas en una única transacción.
+     *
+     * @param taskDTOs La lista de objetos TaskRequestDTO con los datos de las tareas a crear.
+     * @return ResponseEntity<BatchResponseDTO> Un ResponseEntity con el resultado de cada elemento y un estado HTTP 200 (OK).
+     *          Los elementos inválidos se informan individualmente sin impedir que se creen los demás.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si el lote supera la cantidad máxima de elementos.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponseDTO> createTasks(@RequestBody List<TaskRequestDTO> taskDTOs) {
+        return ResponseEntity.ok(taskService.createTasks(taskDTOs));
+    }
+
+    /**
+     * Actualiza varias tareas en una única transacción.
+     *
+     * @param taskRequestDTOs La lista de objetos TaskRequestToUpdateDTO con los datos actualizados de las tareas.
+     * @return ResponseEntity<BatchResponseDTO> Un ResponseEntity con el resultado de cada elemento y un estado HTTP 200 (OK).
+     *          Los elementos inválidos o inexistentes se informan individualmente.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si el lote supera la cantidad máxima de elementos.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResponseDTO> updateTasks(@RequestBody List<TaskRequestToUpdateDTO> taskRequestDTOs) {
+        return ResponseEntity.ok(taskService.updateTasks(taskRequestDTOs));
+    }
+
+    /**
+     * Elimina varias tareas por sus identificadores en una única transacción.
+     *
+     * @param ids La lista de identificadores de las tareas a eliminar.
+     * @return ResponseEntity<BatchResponseDTO> Un ResponseEntity con el resultado de cada elemento y un estado HTTP 200 (OK).
+     *          Los identificadores inexistentes se informan individualmente.
+     * @throws com.dh.TaskManager.exception.BadRequestException Si el lote supera la cantidad máxima de elementos.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponseDTO> deleteTasks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+
+    /**
+     * Responde GET /tasks/{id} a partir de la caché de respuestas serializadas.
+     * La tarea se obtiene del servicio (normalmente de TaskCache) y se responde con la entrada almacenada solo si
+     * corresponde a la misma versión; si no, se serializa y se almacena.
+     *
+     * @param id      El identificador único de la tarea.
+     * @param request La solicitud web, utilizada para evaluar los encabezados If-None-Match y Accept-Encoding.
+     * @return ResponseEntity<byte[]> Un ResponseEntity con el JSON de la tarea, o nulo si se respondió 304 (NOT MODIFIED).
+     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     */
+    private ResponseEntity<byte[]> getSerializedTaskById(Long id, WebRequest request) {
+        TaskResponseBodyCache.SerializedTask body = taskResponseBodyCache.get(taskService.getTaskById(id));
+        // checkNotModified también agrega el encabezado ETag a la respuesta.
+        if (request.checkNotModified(taskETag(id, body.getVersion()))) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (body.getGzip() != null && acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
+
+    /**
+     * Construye el ETag fuerte de una tarea a partir de su identificador y su versión.
+     *
+     * @param id      El identificador de la tarea.
+     * @param version La versión de la tarea.
+     * @return String El ETag entre comillas, con el formato "id-versión".
+     */
+    private static String taskETag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Construye el ETag fuerte de una representación parcial de una tarea: el de la tarea completa con los campos
+     * pedidos agregados al final, para que no coincida con el de otra representación.
+     *
+     * @param id      El identificador de la tarea.
+     * @param version La versión de la tarea.
+     * @param fields  Los campos incluidos en la respuesta.
+     * @return String El ETag entre comillas, con el formato "id-versión-campos".
+     */
+    private static String taskETag(Long id, Long version, Set<TaskField> fields) {
+        return "\"" + id + "-" + version + "-" + TaskField.key(fields) + "\"";
+    }
+
+    /**
+     * Construye el ETag fuerte de la colección de tareas a partir de sus valores agregados y de los campos pedidos.
+     *
+     * @param fields Los campos incluidos en cada tarea; si son todos, el ETag no los menciona.
+     * @return String El ETag de la colección entre comillas.
+     */
+    private String collectionETag(Set<TaskField> fields) {
+        String suffix = TaskField.isAll(fields) ? "" : "-" + TaskField.key(fields);
+        return "\"" + COLLECTION_ETAG_PREFIX + taskService.getTasksVersionTag() + suffix + "\"";
+    }
+
+    /**
+     * Obtiene la versión esperada de una tarea a partir del encabezado If-Match.
+     *
+     * @param ifMatch El valor del encabezado If-Match.
+     * @param id      El identificador de la tarea que se quiere actualizar.
+     * @return Long La versión indicada en el ETag, o nula si el encabezado es "*" (cualquier versión).
+     * @throws PreconditionFailedException Si el ETag es débil, tiene otro formato o pertenece a otra tarea.
+     */
+    private static Long parseIfMatch(String ifMatch, Long id) {
+        String etag = ifMatch.trim();
+        if (etag.equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"") || etag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException(IF_MATCH_MISMATCH_MESSAGE);
+        }
+        try {
+            return Long.parseLong(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(IF_MATCH_MISMATCH_MESSAGE);
+        }
+    }
+
+    /**
+     * Construye el cuerpo de la respuesta que escribe todas las tareas como un arreglo JSON, una por una,
+     * a medida que el servicio las lee de la base de datos.
+     *
+     * @param fields Los campos a incluir en cada tarea.
+     * @return StreamingResponseBody El cuerpo de la respuesta que se escribe de forma incremental.
+     */
+    private StreamingResponseBody streamAllTasks(Set<TaskField> fields) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                taskService.streamAllTasks(fields, task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Crea un generador JSON para escribir una respuesta NDJSON: cada valor se escribe en su propia línea,
+     * por lo que se quita el separador (un espacio) que Jackson agrega entre valores de nivel raíz.
+     *
+     * @param outputStream El flujo de salida de la respuesta.
+     * @return JsonGenerator El generador sobre el flujo de salida.
+     * @throws IOException Si no se puede crear el generador.
+     */
+    private JsonGenerator ndjsonGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
 }
@@ -0,0 +1,108 @@
+package com.dh.TaskManager.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita la cantidad de conexiones JDBC en uso simultáneo.
+ *      *
+ * Con hilos virtuales puede haber miles de solicitudes bloqueadas esperando una conexión. El grupo de conexiones
+ * no garantiza el orden en que las entrega, de modo que bajo carga algunas solicitudes esperan mucho más que otras
+ * y terminan agotando el tiempo de espera del grupo. Este DataSource hace que los hilos esperen en un semáforo
+ * justo (en orden de llegada) con tantos permisos como conexiones tiene el grupo; cada permiso se devuelve al
+ * cerrar la conexión obtenida. Semaphore no utiliza synchronized, por lo que los hilos virtuales que esperan
+ * no fijan su hilo portador.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    /**
+     * Constructor de la clase ConcurrencyLimitedDataSource.
+     *
+     * @param targetDataSource El DataSource real, normalmente el grupo de conexiones.
+     * @param maxConcurrency   La cantidad máxima de conexiones en uso simultáneo.
+     * @param acquireTimeout   El tiempo máximo que un hilo espera su turno antes de fallar.
+     */
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, int maxConcurrency, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No se obtuvo una conexión JDBC disponible en " + acquireTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Se interrumpió la espera de una conexión JDBC", e);
+        }
+    }
+
+    /**
+     * Envuelve la conexión para devolver el permiso la primera vez que se cierra.
+     * Pedir la conexión con unwrap(Connection.class) devuelve el mismo envoltorio, para que cerrarla también
+     * devuelva el permiso; solo se entrega la conexión real a quien pide una interfaz propia del controlador.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    if (method.getName().equals("isWrapperFor") && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.dh.TaskManager.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envuelve el DataSource de la aplicación en un ConcurrencyLimitedDataSource, de modo que JPA y el resto de los
+ * componentes obtengan las conexiones a través del límite de concurrencia.
+ *      *
+ * Se aplica antes que los demás envoltorios del DataSource (ver SqlLogDataSourcePostProcessor), de modo que envuelve
+ * directamente al grupo de conexiones y el permiso se devuelve cuando la conexión real vuelve al grupo.
+ */
+@Component
+public class ConcurrencyLimitedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    /**
+     * El orden de este post-procesador; los envoltorios que se aplican después quedan por fuera del límite.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    /**
+     * Constructor de la clase ConcurrencyLimitedDataSourcePostProcessor que recibe la configuración del límite.
+     *
+     * @param maxConcurrency La cantidad máxima de conexiones JDBC en uso simultáneo, o 0 para no limitarla.
+     *                       Por defecto coincide con el tamaño máximo del grupo de conexiones.
+     * @param acquireTimeout El tiempo máximo que una solicitud espera su turno para obtener una conexión.
+     */
+    public ConcurrencyLimitedDataSourcePostProcessor(
+            @Value("${taskmanager.jdbc.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${taskmanager.jdbc.acquire-timeout:30s}") Duration acquireTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (maxConcurrency > 0 && bean instanceof DataSource dataSource
+                && !(bean instanceof ConcurrencyLimitedDataSource)) {
+            return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
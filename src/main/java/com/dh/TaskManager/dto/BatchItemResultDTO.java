@@ -0,0 +1,32 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con el resultado de un elemento dentro de una operación por lotes.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    /**
+     * La posición del elemento dentro del arreglo recibido.
+     */
+    private int index;
+
+    /**
+     * El código de estado HTTP que corresponde al resultado del elemento.
+     */
+    private int status;
+
+    /**
+     * La tarea resultante, cuando la operación la devuelve.
+     */
+    private TaskResponseDTO task;
+
+    /**
+     * El mensaje de error, cuando el elemento no pudo procesarse.
+     */
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) que contiene la respuesta de una operación por lotes.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class BatchResponseDTO {
+
+    /**
+     * La cantidad de elementos procesados correctamente.
+     */
+    private int succeeded;
+
+    /**
+     * La cantidad de elementos que no pudieron procesarse.
+     */
+    private int failed;
+
+    /**
+     * El resultado de cada elemento, en el mismo orden en que se recibieron.
+     */
+    private List<BatchItemResultDTO> items;
+}
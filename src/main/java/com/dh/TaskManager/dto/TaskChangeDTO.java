@@ -0,0 +1,28 @@
+package com.dh.TaskManager.dto;
+
+import com.dh.TaskManager.event.TaskChangeType;
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con un cambio sobre una tarea, enviado por GET /tasks/changes.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskChangeDTO {
+
+    /**
+     * El tipo de cambio.
+     */
+    private TaskChangeType type;
+
+    /**
+     * El identificador de la tarea modificada.
+     */
+    private Long id;
+
+    /**
+     * El estado de la tarea después del cambio, o nulo si la tarea fue eliminada.
+     */
+    private TaskResponseDTO task;
+}
@@ -0,0 +1,70 @@
+package com.dh.TaskManager.dto;
+
+import com.dh.TaskManager.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de una tarea que se pueden pedir con el parámetro fields de los endpoints de lectura (por ejemplo,
+ * ?fields=id,title). Los campos que no se piden no se incluyen en la respuesta ni se leen de la base de datos.
+ */
+public enum TaskField {
+    ID,
+    TITLE,
+    DESCRIPTION;
+
+    private static final String EMPTY_FIELDS_MESSAGE = "Se debe indicar al menos un campo";
+    private static final String UNKNOWN_FIELD_MESSAGE = "Campo desconocido: %s. Los campos válidos son id, title y description";
+
+    /**
+     * Obtiene el conjunto de campos indicado en el parámetro fields.
+     *
+     * @param fields Los nombres de los campos separados por comas, o nulo para pedir todos los campos.
+     * @return Set<TaskField> Los campos pedidos.
+     * @throws BadRequestException Si no se indica ningún campo o alguno no existe.
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null) {
+            return EnumSet.allOf(TaskField.class);
+        }
+        Set<TaskField> result = EnumSet.noneOf(TaskField.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                result.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(String.format(UNKNOWN_FIELD_MESSAGE, name));
+            }
+        }
+        if (result.isEmpty()) {
+            throw new BadRequestException(EMPTY_FIELDS_MESSAGE);
+        }
+        return result;
+    }
+
+    /**
+     * Indica si el conjunto contiene todos los campos, es decir, si corresponde a la representación completa.
+     *
+     * @param fields Los campos pedidos.
+     * @return boolean Verdadero si no se omite ningún campo.
+     */
+    public static boolean isAll(Set<TaskField> fields) {
+        return fields.size() == values().length;
+    }
+
+    /**
+     * Construye una clave estable para el conjunto de campos, utilizada para distinguir los ETag de cada proyección.
+     *
+     * @param fields Los campos pedidos.
+     * @return String Los nombres de los campos en minúsculas y en orden fijo, separados por puntos.
+     */
+    public static String key(Set<TaskField> fields) {
+        return fields.stream().map(field -> field.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining("."));
+    }
+}
@@ -0,0 +1,22 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con el error de una línea de una importación de tareas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskImportErrorDTO {
+
+    /**
+     * El número de línea del archivo importado, comenzando en 1.
+     */
+    private long line;
+
+    /**
+     * El motivo por el cual la línea no se importó.
+     */
+    private String message;
+}
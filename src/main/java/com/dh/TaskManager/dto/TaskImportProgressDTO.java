@@ -0,0 +1,32 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con el avance de una importación de tareas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskImportProgressDTO {
+
+    /**
+     * La cantidad de líneas leídas hasta el momento.
+     */
+    private long lines;
+
+    /**
+     * La cantidad de tareas creadas hasta el momento.
+     */
+    private long created;
+
+    /**
+     * La cantidad de líneas que no se importaron.
+     */
+    private long failed;
+
+    /**
+     * Indica si la importación terminó.
+     */
+    private boolean completed;
+}
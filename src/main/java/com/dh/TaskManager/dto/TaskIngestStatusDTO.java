@@ -0,0 +1,50 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con el estado de una tarea recibida en el modo de alta asíncrono.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskIngestStatusDTO {
+
+    /**
+     * Estados posibles de una tarea recibida.
+     */
+    public enum State {
+        /**
+         * La tarea está en la cola esperando a ser escrita.
+         */
+        PENDING,
+        /**
+         * La tarea fue guardada; el campo task contiene la tarea creada.
+         */
+        CREATED,
+        /**
+         * La tarea no pudo guardarse; el campo message contiene el motivo.
+         */
+        FAILED
+    }
+
+    /**
+     * El token de seguimiento devuelto al aceptar la tarea.
+     */
+    private String token;
+
+    /**
+     * El estado actual de la tarea.
+     */
+    private State state;
+
+    /**
+     * La tarea creada, cuando el estado es CREATED.
+     */
+    private TaskResponseDTO task;
+
+    /**
+     * El mensaje de error, cuando el estado es FAILED.
+     */
+    private String message;
+}
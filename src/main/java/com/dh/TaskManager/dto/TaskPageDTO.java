@@ -0,0 +1,25 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) que contiene una página de tareas obtenida mediante un cursor.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    /**
+     * Las tareas que forman parte de la página.
+     */
+    private List<TaskResponseDTO> items;
+
+    /**
+     * El cursor opaco que se debe enviar en el parámetro "after" para obtener la página siguiente.
+     * Es nulo cuando no hay más tareas.
+     */
+    private String nextCursor;
+}
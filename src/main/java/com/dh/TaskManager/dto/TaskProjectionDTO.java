@@ -0,0 +1,60 @@
+package com.dh.TaskManager.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Representa una tarea con solo los campos pedidos en el parámetro fields (por ejemplo, ?fields=id,title).
+ *      *
+ * Se serializa con sus propias reglas: se escriben exactamente los campos pedidos, aunque su valor sea nulo, y se
+ * omiten los demás. La representación completa (TaskResponseDTO) no cambia y sigue incluyendo los campos nulos.
+ */
+@Getter
+@JsonSerialize(using = TaskProjectionDTO.Serializer.class)
+public class TaskProjectionDTO extends TaskResponseDTO {
+
+    /**
+     * Los campos pedidos, que son los únicos que se incluyen en el cuerpo de la respuesta.
+     */
+    private final Set<TaskField> fields;
+
+    /**
+     * Crea una proyección vacía de una tarea.
+     *
+     * @param fields Los campos pedidos.
+     */
+    public TaskProjectionDTO(Set<TaskField> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Serializador que escribe solo los campos pedidos de la proyección.
+     */
+    static class Serializer extends StdSerializer<TaskProjectionDTO> {
+
+        Serializer() {
+            super(TaskProjectionDTO.class);
+        }
+
+        @Override
+        public void serialize(TaskProjectionDTO task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            if (task.fields.contains(TaskField.ID)) {
+                generator.writeObjectField("id", task.getId());
+            }
+            if (task.fields.contains(TaskField.TITLE)) {
+                generator.writeStringField("title", task.getTitle());
+            }
+            if (task.fields.contains(TaskField.DESCRIPTION)) {
+                generator.writeStringField("description", task.getDescription());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
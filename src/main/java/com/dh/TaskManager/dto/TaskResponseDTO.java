@@ -1,5 +1,6 @@
 package com.dh.TaskManager.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 /**
@@ -22,4 +23,10 @@ public class TaskResponseDTO {
      * La descripción de la tarea.
      */
     private String description;
+
+    /**
+     * La versión de la tarea. No se incluye en el cuerpo de la respuesta; se envía en el encabezado ETag.
+     */
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,22 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) que contiene una tarea encontrada por una búsqueda.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskSearchHitDTO {
+
+    /**
+     * La tarea encontrada.
+     */
+    private TaskResponseDTO task;
+
+    /**
+     * El puntaje de relevancia de la tarea para la consulta. Un puntaje mayor indica una mejor coincidencia.
+     */
+    private double score;
+}
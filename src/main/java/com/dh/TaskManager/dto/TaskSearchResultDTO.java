@@ -0,0 +1,34 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) que contiene una página de resultados de búsqueda de tareas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskSearchResultDTO {
+
+    /**
+     * La cantidad total de tareas que coinciden con la consulta.
+     */
+    private int total;
+
+    /**
+     * El número de página, comenzando en 0.
+     */
+    private int page;
+
+    /**
+     * La cantidad máxima de resultados por página.
+     */
+    private int size;
+
+    /**
+     * Las tareas de la página, ordenadas de mayor a menor relevancia.
+     */
+    private List<TaskSearchHitDTO> items;
+}
@@ -0,0 +1,27 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con un intervalo de la distribución de longitudes de un texto.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskSizeBucketDTO {
+
+    /**
+     * La longitud mínima del intervalo, en caracteres.
+     */
+    private long minLength;
+
+    /**
+     * La longitud máxima del intervalo, en caracteres.
+     */
+    private long maxLength;
+
+    /**
+     * La cantidad de tareas cuya longitud está en el intervalo.
+     */
+    private long count;
+}
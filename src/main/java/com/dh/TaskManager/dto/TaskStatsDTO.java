@@ -0,0 +1,54 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con las estadísticas de las tareas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskStatsDTO {
+
+    /**
+     * La cantidad total de tareas.
+     */
+    private long count;
+
+    /**
+     * La duración de la ventana de tiempo de los contadores de actividad, en segundos.
+     */
+    private long windowSeconds;
+
+    /**
+     * La cantidad de tareas creadas en la ventana.
+     */
+    private long createdInWindow;
+
+    /**
+     * La cantidad de modificaciones de tareas en la ventana.
+     */
+    private long updatedInWindow;
+
+    /**
+     * La cantidad de tareas eliminadas en la ventana.
+     */
+    private long deletedInWindow;
+
+    /**
+     * Las estadísticas de longitud de los títulos.
+     */
+    private TaskTextStatsDTO title;
+
+    /**
+     * Las estadísticas de longitud de las descripciones.
+     */
+    private TaskTextStatsDTO description;
+
+    /**
+     * El momento en que las estadísticas se conciliaron por última vez con el repositorio, o nulo si aún no se hizo.
+     */
+    private Instant reconciledAt;
+}
@@ -0,0 +1,30 @@
+package com.dh.TaskManager.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Representa un objeto de transferencia de datos (DTO) con las estadísticas de longitud de un campo de texto
+ * (título o descripción) de las tareas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class TaskTextStatsDTO {
+
+    /**
+     * La suma de las longitudes del campo en todas las tareas, en caracteres.
+     */
+    private long totalLength;
+
+    /**
+     * La longitud promedio del campo, en caracteres, o cero si no hay tareas.
+     */
+    private double averageLength;
+
+    /**
+     * La distribución de longitudes en intervalos de potencias de dos. Solo se incluyen los intervalos con tareas.
+     */
+    private List<TaskSizeBucketDTO> distribution;
+}
@@ -15,9 +15,12 @@ import lombok.*;
 public class Task {
     /**
      * El identificador único de la tarea.
+     * Se obtiene de una secuencia con un optimizador "pooled": cada consulta a la secuencia reserva un bloque de
+     * identificadores, lo que permite a Hibernate agrupar los INSERT en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_sequence")
+    @SequenceGenerator(name = "task_sequence", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -30,4 +33,11 @@ public class Task {
      */
     private String description;
 
+    /**
+     * La versión de la tarea, que se incrementa con cada modificación.
+     * Permite detectar actualizaciones concurrentes (bloqueo optimista) y generar los ETag de las respuestas.
+     */
+    @Version
+    private Long version;
+
 }
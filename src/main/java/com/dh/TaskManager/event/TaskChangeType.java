@@ -0,0 +1,10 @@
+package com.dh.TaskManager.event;
+
+/**
+ * Tipos de cambio que puede sufrir una tarea.
+ */
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,29 @@
+package com.dh.TaskManager.event;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import lombok.*;
+
+/**
+ * Evento publicado por el servicio de tareas cada vez que una tarea se crea, se actualiza o se elimina.
+ * Los componentes que mantienen información derivada de las tareas (por ejemplo, la caché) lo escuchan
+ * una vez confirmada la transacción.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    /**
+     * El tipo de cambio.
+     */
+    private final TaskChangeType type;
+
+    /**
+     * El identificador de la tarea modificada.
+     */
+    private final Long id;
+
+    /**
+     * El estado de la tarea después del cambio, o nulo si la tarea fue eliminada.
+     */
+    private final TaskResponseDTO task;
+}
@@ -0,0 +1,16 @@
+package com.dh.TaskManager.exception;
+
+/**
+ * Excepción lanzada cuando los parámetros de una solicitud no son válidos.
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Crea una nueva instancia de BadRequestException con el mensaje especificado.
+     *
+     * @param message El mensaje que describe la excepción.
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,12 @@
 package com.dh.TaskManager.exception;
 
 import com.dh.TaskManager.dto.ExceptionDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -11,7 +15,9 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manejador global de excepciones que proporciona el manejo centralizado de excepciones lanzadas por controladores
@@ -20,18 +26,90 @@ import java.util.Objects;
 @ControllerAdvice
 public class ExceptionConfig {
 
+    // Los mensajes de NotFoundException son constantes; el límite solo evita crecer si alguno incluyera datos variables.
+    private static final int MAX_NOT_FOUND_RESPONSES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, ResponseEntity<byte[]>> notFoundResponses = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase ExceptionConfig que realiza la inyección de dependencias.
+     *
+     * @param objectMapper El ObjectMapper utilizado para serializar por única vez las respuestas 404.
+     */
+    public ExceptionConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /**
      * Maneja las excepciones de tipo NotFoundException, devolviendo un ResponseEntity con un objeto ExceptionDTO
      * que contiene el mensaje de error correspondiente y un estado HTTP 404 (NOT FOUND).
+     *      *
+     * La respuesta de cada mensaje se construye y serializa una sola vez y luego se comparte entre todas las
+     * solicitudes, de modo que responder un identificador inexistente no crea ni serializa un ExceptionDTO.
      *
      * @param e La excepción NotFoundException que se está manejando.
-     * @return ResponseEntity<?> ResponseEntity que contiene un objeto ExceptionDTO con el mensaje de error
-     *         y un estado HTTP 404 (NOT FOUND).
+     * @return ResponseEntity<?> ResponseEntity que contiene un objeto ExceptionDTO ya serializado con el mensaje
+     *         de error y un estado HTTP 404 (NOT FOUND).
      */
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<?> ExceptionHandler(NotFoundException e){
+        String message = e.getMessage();
+        ResponseEntity<byte[]> response = message == null ? null : notFoundResponses.get(message);
+        if (response == null) {
+            response = notFoundResponse(message);
+            if (message != null && notFoundResponses.size() < MAX_NOT_FOUND_RESPONSES) {
+                notFoundResponses.putIfAbsent(message, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Maneja las excepciones de tipo BadRequestException, devolviendo un ResponseEntity con un objeto ExceptionDTO
+     * que contiene el mensaje de error correspondiente y un estado HTTP 400 (BAD REQUEST).
+     *
+     * @param e La excepción BadRequestException que se está manejando.
+     * @return ResponseEntity<?> ResponseEntity que contiene un objeto ExceptionDTO con el mensaje de error
+     *         y un estado HTTP 400 (BAD REQUEST).
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> badRequest(BadRequestException e){
         ExceptionDTO exceptionDto = new ExceptionDTO(e.getMessage());
-        return new ResponseEntity<>(exceptionDto, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(exceptionDto, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja las excepciones de tipo PreconditionFailedException, devolviendo un ResponseEntity con un objeto ExceptionDTO
+     * que contiene el mensaje de error correspondiente y un estado HTTP 412 (PRECONDITION FAILED).
+     *
+     * @param e La excepción PreconditionFailedException que se está manejando.
+     * @return ResponseEntity<?> ResponseEntity que contiene un objeto ExceptionDTO con el mensaje de error
+     *         y un estado HTTP 412 (PRECONDITION FAILED).
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> preconditionFailed(PreconditionFailedException e){
+        ExceptionDTO exceptionDto = new ExceptionDTO(e.getMessage());
+        return new ResponseEntity<>(exceptionDto, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Maneja las excepciones de tipo ServiceUnavailableException, devolviendo un ResponseEntity con un objeto ExceptionDTO
+     * que contiene el mensaje de error correspondiente, un estado HTTP 503 (SERVICE UNAVAILABLE) y el encabezado
+     * Retry-After con los segundos que el cliente debería esperar antes de reintentar.
+     * También responde a las solicitudes rechazadas por el control de admisión (AdmissionLimiter.RejectedException).
+     *
+     * @param e La excepción ServiceUnavailableException que se está manejando.
+     * @return ResponseEntity<?> ResponseEntity que contiene un objeto ExceptionDTO con el mensaje de error
+     *         y un estado HTTP 503 (SERVICE UNAVAILABLE).
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> serviceUnavailable(ServiceUnavailableException e){
+        ExceptionDTO exceptionDto = new ExceptionDTO(e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(exceptionDto);
     }
 
     /**
@@ -67,5 +145,15 @@ public class ExceptionConfig {
         return new ResponseEntity<>(exceptionDto,HttpStatus.BAD_REQUEST);
     }
 
+    private ResponseEntity<byte[]> notFoundResponse(String message) {
+        try {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(new ExceptionDTO(message)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 
 }
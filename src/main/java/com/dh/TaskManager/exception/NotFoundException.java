@@ -2,6 +2,10 @@ package com.dh.TaskManager.exception;
 
 /**
  * Excepción lanzada cuando una entidad no se encuentra en el sistema.
+ *      *
+ * No registra la pila de llamadas ni admite excepciones suprimidas: es un resultado esperado de la solicitud (un
+ * identificador inexistente), ExceptionConfig solo utiliza su mensaje, y capturar la pila es la mayor parte del
+ * costo de crear una excepción.
  */
 public class NotFoundException extends RuntimeException {
 
@@ -11,6 +15,6 @@ public class NotFoundException extends RuntimeException {
      * @param message El mensaje que describe la excepción.
      */
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
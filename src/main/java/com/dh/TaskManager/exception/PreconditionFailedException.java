@@ -0,0 +1,17 @@
+package com.dh.TaskManager.exception;
+
+/**
+ * Excepción lanzada cuando la versión indicada en una solicitud condicional (If-Match) no coincide con la versión
+ * actual de la entidad, es decir, cuando otra solicitud la modificó primero.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Crea una nueva instancia de PreconditionFailedException con el mensaje especificado.
+     *
+     * @param message El mensaje que describe la excepción.
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dh.TaskManager.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando la aplicación no puede aceptar la solicitud en este momento por estar saturada.
+ * Indica cuánto tiempo debería esperar el cliente antes de reintentar.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Crea una nueva instancia de ServiceUnavailableException con el mensaje y el tiempo de espera especificados.
+     *
+     * @param message    El mensaje que describe la excepción.
+     * @param retryAfter El tiempo que el cliente debería esperar antes de reintentar la solicitud.
+     */
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Obtiene el tiempo que el cliente debería esperar antes de reintentar la solicitud.
+     *
+     * @return Duration El tiempo de espera sugerido.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,287 @@
+package com.dh.TaskManager.feed;
+
+import com.dh.TaskManager.dto.TaskChangeDTO;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publica los cambios confirmados sobre las tareas a los clientes suscriptos a GET /tasks/changes (Server-Sent Events).
+ *      *
+ * Cada cambio recibe un número de secuencia, que se envía como identificador del evento SSE, y se guarda en un
+ * buffer circular de tamaño fijo. Al recibir el evento TaskChangedEvent solo se escribe en el buffer y se avisa a los
+ * suscriptores, sin realizar E/S, por lo que las altas, modificaciones y bajas nunca esperan a un cliente lento.
+ *      *
+ * Cada suscriptor tiene su propio hilo virtual que envía los cambios posteriores a su último evento enviado. Si el
+ * suscriptor está atrasado, los cambios pendientes sobre una misma tarea se combinan y solo se envía el último, de
+ * modo que un cliente lento recibe el estado actual sin que el servidor acumule memoria por él: solo guarda su
+ * posición en el buffer. Si el cliente se atrasa más que el tamaño del buffer (o se reconecta con un Last-Event-ID
+ * que ya no está en él), recibe un evento "reset" y debe volver a obtener la lista completa.
+ *      *
+ * Sin cambios, cada suscriptor recibe un comentario SSE periódico (heartbeat) para mantener abierta la conexión y
+ * detectar clientes desconectados. La cantidad de suscriptores simultáneos está acotada.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    private static final String RESET_EVENT = "reset";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final TaskChangeDTO[] buffer;
+    private final int maxSubscribers;
+    private final Duration heartbeatInterval;
+    private final Duration retryAfter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private long lastSequence;
+    private volatile boolean running;
+
+    /**
+     * Constructor de la clase TaskChangeFeed que lee la configuración.
+     *
+     * @param bufferSize        La cantidad de cambios que se conservan para los suscriptores atrasados y las reconexiones.
+     * @param maxSubscribers    La cantidad máxima de suscriptores simultáneos.
+     * @param heartbeatInterval El tiempo sin cambios tras el cual se envía un heartbeat a cada suscriptor.
+     * @param retryAfter        El tiempo que se sugiere esperar al cliente cuando no se admiten más suscriptores.
+     */
+    public TaskChangeFeed(@Value("${taskmanager.changes.buffer-size:10000}") int bufferSize,
+                          @Value("${taskmanager.changes.max-subscribers:1000}") int maxSubscribers,
+                          @Value("${taskmanager.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                          @Value("${taskmanager.changes.retry-after:5s}") Duration retryAfter) {
+        this.buffer = new TaskChangeDTO[bufferSize];
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatInterval = heartbeatInterval;
+        this.retryAfter = retryAfter;
+    }
+
+    private final String TOO_MANY_SUBSCRIBERS_MESSAGE = "Se alcanzó la cantidad máxima de suscriptores a los cambios";
+    private final String NOT_RUNNING_MESSAGE = "El canal de cambios no está disponible";
+
+    /**
+     * Agrega un cambio confirmado al buffer y avisa a los suscriptores.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangeDTO change = new TaskChangeDTO(event.getType(), event.getId(), event.getTask());
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            buffer[(int) (sequence % buffer.length)] = change;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra un nuevo suscriptor.
+     *
+     * @param lastEventId El valor del encabezado Last-Event-ID de una reconexión, o nulo para recibir solo los
+     *                    cambios a partir de ahora.
+     * @return SseEmitter El emisor SSE del suscriptor.
+     * @throws ServiceUnavailableException Si se alcanzó la cantidad máxima de suscriptores.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (!running) {
+            throw new ServiceUnavailableException(NOT_RUNNING_MESSAGE, retryAfter);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException(TOO_MANY_SUBSCRIBERS_MESSAGE, retryAfter);
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter, startSequence(lastEventId));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("task-changes-subscriber").start(subscriber::run);
+        return emitter;
+    }
+
+    /**
+     * Obtiene la cantidad de suscriptores conectados.
+     *
+     * @return int La cantidad de suscriptores.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Cierra todas las suscripciones. Se ejecuta antes de detener el servidor web, para que las conexiones abiertas
+     * no demoren el apagado.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Calcula la secuencia a partir de la cual se envían cambios a un suscriptor nuevo.
+     * Un Last-Event-ID inválido o de una ejecución anterior (mayor a la última secuencia) se trata como demasiado
+     * antiguo, por lo que el suscriptor recibe un evento "reset".
+     *
+     * @param lastEventId El valor del encabezado Last-Event-ID, o nulo.
+     * @return long La secuencia del último cambio que el suscriptor ya conoce.
+     */
+    private long startSequence(String lastEventId) {
+        lock.lock();
+        try {
+            if (lastEventId == null) {
+                return lastSequence;
+            }
+            try {
+                long sequence = Long.parseLong(lastEventId.trim());
+                return sequence >= 0 && sequence <= lastSequence ? sequence : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suscriptor conectado. Solo guarda la secuencia del último cambio enviado; los cambios se leen del buffer.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private long cursor;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                lock.lock();
+                try {
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Envía los cambios pendientes a medida que llegan, o un heartbeat si no hay cambios, hasta que el cliente
+         * se desconecta o se detiene la aplicación.
+         */
+        private void run() {
+            try {
+                while (running && !closed) {
+                    Map<Long, Long> sequences = new LinkedHashMap<>();
+                    Map<Long, TaskChangeDTO> latest = new HashMap<>();
+                    boolean reset = awaitChanges(sequences, latest);
+                    if (!running || closed) {
+                        break;
+                    }
+                    if (reset) {
+                        emitter.send(SseEmitter.event().id(Long.toString(cursor)).name(RESET_EVENT).data(""));
+                    } else if (sequences.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+                    }
+                    for (Map.Entry<Long, Long> entry : sequences.entrySet()) {
+                        TaskChangeDTO change = latest.get(entry.getKey());
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(entry.getValue()))
+                                .name(change.getType().name().toLowerCase(Locale.ROOT))
+                                .data(change));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se desconectó o el emisor ya se completó.
+                LOGGER.debug("Suscriptor de cambios desconectado: {}", e.getMessage());
+            } finally {
+                closed = true;
+                subscribers.remove(this);
+                subscriberCount.decrementAndGet();
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Espera cambios posteriores al cursor, o hasta que vence el intervalo de heartbeat, y los copia combinando
+         * los que corresponden a la misma tarea: de cada tarea se conserva solo el último cambio, en el orden de ese
+         * último cambio.
+         *
+         * @param sequences Recibe, por cada tarea, la secuencia de su último cambio, en el orden en que se envían.
+         * @param latest    Recibe el último cambio de cada tarea.
+         * @return boolean true si el cursor ya no está en el buffer y el suscriptor debe recibir un evento "reset".
+         */
+        private boolean awaitChanges(Map<Long, Long> sequences, Map<Long, TaskChangeDTO> latest) throws IOException {
+            lock.lock();
+            try {
+                long remaining = heartbeatInterval.toNanos();
+                while (cursor == lastSequence && running && !closed && remaining > 0) {
+                    remaining = changed.awaitNanos(remaining);
+                }
+                if (cursor < 0 || lastSequence - cursor > buffer.length) {
+                    cursor = lastSequence;
+                    return true;
+                }
+                for (long sequence = cursor + 1; sequence <= lastSequence; sequence++) {
+                    TaskChangeDTO change = buffer[(int) (sequence % buffer.length)];
+                    sequences.remove(change.getId());
+                    sequences.put(change.getId(), sequence);
+                    latest.put(change.getId(), change);
+                }
+                cursor = lastSequence;
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
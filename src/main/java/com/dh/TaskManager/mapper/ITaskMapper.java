@@ -0,0 +1,36 @@
+package com.dh.TaskManager.mapper;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.entity.Task;
+
+/**
+ * Interfaz que define las conversiones entre la entidad Task y sus objetos de transferencia de datos (DTO).
+ */
+public interface ITaskMapper {
+
+    /**
+     * Convierte una entidad Task a un objeto TaskResponseDTO.
+     *
+     * @param task Entidad Task a convertir.
+     * @return Objeto TaskResponseDTO con los datos de la tarea.
+     */
+    TaskResponseDTO toResponseDTO(Task task);
+
+    /**
+     * Convierte un objeto TaskRequestDTO a una nueva entidad Task sin identificador.
+     *
+     * @param taskRequestDTO Objeto TaskRequestDTO a convertir.
+     * @return Entidad Task con los datos de la solicitud.
+     */
+    Task toEntity(TaskRequestDTO taskRequestDTO);
+
+    /**
+     * Convierte un objeto TaskRequestToUpdateDTO a una entidad Task con el identificador indicado en la solicitud.
+     *
+     * @param taskRequestToUpdateDTO Objeto TaskRequestToUpdateDTO a convertir.
+     * @return Entidad Task con los datos actualizados de la tarea.
+     */
+    Task toEntity(TaskRequestToUpdateDTO taskRequestToUpdateDTO);
+}
@@ -0,0 +1,72 @@
+package com.dh.TaskManager.mapper.impl;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.mapper.ITaskMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación concreta del mapeador de tareas.
+ *      *
+ * Copia los campos directamente mediante sus getters y setters, sin reflexión ni buffers intermedios,
+ * por lo que cada conversión solo reserva memoria para el objeto resultante.
+ */
+@Component
+public class TaskMapper implements ITaskMapper {
+
+    /**
+     * Convierte una entidad Task a un objeto TaskResponseDTO.
+     *
+     * @param task La entidad Task a convertir.
+     * @return TaskResponseDTO El objeto TaskResponseDTO resultante de la conversión, o nulo si la tarea es nula.
+     */
+    @Override
+    public TaskResponseDTO toResponseDTO(Task task) {
+        if (task == null) {
+            return null;
+        }
+        TaskResponseDTO taskResponseDTO = new TaskResponseDTO();
+        taskResponseDTO.setId(task.getId());
+        taskResponseDTO.setTitle(task.getTitle());
+        taskResponseDTO.setDescription(task.getDescription());
+        taskResponseDTO.setVersion(task.getVersion());
+        return taskResponseDTO;
+    }
+
+    /**
+     * Convierte un objeto TaskRequestDTO a una entidad Task.
+     *
+     * @param taskRequestDTO El objeto TaskRequestDTO a convertir.
+     * @return Task La entidad Task resultante de la conversión, o nula si la solicitud es nula.
+     */
+    @Override
+    public Task toEntity(TaskRequestDTO taskRequestDTO) {
+        if (taskRequestDTO == null) {
+            return null;
+        }
+        Task task = new Task();
+        task.setTitle(taskRequestDTO.getTitle());
+        task.setDescription(taskRequestDTO.getDescription());
+        return task;
+    }
+
+    /**
+     * Convierte un objeto TaskRequestToUpdateDTO a una entidad Task.
+     *
+     * @param taskRequestToUpdateDTO El objeto TaskRequestToUpdateDTO a convertir.
+     * @return Task La entidad Task resultante de la conversión, o nula si la solicitud es nula.
+     */
+    @Override
+    public Task toEntity(TaskRequestToUpdateDTO taskRequestToUpdateDTO) {
+        if (taskRequestToUpdateDTO == null) {
+            return null;
+        }
+        Task task = new Task();
+        task.setId(taskRequestToUpdateDTO.getId());
+        task.setTitle(taskRequestToUpdateDTO.getTitle());
+        task.setDescription(taskRequestToUpdateDTO.getDescription());
+        return task;
+    }
+}
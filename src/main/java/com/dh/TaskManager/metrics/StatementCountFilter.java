@@ -0,0 +1,69 @@
+package com.dh.TaskManager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra la cantidad de sentencias SQL que ejecuta cada solicitud HTTP en la métrica taskmanager.request.statements,
+ * con las etiquetas "method" y "uri" (el patrón de la ruta, por ejemplo /tasks/{id}).
+ *      *
+ * Las sentencias se cuentan con StatementCountingInspector en el hilo de la solicitud; las que se ejecutan al escribir
+ * una respuesta de forma incremental (GET /tasks) ocurren en otro hilo y no se incluyen.
+ */
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "taskmanager.request.statements";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase StatementCountFilter que realiza la inyección de dependencias.
+     *
+     * @param meterRegistry El registro de métricas donde se publica la distribución.
+     * @param enabled       Indica si se registran las sentencias por solicitud.
+     */
+    public StatementCountFilter(MeterRegistry meterRegistry,
+                                @Value("${taskmanager.metrics.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        StatementCountingInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCountingInspector.finish();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+            summaries.computeIfAbsent(request.getMethod() + ' ' + uri, key -> DistributionSummary.builder(METRIC_NAME)
+                            .description("Sentencias SQL ejecutadas por solicitud")
+                            .tag("method", request.getMethod())
+                            .tag("uri", uri)
+                            .register(meterRegistry))
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.dh.TaskManager.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo de la solicitud en curso.
+ *      *
+ * Se registra como StatementInspector de Hibernate, que lo invoca cada vez que prepara una sentencia. El conteo
+ * solo se realiza entre start() y finish(), que llama StatementCountFilter al comenzar y terminar cada solicitud;
+ * fuera de una solicitud el costo es una lectura de un ThreadLocal.
+ */
+@Component
+public class StatementCountingInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * Comienza a contar las sentencias del hilo actual.
+     */
+    static void start() {
+        STATEMENTS.set(new int[1]);
+    }
+
+    /**
+     * Deja de contar las sentencias del hilo actual.
+     *
+     * @return int La cantidad de sentencias preparadas desde la llamada a start().
+     */
+    static int finish() {
+        int[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? 0 : statements[0];
+    }
+}
@@ -0,0 +1,96 @@
+package com.dh.TaskManager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspecto que mide la duración de cada operación de ITaskService.
+ *      *
+ * Cada llamada se registra en el Timer taskmanager.service con las etiquetas "method" y
+ * "exception" (None si terminó bien, o el nombre simple de la excepción, por ejemplo NotFoundException). Así cada
+ * Timer aporta la cantidad de llamadas (rendimiento), la duración máxima y, según management.metrics.distribution,
+ * los percentiles p50/p95/p99. Junto con spring.data.repository.invocations (repositorio) y http.server.requests
+ * (controlador) permite ver en qué capa se va el tiempo de una solicitud.
+ *      *
+ * Los Timer se guardan en mapas (por método para las llamadas exitosas y por método y excepción para las fallidas),
+ * de modo que cada llamada solo hace una búsqueda en un mapa y un registro de duración, sin crear objetos ni volver
+ * a registrar el medidor.
+ *      *
+ * Las conversiones de ITaskMapper no se miden: se invocan una vez por tarea en los listados y la exportación, donde
+ * el costo del aspecto sería comparable al de la propia conversión. Su duración queda incluida en la del servicio.
+ */
+@Aspect
+@Component
+public class TaskMetricsAspect {
+
+    private static final String SERVICE_TIMER = "taskmanager.service";
+    private static final String NO_EXCEPTION = "None";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failureTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor de la clase TaskMetricsAspect que realiza la inyección de dependencias.
+     *
+     * @param meterRegistry El registro de métricas donde se publican los Timer.
+     * @param enabled       Indica si se miden las operaciones. Si no, el aspecto solo invoca el método.
+     */
+    public TaskMetricsAspect(MeterRegistry meterRegistry,
+                             @Value("${taskmanager.metrics.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Mide las operaciones declaradas en ITaskService.
+     *
+     * @param joinPoint La invocación interceptada.
+     * @return Object El resultado de la operación.
+     * @throws Throwable La excepción lanzada por la operación, sin modificar.
+     */
+    @Around("execution(* com.dh.TaskManager.service.ITaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "Duración de las operaciones de TaskService", joinPoint);
+    }
+
+    private Object time(String name, String description, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, key -> timer(name, description, key.getName(), NO_EXCEPTION))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            failureTimers.computeIfAbsent(name + '#' + method.getName() + '#' + exception,
+                            key -> timer(name, description, method.getName(), exception))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String name, String description, String method, String exception) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
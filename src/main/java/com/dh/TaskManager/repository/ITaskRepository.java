@@ -1,12 +1,159 @@
 package com.dh.TaskManager.repository;
 
 import com.dh.TaskManager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Interfaz que define las operaciones de acceso a datos para la entidad Task.
+ * Implementa con consultas JPA las operaciones de almacenamiento de ITaskStorage que utiliza el servicio.
  */
 @Repository
-public interface ITaskRepository extends JpaRepository<Task, Long> {
+public interface ITaskRepository extends JpaRepository<Task, Long>, ITaskRepositoryCustom, ITaskStorage {
+
+    /**
+     * Cantidad de filas que el driver JDBC trae por cada viaje a la base de datos al recorrer un flujo de tareas.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Obtiene la siguiente página de tareas cuyo identificador es mayor al indicado (paginación por cursor).
+     *
+     * @param id    Identificador de la última tarea de la página anterior.
+     * @param limit Cantidad máxima de tareas a devolver.
+     * @return Lista de tareas ordenadas por identificador de forma ascendente.
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las tareas ordenadas por identificador sin cargarlas en memoria de una sola vez.
+     * El flujo debe consumirse dentro de una transacción y cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de tareas respaldado por un cursor de la base de datos.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAllOrderedById();
+
+    /**
+     * Obtiene una tarea sin su descripción: la consulta solo selecciona las columnas de la proyección TaskSummary.
+     *
+     * @param id Identificador de la tarea.
+     * @return Proyección de la tarea, o vacío si la tarea no existe.
+     */
+    Optional<TaskSummary> findSummaryById(Long id);
+
+    /**
+     * Obtiene la siguiente página de tareas sin su descripción (paginación por cursor).
+     *
+     * @param id    Identificador de la última tarea de la página anterior.
+     * @param limit Cantidad máxima de tareas a devolver.
+     * @return Lista de proyecciones ordenadas por identificador de forma ascendente.
+     */
+    List<TaskSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las tareas sin su descripción, ordenadas por identificador, sin cargarlas en memoria de una
+     * sola vez. El flujo debe consumirse dentro de una transacción y cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de proyecciones respaldado por un cursor de la base de datos.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id as id, t.title as title, t.version as version from Task t order by t.id")
+    Stream<TaskSummary> streamAllSummariesOrderedById();
+
+    /**
+     * Recorre las longitudes del título y la descripción de todas las tareas, calculadas por la base de datos, sin
+     * leer los textos. El flujo debe consumirse dentro de una transacción y cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de longitudes respaldado por un cursor de la base de datos.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id as id, coalesce(length(t.title), 0) as titleLength, " +
+            "coalesce(length(t.description), 0) as descriptionLength from Task t")
+    Stream<TaskSize> streamAllSizes();
+
+    /**
+     * Recorre los identificadores de todas las tareas sin leer las demás columnas. El flujo debe consumirse dentro
+     * de una transacción y cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de identificadores respaldado por un cursor de la base de datos.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.id from Task t")
+    Stream<Long> streamAllIds();
+
+    /**
+     * Obtiene cuáles de los identificadores indicados corresponden a tareas existentes, sin cargar las entidades.
+     *
+     * @param ids Identificadores a verificar.
+     * @return Lista con los identificadores que existen en la base de datos.
+     */
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Obtiene la versión actual de una tarea sin cargar la entidad.
+     *
+     * @param id Identificador de la tarea.
+     * @return Versión de la tarea, o vacío si la tarea no existe.
+     */
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Calcula los valores agregados de la tabla de tareas utilizados para el ETag de la colección.
+     *
+     * @return Cantidad de tareas, mayor identificador y suma de versiones.
+     */
+    @Query("select count(t) as count, coalesce(max(t.id), 0) as maxId, coalesce(sum(t.version), 0) as versionSum from Task t")
+    TaskAggregate aggregate();
+
+    /**
+     * Reemplaza el título y la descripción de una tarea solo si su versión actual es la indicada,
+     * con una sola sentencia UPDATE, e incrementa su versión.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param version     Versión que se espera que tenga la tarea.
+     * @param title       Nuevo título de la tarea.
+     * @param description Nueva descripción de la tarea.
+     * @return Cantidad de filas actualizadas (0 si la tarea no existe o su versión es otra).
+     */
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.version = t.version + 1 " +
+            "where t.id = :id and t.version = :version")
+    int updateTitleAndDescriptionIfVersion(Long id, Long version, String title, String description);
+
+    /**
+     * Elimina una tarea con una sola sentencia DELETE, sin cargarla previamente.
+     *
+     * @param id Identificador de la tarea a eliminar.
+     * @return Cantidad de filas eliminadas (0 si la tarea no existe).
+     */
+    @Modifying
+    @Query("delete from Task t where t.id = :id")
+    int deleteTaskById(Long id);
 }
@@ -0,0 +1,43 @@
+package com.dh.TaskManager.repository;
+
+import java.util.Optional;
+
+/**
+ * Interfaz que define las operaciones de acceso a datos de tareas que no pueden expresarse con una consulta fija.
+ * Spring Data combina su implementación (ITaskRepositoryCustomImpl) con ITaskRepository.
+ */
+public interface ITaskRepositoryCustom {
+
+    /**
+     * Reemplaza el título y la descripción de una tarea con una sola sentencia UPDATE, sin cargarla previamente,
+     * incrementa su versión y consulta la versión nueva.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título de la tarea.
+     * @param description Nueva descripción de la tarea.
+     * @return Versión nueva de la tarea, o vacío si la tarea no existe.
+     */
+    Optional<Long> updateAndGetVersion(Long id, String title, String description);
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea mediante una sola sentencia UPDATE.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return Cantidad de filas actualizadas (0 si la tarea no existe).
+     */
+    int patchTask(Long id, String title, String description);
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea, solo si su versión actual es la indicada, mediante una
+     * sola sentencia UPDATE.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param version     Versión que se espera que tenga la tarea.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return Cantidad de filas actualizadas (0 si la tarea no existe o su versión es otra).
+     */
+    int patchTaskIfVersion(Long id, Long version, String title, String description);
+}
@@ -0,0 +1,215 @@
+package com.dh.TaskManager.repository;
+
+import com.dh.TaskManager.entity.Task;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Interfaz que define las operaciones de almacenamiento de tareas que utiliza el servicio de tareas.
+ *      *
+ * La implementan el repositorio JPA (ITaskRepository) y los almacenamientos alternativos (MappedTaskRepository y
+ * ShardedTaskRepository), de modo que estos solo deben ofrecer lo que la aplicación realmente utiliza y no el resto
+ * de las operaciones de Spring Data.
+ */
+public interface ITaskStorage {
+
+    /**
+     * Guarda una tarea. Si no tiene identificador se crea y se le asignan el identificador y la versión.
+     *
+     * @param task La tarea a guardar.
+     * @return La misma tarea, con su identificador y su versión actualizados.
+     */
+    <S extends Task> S save(S task);
+
+    /**
+     * Guarda varias tareas, con la misma semántica que save.
+     *
+     * @param tasks Las tareas a guardar.
+     * @return Lista con las mismas tareas, con sus identificadores y versiones actualizados.
+     * @throws PartialWriteException Si el almacenamiento no escribe el lote de forma atómica y solo se guardó una
+     *                               parte de las tareas.
+     */
+    <S extends Task> List<S> saveAll(Iterable<S> tasks);
+
+    /**
+     * Envía al almacenamiento los cambios pendientes de las tareas guardadas y actualiza sus versiones. Los
+     * almacenamientos que escriben cada tarea en el momento no tienen cambios pendientes.
+     */
+    void flush();
+
+    /**
+     * Obtiene una tarea por su identificador.
+     *
+     * @param id Identificador de la tarea.
+     * @return La tarea, o vacío si no existe.
+     */
+    Optional<Task> findById(Long id);
+
+    /**
+     * Indica si existe una tarea con el identificador indicado.
+     *
+     * @param id Identificador de la tarea.
+     * @return true si la tarea existe.
+     */
+    boolean existsById(Long id);
+
+    /**
+     * Obtiene todas las tareas.
+     *
+     * @return Lista con todas las tareas.
+     */
+    List<Task> findAll();
+
+    /**
+     * Obtiene las tareas existentes entre los identificadores indicados, sin un orden determinado.
+     *
+     * @param ids Identificadores de las tareas.
+     * @return Lista con las tareas encontradas.
+     */
+    List<Task> findAllById(Iterable<Long> ids);
+
+    /**
+     * Elimina las tareas con los identificadores indicados; los que no existen se ignoran.
+     *
+     * @param ids Identificadores de las tareas a eliminar.
+     * @throws PartialWriteException Si el almacenamiento no elimina el lote de forma atómica y solo se eliminó una
+     *                               parte de las tareas.
+     */
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    /**
+     * Obtiene la siguiente página de tareas cuyo identificador es mayor al indicado (paginación por cursor).
+     *
+     * @param id    Identificador de la última tarea de la página anterior.
+     * @param limit Cantidad máxima de tareas a devolver.
+     * @return Lista de tareas ordenadas por identificador de forma ascendente.
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las tareas ordenadas por identificador sin cargarlas en memoria de una sola vez.
+     * El flujo debe cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de tareas.
+     */
+    Stream<Task> streamAllOrderedById();
+
+    /**
+     * Obtiene una tarea sin su descripción.
+     *
+     * @param id Identificador de la tarea.
+     * @return Proyección de la tarea, o vacío si la tarea no existe.
+     */
+    Optional<TaskSummary> findSummaryById(Long id);
+
+    /**
+     * Obtiene la siguiente página de tareas sin su descripción (paginación por cursor).
+     *
+     * @param id    Identificador de la última tarea de la página anterior.
+     * @param limit Cantidad máxima de tareas a devolver.
+     * @return Lista de proyecciones ordenadas por identificador de forma ascendente.
+     */
+    List<TaskSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Recorre todas las tareas sin su descripción, ordenadas por identificador. El flujo debe cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de proyecciones.
+     */
+    Stream<TaskSummary> streamAllSummariesOrderedById();
+
+    /**
+     * Recorre las longitudes del título y la descripción de todas las tareas. El flujo debe cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de longitudes.
+     */
+    Stream<TaskSize> streamAllSizes();
+
+    /**
+     * Recorre los identificadores de todas las tareas. El flujo debe cerrarse al finalizar.
+     *
+     * @return Flujo (stream) de identificadores.
+     */
+    Stream<Long> streamAllIds();
+
+    /**
+     * Obtiene cuáles de los identificadores indicados corresponden a tareas existentes.
+     *
+     * @param ids Identificadores a verificar.
+     * @return Lista con los identificadores que existen.
+     */
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Obtiene la versión actual de una tarea.
+     *
+     * @param id Identificador de la tarea.
+     * @return Versión de la tarea, o vacío si la tarea no existe.
+     */
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Calcula los valores agregados de las tareas utilizados para el ETag de la colección.
+     *
+     * @return Cantidad de tareas, mayor identificador y suma de versiones.
+     */
+    TaskAggregate aggregate();
+
+    /**
+     * Reemplaza el título y la descripción de una tarea, incrementa su versión y devuelve la versión que escribió
+     * esta modificación. Nunca devuelve la de otra modificación concurrente, aunque se confirme inmediatamente
+     * después.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título de la tarea.
+     * @param description Nueva descripción de la tarea.
+     * @return Versión nueva de la tarea, o vacío si la tarea no existe.
+     */
+    Optional<Long> updateAndGetVersion(Long id, String title, String description);
+
+    /**
+     * Reemplaza el título y la descripción de una tarea solo si su versión actual es la indicada, e incrementa
+     * su versión.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param version     Versión que se espera que tenga la tarea.
+     * @param title       Nuevo título de la tarea.
+     * @param description Nueva descripción de la tarea.
+     * @return Cantidad de tareas actualizadas (0 si la tarea no existe o su versión es otra).
+     */
+    int updateTitleAndDescriptionIfVersion(Long id, Long version, String title, String description);
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea e incrementa su versión.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return Cantidad de tareas actualizadas (0 si la tarea no existe).
+     */
+    int patchTask(Long id, String title, String description);
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea solo si su versión actual es la indicada, e incrementa
+     * su versión.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param version     Versión que se espera que tenga la tarea.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return Cantidad de tareas actualizadas (0 si la tarea no existe o su versión es otra).
+     */
+    int patchTaskIfVersion(Long id, Long version, String title, String description);
+
+    /**
+     * Elimina una tarea.
+     *
+     * @param id Identificador de la tarea a eliminar.
+     * @return Cantidad de tareas eliminadas (0 si la tarea no existe).
+     */
+    int deleteTaskById(Long id);
+}
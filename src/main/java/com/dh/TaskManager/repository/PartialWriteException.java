@@ -0,0 +1,39 @@
+package com.dh.TaskManager.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Excepción lanzada por una escritura de varios elementos que no es atómica (por ejemplo, un lote repartido entre
+ * shards) cuando una parte de los elementos se guardó y otra no.
+ *      *
+ * A diferencia de una falla común, los elementos escritos quedan confirmados y no se deshacen; la excepción indica
+ * cuáles no se escribieron para que se informen por separado. La causa es la primera falla encontrada.
+ */
+public class PartialWriteException extends RuntimeException {
+
+    private final Set<Object> notWritten;
+
+    /**
+     * Crea una nueva instancia de PartialWriteException.
+     *
+     * @param notWritten Los elementos que no se escribieron: las tareas (por referencia, ya que Task no redefine
+     *                   equals) o los identificadores, según la operación.
+     * @param cause      La primera falla encontrada.
+     */
+    public PartialWriteException(Collection<?> notWritten, RuntimeException cause) {
+        super("No se escribieron " + notWritten.size() + " elementos del lote", cause);
+        this.notWritten = new HashSet<>(notWritten);
+    }
+
+    /**
+     * Indica si un elemento del lote quedó escrito.
+     *
+     * @param item La tarea o el identificador, tal como se entregó a la operación.
+     * @return true si el elemento se escribió.
+     */
+    public boolean wasWritten(Object item) {
+        return !notWritten.contains(item);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dh.TaskManager.repository;
+
+/**
+ * Proyección con valores agregados de la tabla de tareas que cambian ante cualquier alta, baja o modificación.
+ * Se utiliza para generar el ETag de la colección sin leer las tareas.
+ */
+public interface TaskAggregate {
+
+    /**
+     * @return Cantidad de tareas.
+     */
+    Long getCount();
+
+    /**
+     * @return Mayor identificador de tarea, o cero si no hay tareas.
+     */
+    Long getMaxId();
+
+    /**
+     * @return Suma de las versiones de todas las tareas, o cero si no hay tareas.
+     */
+    Long getVersionSum();
+}
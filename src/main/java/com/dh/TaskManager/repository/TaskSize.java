@@ -0,0 +1,23 @@
+package com.dh.TaskManager.repository;
+
+/**
+ * Proyección con las longitudes del título y la descripción de una tarea, utilizada para conciliar las estadísticas
+ * de las tareas sin leer los textos.
+ */
+public interface TaskSize {
+
+    /**
+     * @return Identificador de la tarea.
+     */
+    Long getId();
+
+    /**
+     * @return Longitud del título, en caracteres.
+     */
+    Integer getTitleLength();
+
+    /**
+     * @return Longitud de la descripción, en caracteres.
+     */
+    Integer getDescriptionLength();
+}
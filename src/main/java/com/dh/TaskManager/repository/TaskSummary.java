@@ -0,0 +1,23 @@
+package com.dh.TaskManager.repository;
+
+/**
+ * Proyección de una tarea sin su descripción. Las consultas que la devuelven solo seleccionan el identificador,
+ * el título y la versión, por lo que la descripción no se lee de la base de datos.
+ */
+public interface TaskSummary {
+
+    /**
+     * @return Identificador de la tarea.
+     */
+    Long getId();
+
+    /**
+     * @return Título de la tarea.
+     */
+    String getTitle();
+
+    /**
+     * @return Versión de la tarea, utilizada para generar su ETag.
+     */
+    Long getVersion();
+}
@@ -0,0 +1,109 @@
+package com.dh.TaskManager.repository.impl;
+
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.repository.ITaskRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Optional;
+
+/**
+ * Implementación concreta de las operaciones personalizadas del repositorio de tareas.
+ */
+public class ITaskRepositoryCustomImpl implements ITaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor de la clase ITaskRepositoryCustomImpl que realiza la inyección de dependencias del EntityManager.
+     *
+     * @param entityManager El EntityManager con el que se construyen y ejecutan las sentencias.
+     */
+    public ITaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reemplaza el título y la descripción de una tarea y consulta la versión nueva. Debe ejecutarse dentro de una
+     * transacción: la fila queda bloqueada por el UPDATE hasta confirmarla, por lo que la consulta lee la versión
+     * que escribió esta sentencia.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título de la tarea.
+     * @param description Nueva descripción de la tarea.
+     * @return Optional<Long> Versión nueva de la tarea, o vacío si la tarea no existe.
+     */
+    @Override
+    public Optional<Long> updateAndGetVersion(Long id, String title, String description) {
+        int updated = entityManager.createQuery("update Task t set t.title = :title, t.description = :description, "
+                        + "t.version = t.version + 1 where t.id = :id")
+                .setParameter("title", title)
+                .setParameter("description", description)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(entityManager.createQuery("select t.version from Task t where t.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult());
+    }
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea.
+     * La sentencia se arma con la API Criteria para que el SET incluya solo las columnas que cambian,
+     * además del incremento de la versión.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return int Cantidad de filas actualizadas (0 si la tarea no existe).
+     * @throws IllegalArgumentException Si no se indica ningún campo a actualizar.
+     */
+    @Override
+    public int patchTask(Long id, String title, String description) {
+        return patch(id, null, title, description);
+    }
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea si su versión coincide con la indicada. La comparación
+     * forma parte de la misma sentencia UPDATE.
+     *
+     * @param id          Identificador de la tarea a actualizar.
+     * @param version     Versión que se espera que tenga la tarea.
+     * @param title       Nuevo título, o nulo para conservar el actual.
+     * @param description Nueva descripción, o nula para conservar la actual.
+     * @return int Cantidad de filas actualizadas (0 si la tarea no existe o su versión es otra).
+     * @throws IllegalArgumentException Si no se indica ningún campo a actualizar.
+     */
+    @Override
+    public int patchTaskIfVersion(Long id, Long version, String title, String description) {
+        return patch(id, version, title, description);
+    }
+
+    private int patch(Long id, Long version, String title, String description) {
+        if (title == null && description == null) {
+            throw new IllegalArgumentException("Se debe indicar al menos un campo a actualizar");
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = criteriaBuilder.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (title != null) {
+            update.set(task.<String>get("title"), title);
+        }
+        if (description != null) {
+            update.set(task.<String>get("description"), description);
+        }
+        update.set(task.<Long>get("version"), criteriaBuilder.sum(task.<Long>get("version"), 1L));
+        if (version == null) {
+            update.where(criteriaBuilder.equal(task.get("id"), id));
+        } else {
+            update.where(criteriaBuilder.equal(task.get("id"), id), criteriaBuilder.equal(task.get("version"), version));
+        }
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,292 @@
+package com.dh.TaskManager.repository.impl;
+
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.repository.ITaskStorage;
+import com.dh.TaskManager.repository.TaskAggregate;
+import com.dh.TaskManager.repository.TaskSize;
+import com.dh.TaskManager.repository.TaskSummary;
+import com.dh.TaskManager.storage.MappedTaskStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementación de ITaskStorage sobre el almacenamiento mapeado en memoria (MappedTaskStore), como alternativa
+ * a JPA/H2. Se activa con taskmanager.storage.engine=mapped y reemplaza al repositorio JPA en todos los servicios.
+ *      *
+ * Implementa las operaciones de ITaskStorage con la misma semántica que las consultas de ITaskRepository
+ * (versión incrementada en cada modificación, actualización condicionada por versión, etc.). Como en JPA, un
+ * identificador nulo no corresponde a ninguna tarea: las operaciones que lo reciben no modifican nada y no
+ * encuentran nada.
+ *      *
+ * Cada operación se aplica al registro en el momento y no participa de las transacciones de Spring: el
+ * {@code @Transactional} de los servicios no da atomicidad sobre este almacenamiento, por lo que si una operación
+ * compuesta (por ejemplo, un lote) falla a mitad de camino, las escrituras anteriores quedan aplicadas.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "taskmanager.storage.engine", havingValue = "mapped")
+public class MappedTaskRepository implements ITaskStorage {
+
+    private final MappedTaskStore store;
+
+    /**
+     * Constructor de la clase MappedTaskRepository que abre el almacenamiento a partir de la configuración.
+     *
+     * @param path                El directorio donde se guardan los archivos de segmento.
+     * @param segmentSize         El tamaño de cada archivo de segmento.
+     * @param forceOnWrite        Indica si cada escritura se fuerza al disco antes de confirmarse.
+     * @param compactionInterval  Cada cuánto se buscan segmentos para compactar; cero desactiva la compactación.
+     * @param compactionThreshold La proporción de bytes obsoletos a partir de la cual se compacta un segmento.
+     */
+    public MappedTaskRepository(@Value("${taskmanager.storage.path:./data/tasks}") Path path,
+                                @Value("${taskmanager.storage.segment-size:64MB}") DataSize segmentSize,
+                                @Value("${taskmanager.storage.force-on-write:false}") boolean forceOnWrite,
+                                @Value("${taskmanager.storage.compaction-interval:30s}") Duration compactionInterval,
+                                @Value("${taskmanager.storage.compaction-threshold:0.5}") double compactionThreshold) {
+        this.store = new MappedTaskStore(path, Math.toIntExact(segmentSize.toBytes()), forceOnWrite,
+                compactionInterval, compactionThreshold);
+    }
+
+    /**
+     * Inicia la compactación en segundo plano del almacenamiento, una vez construido el repositorio.
+     */
+    @PostConstruct
+    public void start() {
+        store.start();
+    }
+
+    /**
+     * Cierra el almacenamiento al detener la aplicación.
+     */
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+
+    @Override
+    public List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        Stream<Task> tasks = store.streamAfter(id);
+        return (limit.isLimited() ? tasks.limit(limit.max()) : tasks).toList();
+    }
+
+    @Override
+    public Stream<Task> streamAllOrderedById() {
+        return store.streamAfter(Long.MIN_VALUE);
+    }
+
+    @Override
+    public Optional<TaskSummary> findSummaryById(Long id) {
+        return findById(id).map(MappedTaskRepository::toSummary);
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        return findByIdGreaterThanOrderByIdAsc(id, limit).stream().map(MappedTaskRepository::toSummary).toList();
+    }
+
+    @Override
+    public Stream<TaskSummary> streamAllSummariesOrderedById() {
+        return streamAllOrderedById().map(MappedTaskRepository::toSummary);
+    }
+
+    @Override
+    public Stream<Long> streamAllIds() {
+        return store.ids();
+    }
+
+    @Override
+    public Stream<TaskSize> streamAllSizes() {
+        return streamAllOrderedById().map(task -> new TaskSize() {
+            @Override
+            public Long getId() {
+                return task.getId();
+            }
+
+            @Override
+            public Integer getTitleLength() {
+                return task.getTitle() == null ? 0 : task.getTitle().length();
+            }
+
+            @Override
+            public Integer getDescriptionLength() {
+                return task.getDescription() == null ? 0 : task.getDescription().length();
+            }
+        });
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).filter(store::contains).toList();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(store.getVersion(id));
+    }
+
+    @Override
+    public TaskAggregate aggregate() {
+        long count = store.count();
+        long maxId = store.maxId();
+        long versionSum = store.versionSum();
+        return new TaskAggregate() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return versionSum;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Long> updateAndGetVersion(Long id, String title, String description) {
+        return id == null ? Optional.empty() : Optional.ofNullable(store.update(id, null, title, description, false));
+    }
+
+    @Override
+    public int updateTitleAndDescriptionIfVersion(Long id, Long version, String title, String description) {
+        return id != null && store.update(id, version, title, description, false) != null ? 1 : 0;
+    }
+
+    @Override
+    public int deleteTaskById(Long id) {
+        return id != null && store.delete(id) ? 1 : 0;
+    }
+
+    @Override
+    public int patchTask(Long id, String title, String description) {
+        if (title == null && description == null) {
+            throw new IllegalArgumentException("Se debe indicar al menos un campo a actualizar");
+        }
+        return id != null && store.update(id, null, title, description, true) != null ? 1 : 0;
+    }
+
+    @Override
+    public int patchTaskIfVersion(Long id, Long version, String title, String description) {
+        if (title == null && description == null) {
+            throw new IllegalArgumentException("Se debe indicar al menos un campo a actualizar");
+        }
+        return id != null && store.update(id, version, title, description, true) != null ? 1 : 0;
+    }
+
+    /**
+     * Guarda una tarea. Si no tiene identificador se crea con uno nuevo y la versión 0, que se asignan sobre la
+     * misma instancia (como lo hace JPA). Si lo tiene, se reemplaza verificando la versión cuando está indicada.
+     */
+    @Override
+    public <S extends Task> S save(S entity) {
+        if (entity.getId() == null) {
+            Task saved = store.insert(entity.getTitle(), entity.getDescription());
+            entity.setId(saved.getId());
+            entity.setVersion(saved.getVersion());
+        } else if (store.contains(entity.getId())) {
+            Long version = store.update(entity.getId(), entity.getVersion(), entity.getTitle(),
+                    entity.getDescription(), false);
+            if (version == null) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, entity.getId());
+            }
+            entity.setVersion(version);
+        } else {
+            if (entity.getVersion() == null) {
+                entity.setVersion(0L);
+            }
+            store.put(entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public void flush() {
+        // Cada escritura se aplica al registro en el momento; no hay cambios pendientes.
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && store.contains(id);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return store.streamAfter(Long.MIN_VALUE).toList();
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .filter(Objects::nonNull)
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        for (Long id : ids) {
+            if (id != null) {
+                store.delete(id);
+            }
+        }
+    }
+
+    /**
+     * Adapta una tarea a la proyección TaskSummary. Cada registro del almacenamiento se lee completo, por lo que
+     * la proyección solo evita exponer la descripción.
+     *
+     * @param task La tarea leída del almacenamiento.
+     * @return TaskSummary La proyección de la tarea.
+     */
+    private static TaskSummary toSummary(Task task) {
+        return new TaskSummary() {
+            @Override
+            public Long getId() {
+                return task.getId();
+            }
+
+            @Override
+            public String getTitle() {
+                return task.getTitle();
+            }
+
+            @Override
+            public Long getVersion() {
+                return task.getVersion();
+            }
+        };
+    }
+}
@@ -0,0 +1,616 @@
+package com.dh.TaskManager.repository.impl;
+
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.repository.ITaskRepository;
+import com.dh.TaskManager.repository.ITaskStorage;
+import com.dh.TaskManager.repository.PartialWriteException;
+import com.dh.TaskManager.repository.TaskAggregate;
+import com.dh.TaskManager.repository.TaskSize;
+import com.dh.TaskManager.repository.TaskSummary;
+import com.dh.TaskManager.storage.TaskShard;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementación de ITaskStorage que reparte las tareas entre varias bases de datos (shards) según un hash de
+ * su identificador. Se activa con taskmanager.storage.engine=sharded y reemplaza al repositorio JPA en todos los
+ * servicios.
+ *      *
+ * Los identificadores se asignan por bloques a partir de una secuencia del shard 0, por lo que son únicos aunque
+ * haya varias instancias de la aplicación, y crecientes dentro de cada instancia. Las operaciones sobre una tarea
+ * van solo a su shard; las lecturas de varias tareas (todas, una página o un conjunto de identificadores) se envían
+ * a todos los shards en paralelo y sus resultados se combinan ordenados por identificador.
+ *      *
+ * Las operaciones por lotes se agrupan por shard y cada grupo se escribe en su propia transacción local, en paralelo
+ * con los demás. Por eso un lote no es atómico entre shards: si falla un shard, los demás grupos quedan confirmados
+ * y la falla se informa con una PartialWriteException que indica qué elementos no se escribieron.
+ * Las transacciones JPA de los servicios no incluyen a los shards. Cambiar la cantidad de shards cambia el shard
+ * de cada tarea, por lo que requiere redistribuir los datos existentes.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "taskmanager.storage.engine", havingValue = "sharded")
+public class ShardedTaskRepository implements ITaskStorage {
+
+    private static final String SHARD_PLACEHOLDER = "{shard}";
+
+    private static final String SELECT_TASKS = "select id, title, description, version from tasks";
+    private static final String SELECT_SUMMARIES = "select id, title, version from tasks";
+    private static final String SELECT_SIZES = "select id, coalesce(length(title), 0) title_length, " +
+            "coalesce(length(description), 0) description_length from tasks";
+    private static final String INSERT = "insert into tasks (id, title, description, version) values (?, ?, ?, 0)";
+    private static final String UPDATE = "update tasks set title = ?, description = ?, version = version + 1 where id = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " and version = ?";
+    private static final String DELETE = "delete from tasks where id = ?";
+    private static final String SELECT_VERSION = "select version from tasks where id = ?";
+    private static final String AGGREGATE = "select count(*), coalesce(max(id), 0), coalesce(sum(version), 0) from tasks";
+    private static final String CREATE_SEQUENCE = "create sequence if not exists tasks_id_seq start with 1 increment by ";
+    private static final String NEXT_ID_BLOCK = "select next value for tasks_id_seq";
+
+    private static final RowMapper<Task> TASK_MAPPER = (resultSet, row) -> new Task(resultSet.getLong("id"),
+            resultSet.getString("title"), resultSet.getString("description"), resultSet.getLong("version"));
+    private static final RowMapper<TaskSummary> SUMMARY_MAPPER = (resultSet, row) -> new ShardTaskSummary(
+            resultSet.getLong("id"), resultSet.getString("title"), resultSet.getLong("version"));
+    private static final RowMapper<TaskSize> SIZE_MAPPER = (resultSet, row) -> new ShardTaskSize(
+            resultSet.getLong("id"), resultSet.getInt("title_length"), resultSet.getInt("description_length"));
+
+    private final List<TaskShard> shards;
+    private final int idBlockSize;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId;
+    private long idBlockEnd = -1;
+
+    /**
+     * Constructor de la clase ShardedTaskRepository que abre los shards a partir de la configuración.
+     *
+     * @param shardCount  La cantidad de shards.
+     * @param url         La URL JDBC de cada shard; {shard} se reemplaza por su número, comenzando en 0.
+     * @param username    El usuario de las bases de datos.
+     * @param password    La contraseña de las bases de datos.
+     * @param poolSize    La cantidad máxima de conexiones de cada shard.
+     * @param idBlockSize La cantidad de identificadores que se reservan con cada consulta a la secuencia.
+     */
+    public ShardedTaskRepository(@Value("${taskmanager.storage.sharded.shards:4}") int shardCount,
+                                 @Value("${taskmanager.storage.sharded.url:jdbc:h2:mem:tasks-shard-{shard};DB_CLOSE_DELAY=-1}") String url,
+                                 @Value("${taskmanager.storage.sharded.username:sa}") String username,
+                                 @Value("${taskmanager.storage.sharded.password:}") String password,
+                                 @Value("${taskmanager.storage.sharded.pool-size:10}") int poolSize,
+                                 @Value("${taskmanager.storage.sharded.id-block-size:1000}") int idBlockSize) {
+        List<TaskShard> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                opened.add(new TaskShard(i, url.replace(SHARD_PLACEHOLDER, String.valueOf(i)), username, password,
+                        poolSize, Integer.parseInt(ITaskRepository.STREAM_FETCH_SIZE)));
+            }
+            opened.get(0).getJdbcTemplate().execute(CREATE_SEQUENCE + idBlockSize);
+        } catch (RuntimeException e) {
+            opened.forEach(TaskShard::close);
+            throw e;
+        }
+        this.shards = List.copyOf(opened);
+        this.idBlockSize = idBlockSize;
+    }
+
+    /**
+     * Cierra los shards al detener la aplicación.
+     */
+    @PreDestroy
+    public void close() {
+        executor.close();
+        shards.forEach(TaskShard::close);
+    }
+
+    /**
+     * Obtiene el shard de una tarea: el hash de su identificador módulo la cantidad de shards. El hash mezcla todos
+     * los bits del identificador, de modo que los rangos de identificadores también se reparten de forma pareja.
+     *
+     * @param id El identificador de la tarea.
+     * @return TaskShard El shard donde se guarda la tarea.
+     */
+    TaskShard shardFor(long id) {
+        long hash = id;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return shards.get((int) Math.floorMod(hash, (long) shards.size()));
+    }
+
+    @Override
+    public List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        return findAfter(id, limit, SELECT_TASKS, TASK_MAPPER, Task::getId);
+    }
+
+    @Override
+    public Stream<Task> streamAllOrderedById() {
+        return streamOrdered(SELECT_TASKS, TASK_MAPPER, Task::getId);
+    }
+
+    @Override
+    public Optional<TaskSummary> findSummaryById(Long id) {
+        return findOne(id, SELECT_SUMMARIES, SUMMARY_MAPPER);
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        return findAfter(id, limit, SELECT_SUMMARIES, SUMMARY_MAPPER, TaskSummary::getId);
+    }
+
+    @Override
+    public Stream<TaskSummary> streamAllSummariesOrderedById() {
+        return streamOrdered(SELECT_SUMMARIES, SUMMARY_MAPPER, TaskSummary::getId);
+    }
+
+    @Override
+    public Stream<Long> streamAllIds() {
+        return shards.stream().flatMap(shard -> shard.getJdbcTemplate().queryForStream("select id from tasks",
+                (resultSet, row) -> resultSet.getLong(1)));
+    }
+
+    @Override
+    public Stream<TaskSize> streamAllSizes() {
+        return shards.stream().flatMap(shard -> shard.getJdbcTemplate().queryForStream(SELECT_SIZES, SIZE_MAPPER));
+    }
+
+    @Override
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return fanOut(groupByShard(ids), (shard, shardIds) -> shard.getJdbcTemplate().queryForList(
+                "select id from tasks where id in (" + placeholders(shardIds.size()) + ")", Long.class,
+                shardIds.toArray())).stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return shardFor(id).getJdbcTemplate().queryForList(SELECT_VERSION, Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public TaskAggregate aggregate() {
+        List<long[]> partials = fanOut(shards, shard -> shard.getJdbcTemplate().queryForObject(AGGREGATE,
+                (resultSet, row) -> new long[]{resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3)}));
+        long count = partials.stream().mapToLong(partial -> partial[0]).sum();
+        long maxId = partials.stream().mapToLong(partial -> partial[1]).max().orElse(0);
+        long versionSum = partials.stream().mapToLong(partial -> partial[2]).sum();
+        return new TaskAggregate() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public Long getVersionSum() {
+                return versionSum;
+            }
+        };
+    }
+
+    /**
+     * Reemplaza el título y la descripción de una tarea y consulta la versión nueva en una misma transacción del
+     * shard: la fila queda bloqueada por el UPDATE hasta confirmarla, así que la consulta lee la versión que
+     * escribió esta sentencia y no la de otra modificación concurrente.
+     */
+    @Override
+    public Optional<Long> updateAndGetVersion(Long id, String title, String description) {
+        TaskShard shard = shardFor(id);
+        return shard.getTransactionTemplate().execute(status -> {
+            if (shard.getJdbcTemplate().update(UPDATE, title, description, id) == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(shard.getJdbcTemplate().queryForObject(SELECT_VERSION, Long.class, id));
+        });
+    }
+
+    @Override
+    public int updateTitleAndDescriptionIfVersion(Long id, Long version, String title, String description) {
+        return shardFor(id).getJdbcTemplate().update(UPDATE_IF_VERSION, title, description, id, version);
+    }
+
+    @Override
+    public int deleteTaskById(Long id) {
+        return shardFor(id).getJdbcTemplate().update(DELETE, id);
+    }
+
+    @Override
+    public int patchTask(Long id, String title, String description) {
+        return patch(id, null, title, description);
+    }
+
+    @Override
+    public int patchTaskIfVersion(Long id, Long version, String title, String description) {
+        return patch(id, version, title, description);
+    }
+
+    /**
+     * Actualiza únicamente los campos no nulos de una tarea en su shard, verificando la versión si está indicada.
+     */
+    private int patch(Long id, Long version, String title, String description) {
+        if (title == null && description == null) {
+            throw new IllegalArgumentException("Se debe indicar al menos un campo a actualizar");
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("update tasks set ");
+        if (title != null) {
+            sql.append("title = ?, ");
+            args.add(title);
+        }
+        if (description != null) {
+            sql.append("description = ?, ");
+            args.add(description);
+        }
+        sql.append("version = version + 1 where id = ?");
+        args.add(id);
+        if (version != null) {
+            sql.append(" and version = ?");
+            args.add(version);
+        }
+        return shardFor(id).getJdbcTemplate().update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Guarda una tarea. Si no tiene identificador se le asigna uno nuevo y se inserta con la versión 0 en su shard.
+     * Si lo tiene, se reemplaza verificando la versión cuando está indicada, o se inserta si no existe.
+     */
+    @Override
+    public <S extends Task> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(allocateId());
+        }
+        TaskShard shard = shardFor(entity.getId());
+        shard.getTransactionTemplate().executeWithoutResult(status -> write(shard, entity));
+        return entity;
+    }
+
+    /**
+     * Guarda varias tareas. Se asignan los identificadores de las nuevas y luego cada shard escribe sus tareas en
+     * una transacción propia, en paralelo con los demás; las altas se envían en un único lote JDBC por shard.
+     *
+     * @throws PartialWriteException Si fallaron algunos shards pero otros confirmaron sus tareas. Si fallaron
+     *                               todos, se relanza la primera falla.
+     */
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> tasks = new ArrayList<>();
+        entities.forEach(tasks::add);
+        Set<Task> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (S task : tasks) {
+            if (task.getId() == null) {
+                task.setId(allocateId());
+                created.add(task);
+            }
+        }
+
+        Map<TaskShard, List<S>> tasksByShard = new LinkedHashMap<>();
+        for (S task : tasks) {
+            tasksByShard.computeIfAbsent(shardFor(task.getId()), key -> new ArrayList<>()).add(task);
+        }
+        writeAll(tasksByShard, tasks.size(), (shard, shardTasks) -> shard.getTransactionTemplate().execute(status -> {
+            List<S> inserts = shardTasks.stream().filter(created::contains).toList();
+            if (!inserts.isEmpty()) {
+                shard.getJdbcTemplate().batchUpdate(INSERT, inserts, inserts.size(), (statement, task) -> {
+                    statement.setLong(1, task.getId());
+                    statement.setString(2, task.getTitle());
+                    statement.setString(3, task.getDescription());
+                });
+            }
+            inserts.forEach(task -> task.setVersion(0L));
+            shardTasks.stream().filter(task -> !created.contains(task)).forEach(task -> write(shard, task));
+            return null;
+        }));
+        return tasks;
+    }
+
+    @Override
+    public void flush() {
+        // Cada escritura se envía al shard en el momento; no hay cambios pendientes.
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return findOne(id, SELECT_TASKS, TASK_MAPPER);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findVersionById(id).isPresent();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        try (Stream<Task> tasks = streamAllOrderedById()) {
+            return tasks.toList();
+        }
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        return fanOut(groupByShard(ids), (shard, shardIds) -> shard.getJdbcTemplate().query(
+                SELECT_TASKS + " where id in (" + placeholders(shardIds.size()) + ")", TASK_MAPPER,
+                shardIds.toArray())).stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Elimina varias tareas con una sentencia DELETE por shard, cada una en su propia transacción.
+     *
+     * @throws PartialWriteException Si fallaron algunos shards pero otros confirmaron sus bajas. Si fallaron
+     *                               todos, se relanza la primera falla.
+     */
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        Map<TaskShard, List<Long>> idsByShard = groupByShard(ids);
+        writeAll(idsByShard, idsByShard.values().stream().mapToInt(List::size).sum(), (shard, shardIds) -> shard.getTransactionTemplate().execute(status ->
+                shard.getJdbcTemplate().update("delete from tasks where id in (" + placeholders(shardIds.size()) + ")",
+                        shardIds.toArray())));
+    }
+
+    /**
+     * Reemplaza una tarea con identificador en su shard, dentro de la transacción en curso del shard. Si se indica
+     * la versión, solo se reemplaza si coincide; si la tarea no existe, se inserta.
+     *
+     * @throws ObjectOptimisticLockingFailureException Si la tarea existe con otra versión.
+     */
+    private void write(TaskShard shard, Task task) {
+        Long version = task.getVersion();
+        int updated = version == null
+                ? shard.getJdbcTemplate().update(UPDATE, task.getTitle(), task.getDescription(), task.getId())
+                : shard.getJdbcTemplate().update(UPDATE_IF_VERSION, task.getTitle(), task.getDescription(),
+                task.getId(), version);
+        if (updated > 0) {
+            task.setVersion(shard.getJdbcTemplate().queryForObject(SELECT_VERSION, Long.class, task.getId()));
+        } else if (version != null && !shard.getJdbcTemplate().queryForList(SELECT_VERSION, Long.class, task.getId()).isEmpty()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        } else {
+            shard.getJdbcTemplate().update(INSERT, task.getId(), task.getTitle(), task.getDescription());
+            task.setVersion(0L);
+        }
+    }
+
+    /**
+     * Obtiene un identificador nuevo. Los identificadores se reservan por bloques de idBlockSize con una consulta a
+     * la secuencia del shard 0, de modo que la mayoría de las altas no consultan la secuencia.
+     */
+    private long allocateId() {
+        idLock.lock();
+        try {
+            if (nextId > idBlockEnd) {
+                nextId = shards.get(0).getJdbcTemplate().queryForObject(NEXT_ID_BLOCK, Long.class);
+                idBlockEnd = nextId + idBlockSize - 1;
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private <T> Optional<T> findOne(Long id, String select, RowMapper<T> mapper) {
+        return shardFor(id).getJdbcTemplate().query(select + " where id = ?", mapper, id).stream().findFirst();
+    }
+
+    /**
+     * Obtiene la página siguiente a un identificador: cada shard devuelve, en paralelo, sus primeras filas después
+     * del identificador y se conservan las primeras del conjunto ordenado.
+     */
+    private <T> List<T> findAfter(Long id, Limit limit, String select, RowMapper<T> mapper, ToLongFunction<T> idOf) {
+        String sql = select + " where id > ? order by id" + (limit.isLimited() ? " limit " + limit.max() : "");
+        Stream<T> merged = fanOut(shards, shard -> shard.getJdbcTemplate().query(sql, mapper, id)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(idOf));
+        return (limit.isLimited() ? merged.limit(limit.max()) : merged).toList();
+    }
+
+    /**
+     * Recorre las filas de todos los shards ordenadas por identificador, combinando los cursores de cada shard
+     * (ya ordenados) sin cargar las filas en memoria. Cerrar el flujo cierra los cursores de todos los shards.
+     */
+    private <T> Stream<T> streamOrdered(String select, RowMapper<T> mapper, ToLongFunction<T> idOf) {
+        List<Stream<T>> streams = new ArrayList<>();
+        try {
+            for (TaskShard shard : shards) {
+                streams.add(shard.getJdbcTemplate().queryForStream(select + " order by id", mapper));
+            }
+        } catch (RuntimeException e) {
+            streams.forEach(Stream::close);
+            throw e;
+        }
+
+        PriorityQueue<Map.Entry<T, Iterator<T>>> heads =
+                new PriorityQueue<>(Comparator.comparingLong(head -> idOf.applyAsLong(head.getKey())));
+        for (Stream<T> stream : streams) {
+            Iterator<T> iterator = stream.iterator();
+            if (iterator.hasNext()) {
+                heads.add(Map.entry(iterator.next(), iterator));
+            }
+        }
+        Iterator<T> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Map.Entry<T, Iterator<T>> head = heads.remove();
+                if (head.getValue().hasNext()) {
+                    heads.add(Map.entry(head.getValue().next(), head.getValue()));
+                }
+                return head.getKey();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    private Map<TaskShard, List<Long>> groupByShard(Iterable<? extends Long> ids) {
+        Map<TaskShard, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (id != null) {
+                idsByShard.computeIfAbsent(shardFor(id), key -> new ArrayList<>()).add(id);
+            }
+        }
+        return idsByShard;
+    }
+
+    /**
+     * Ejecuta la escritura de cada grupo en su shard con fanOut y, si algún shard falla, registra los elementos de
+     * los grupos que no se escribieron. Cuando otros shards sí confirmaron sus grupos, la falla se informa con una
+     * PartialWriteException que indica cuáles elementos no se escribieron.
+     *
+     * @param itemsByShard Los elementos de cada shard.
+     * @param itemCount    La cantidad total de elementos.
+     * @param operation    La escritura de los elementos de un shard, en su propia transacción.
+     */
+    private <E> void writeAll(Map<TaskShard, List<E>> itemsByShard, int itemCount, ShardOperation<List<E>, ?> operation) {
+        Set<E> notWritten = ConcurrentHashMap.newKeySet();
+        try {
+            fanOut(itemsByShard, (shard, items) -> {
+                try {
+                    return operation.apply(shard, items);
+                } catch (RuntimeException e) {
+                    notWritten.addAll(items);
+                    throw e;
+                }
+            });
+        } catch (RuntimeException e) {
+            if (notWritten.isEmpty() || notWritten.size() == itemCount) {
+                throw e;
+            }
+            throw new PartialWriteException(notWritten, e);
+        }
+    }
+
+    private <T> List<T> fanOut(List<TaskShard> targets, Function<TaskShard, T> operation) {
+        Map<TaskShard, Void> byShard = new LinkedHashMap<>();
+        targets.forEach(shard -> byShard.put(shard, null));
+        return fanOut(byShard, (shard, ignored) -> operation.apply(shard));
+    }
+
+    /**
+     * Ejecuta una operación en cada shard indicado, en paralelo en hilos virtuales, y espera a que terminen todas.
+     * Si alguna falla, se relanza la primera excepción una vez que terminaron las demás.
+     */
+    private <K, T> List<T> fanOut(Map<TaskShard, K> targets, ShardOperation<K, T> operation) {
+        if (targets.size() == 1) {
+            Map.Entry<TaskShard, K> target = targets.entrySet().iterator().next();
+            return Collections.singletonList(operation.apply(target.getKey(), target.getValue()));
+        }
+        List<Future<T>> futures = new ArrayList<>();
+        targets.forEach((shard, argument) -> futures.add(executor.submit(() -> operation.apply(shard, argument))));
+
+        List<T> results = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new IllegalStateException("Se interrumpió la espera de los shards", e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Operación que se ejecuta sobre un shard con el argumento que le corresponde.
+     */
+    @FunctionalInterface
+    private interface ShardOperation<K, T> {
+        T apply(TaskShard shard, K argument);
+    }
+
+    /**
+     * Proyección TaskSummary leída de un shard.
+     */
+    private static final class ShardTaskSummary implements TaskSummary {
+        private final Long id;
+        private final String title;
+        private final Long version;
+
+        private ShardTaskSummary(Long id, String title, Long version) {
+            this.id = id;
+            this.title = title;
+            this.version = version;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * Proyección TaskSize leída de un shard.
+     */
+    private static final class ShardTaskSize implements TaskSize {
+        private final Long id;
+        private final Integer titleLength;
+        private final Integer descriptionLength;
+
+        private ShardTaskSize(Long id, Integer titleLength, Integer descriptionLength) {
+            this.id = id;
+            this.titleLength = titleLength;
+            this.descriptionLength = descriptionLength;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Integer getTitleLength() {
+            return titleLength;
+        }
+
+        @Override
+        public Integer getDescriptionLength() {
+            return descriptionLength;
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.dh.TaskManager.search;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import lombok.*;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre el título y la descripción de las tareas.
+ *      *
+ * Cada término apunta a una lista de publicaciones (identificador de tarea y frecuencia) ordenada por identificador,
+ * lo que permite intersectar términos con búsquedas binarias. Los términos se guardan ordenados, de modo que la
+ * búsqueda por prefijo es un recorrido de un rango del diccionario. Los resultados se ordenan por relevancia
+ * utilizando BM25; las apariciones en el título valen el doble que las de la descripción.
+ *      *
+ * El índice se mantiene actualizado escuchando los eventos TaskChangedEvent una vez confirmada cada transacción
+ * y se reconstruye desde el repositorio al iniciar la aplicación (ver TaskSearchIndexInitializer).
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, IndexedTask> tasks = new HashMap<>();
+    private long totalLength;
+
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+
+    /**
+     * Resultado de una búsqueda: la cantidad total de coincidencias y la página de resultados solicitada.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final int total;
+        private final List<SearchHit> hits;
+    }
+
+    /**
+     * Una tarea encontrada junto con su puntaje de relevancia.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SearchHit {
+        private final long id;
+        private final double score;
+    }
+
+    /**
+     * Agrega o reemplaza una tarea en el índice.
+     *
+     * @param id          El identificador de la tarea.
+     * @param title       El título de la tarea.
+     * @param description La descripción de la tarea.
+     */
+    public void index(Long id, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            put(id, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una tarea del índice.
+     *
+     * @param id El identificador de la tarea.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice a partir de todas las tareas existentes.
+     *      *
+     * Las tareas que se crean, modifican o eliminan mientras dura la reconstrucción tienen prioridad sobre las
+     * leídas del repositorio, ya que estas pueden corresponder a una versión anterior.
+     *
+     * @param source Función que recorre todas las tareas entregándolas al consumidor indicado.
+     */
+    public void rebuild(Consumer<Consumer<TaskResponseDTO>> source) {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            source.accept(task -> {
+                lock.writeLock().lock();
+                try {
+                    if (!changedDuringRebuild.contains(task.getId())) {
+                        put(task.getId(), task.getTitle(), task.getDescription());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Busca las tareas que contienen todos los términos de la consulta.
+     * Cada término de la consulta coincide con los términos del índice iguales a él o que comienzan con él;
+     * las coincidencias exactas puntúan más que las coincidencias por prefijo.
+     *
+     * @param query  El texto de la consulta.
+     * @param offset La cantidad de resultados a omitir.
+     * @param limit  La cantidad máxima de resultados a devolver.
+     * @return SearchResult La cantidad total de coincidencias y los resultados pedidos, ordenados por relevancia.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> queryTerms = tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            if (tasks.isEmpty()) {
+                return new SearchResult(0, List.of());
+            }
+            double averageLength = (double) totalLength / tasks.size();
+
+            // Se resuelven primero los términos con menos candidatos para que la intersección sea lo más chica posible.
+            List<List<WeightedPostings>> expansions = new ArrayList<>();
+            for (String queryTerm : queryTerms) {
+                List<WeightedPostings> termExpansions = expand(queryTerm);
+                if (termExpansions.isEmpty()) {
+                    return new SearchResult(0, List.of());
+                }
+                expansions.add(termExpansions);
+            }
+            expansions.sort(Comparator.comparingLong(TaskSearchIndex::candidateCount));
+
+            Candidates candidates = Candidates.union(expansions.get(0), averageLength);
+            for (List<WeightedPostings> termExpansions : expansions.subList(1, expansions.size())) {
+                candidates.intersect(termExpansions, averageLength);
+            }
+            return new SearchResult(candidates.size, candidates.top(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mantiene el índice actualizado cuando se confirma el alta, la modificación o la baja de una tarea.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangeType.DELETED) {
+            remove(event.getId());
+        } else {
+            TaskResponseDTO task = event.getTask();
+            index(task.getId(), task.getTitle(), task.getDescription());
+        }
+    }
+
+    /**
+     * Normaliza un texto y lo divide en términos: pasa a minúsculas, elimina tildes y separa por cualquier
+     * carácter que no sea una letra o un dígito.
+     *
+     * @param text El texto a dividir.
+     * @return List<String> Los términos del texto, en orden y con repeticiones.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private void put(Long id, String title, String description) {
+        delete(id);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        Postings[] taskPostings = new Postings[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings postings = terms.computeIfAbsent(entry.getKey(), Postings::new);
+            postings.add(id, entry.getValue(), length);
+            taskPostings[i++] = postings;
+        }
+        tasks.put(id, new IndexedTask(taskPostings, length));
+        totalLength += length;
+    }
+
+    private void delete(Long id) {
+        IndexedTask indexedTask = tasks.remove(id);
+        if (indexedTask == null) {
+            return;
+        }
+        for (Postings postings : indexedTask.postings) {
+            postings.remove(id);
+            if (postings.size == 0) {
+                terms.remove(postings.term);
+            }
+        }
+        totalLength -= indexedTask.length;
+    }
+
+    private List<WeightedPostings> expand(String queryTerm) {
+        List<WeightedPostings> expansions = new ArrayList<>();
+        Postings exact = terms.get(queryTerm);
+        if (exact != null) {
+            expansions.add(new WeightedPostings(exact, 1.0, idf(exact)));
+        }
+        for (Postings postings : terms.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+            if (expansions.size() >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            expansions.add(new WeightedPostings(postings, PREFIX_MATCH_WEIGHT, idf(postings)));
+        }
+        return expansions;
+    }
+
+    private double idf(Postings postings) {
+        int documentFrequency = postings.size;
+        return Math.log(1 + (tasks.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double score(WeightedPostings expansion, int frequency, int length, double averageLength) {
+        double normalization = BM25_K1 * (1 - BM25_B + BM25_B * length / averageLength);
+        return expansion.weight * expansion.idf * frequency * (BM25_K1 + 1) / (frequency + normalization);
+    }
+
+    private static long candidateCount(List<WeightedPostings> expansions) {
+        return expansions.stream().mapToLong(expansion -> expansion.postings.size).sum();
+    }
+
+    /**
+     * Lista de publicaciones de un término: identificadores de tareas ordenados, la frecuencia del término en cada una
+     * y la longitud de cada tarea. Guardar la longitud junto a la publicación evita buscar la tarea al calcular el
+     * puntaje; como cualquier cambio de una tarea reescribe todas sus publicaciones, nunca queda desactualizada.
+     */
+    private static final class Postings {
+        private final String term;
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(long id, int frequency, int length) {
+            int index = -Arrays.binarySearch(ids, 0, size, id) - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            System.arraycopy(lengths, index, lengths, index + 1, size - index);
+            ids[index] = id;
+            frequencies[index] = frequency;
+            lengths[index] = length;
+            size++;
+        }
+
+        private void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Tarea indexada: las listas de publicaciones en las que aparece (para poder quitarla) y su longitud en términos.
+     */
+    @AllArgsConstructor
+    private static final class IndexedTask {
+        private final Postings[] postings;
+        private final int length;
+    }
+
+    /**
+     * Tareas candidatas de una búsqueda, ordenadas por identificador, con su puntaje acumulado.
+     * Se utilizan arreglos primitivos para no crear un objeto por candidata.
+     */
+    private static final class Candidates {
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        /**
+         * Une las publicaciones de todas las expansiones de un término de la consulta. Si una tarea aparece en
+         * varias expansiones conserva el mayor puntaje, de modo que las expansiones no inflan el resultado.
+         */
+        private static Candidates union(List<WeightedPostings> expansions, double averageLength) {
+            Candidates candidates = new Candidates();
+            candidates.ids = new long[0];
+            candidates.scores = new double[0];
+            for (WeightedPostings expansion : expansions) {
+                Postings postings = expansion.postings;
+                long[] ids = new long[candidates.size + postings.size];
+                double[] scores = new double[ids.length];
+                int i = 0;
+                int j = 0;
+                int k = 0;
+                while (i < candidates.size || j < postings.size) {
+                    if (j == postings.size || (i < candidates.size && candidates.ids[i] < postings.ids[j])) {
+                        ids[k] = candidates.ids[i];
+                        scores[k++] = candidates.scores[i++];
+                    } else {
+                        double score = score(expansion, postings.frequencies[j], postings.lengths[j], averageLength);
+                        if (i < candidates.size && candidates.ids[i] == postings.ids[j]) {
+                            score = Math.max(score, candidates.scores[i++]);
+                        }
+                        ids[k] = postings.ids[j++];
+                        scores[k++] = score;
+                    }
+                }
+                candidates.ids = ids;
+                candidates.scores = scores;
+                candidates.size = k;
+            }
+            return candidates;
+        }
+
+        /**
+         * Conserva solo las candidatas que también contienen alguna expansión del término indicado y suma su puntaje.
+         * Como candidatas y publicaciones están ordenadas, cada búsqueda binaria comienza donde terminó la anterior.
+         */
+        private void intersect(List<WeightedPostings> expansions, double averageLength) {
+            int[] from = new int[expansions.size()];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                double best = 0;
+                for (int e = 0; e < expansions.size(); e++) {
+                    WeightedPostings expansion = expansions.get(e);
+                    Postings postings = expansion.postings;
+                    int index = Arrays.binarySearch(postings.ids, from[e], postings.size, ids[i]);
+                    if (index >= 0) {
+                        best = Math.max(best, score(expansion, postings.frequencies[index], postings.lengths[index],
+                                averageLength));
+                        from[e] = index + 1;
+                    } else {
+                        from[e] = -index - 1;
+                    }
+                }
+                if (best > 0) {
+                    ids[kept] = ids[i];
+                    scores[kept++] = scores[i] + best;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Obtiene los resultados pedidos ordenados por relevancia (y por identificador ante igual puntaje),
+         * manteniendo en un montículo solo los mejores offset + limit.
+         */
+        private List<SearchHit> top(int offset, int limit) {
+            if (offset >= size) {
+                return List.of();
+            }
+            int wanted = Math.min(offset + limit, size);
+            Comparator<SearchHit> byRelevance = Comparator.comparingDouble(SearchHit::getScore).reversed()
+                    .thenComparingLong(SearchHit::getId);
+
+            // La cabeza del montículo es el peor de los mejores resultados encontrados hasta el momento.
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(wanted, byRelevance.reversed());
+            for (int i = 0; i < size; i++) {
+                // Las candidatas se recorren por identificador creciente: ante igual puntaje la existente es mejor.
+                if (best.size() == wanted && scores[i] <= best.peek().getScore()) {
+                    continue;
+                }
+                best.add(new SearchHit(ids[i], scores[i]));
+                if (best.size() > wanted) {
+                    best.poll();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(byRelevance);
+            return hits.subList(offset, hits.size());
+        }
+    }
+
+    /**
+     * Término del índice que coincide con un término de la consulta, con su peso y su IDF.
+     */
+    @AllArgsConstructor
+    private static final class WeightedPostings {
+        private final Postings postings;
+        private final double weight;
+        private final double idf;
+    }
+}
@@ -0,0 +1,42 @@
+package com.dh.TaskManager.search;
+
+import com.dh.TaskManager.service.ITaskService;
+import com.dh.TaskManager.service.impl.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Construye el índice de búsqueda de tareas a partir del repositorio cuando la aplicación termina de iniciar.
+ */
+@Component
+public class TaskSearchIndexInitializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskSearchIndexInitializer.class);
+
+    private final ITaskService taskService;
+    private final TaskSearchIndex taskSearchIndex;
+
+    /**
+     * Constructor de la clase TaskSearchIndexInitializer que realiza la inyección de dependencias.
+     *
+     * @param taskService     El servicio de tareas utilizado para recorrer todas las tareas existentes.
+     * @param taskSearchIndex El índice de búsqueda a construir.
+     */
+    public TaskSearchIndexInitializer(TaskService taskService, TaskSearchIndex taskSearchIndex) {
+        this.taskService = taskService;
+        this.taskSearchIndex = taskSearchIndex;
+    }
+
+    /**
+     * Recorre todas las tareas y las agrega al índice de búsqueda.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.nanoTime();
+        taskSearchIndex.rebuild(taskService::streamAllTasks);
+        LOGGER.info("Índice de búsqueda de tareas construido en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
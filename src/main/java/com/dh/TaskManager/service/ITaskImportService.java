@@ -0,0 +1,26 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.TaskImportErrorDTO;
+import com.dh.TaskManager.dto.TaskImportProgressDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Interfaz que define la importación masiva de tareas en formato JSON delimitado por líneas (NDJSON).
+ */
+public interface ITaskImportService {
+
+    /**
+     * Importa las tareas leídas de un flujo NDJSON, una tarea (TaskRequestDTO) por línea.
+     *
+     * @param input      El flujo con las líneas a importar, en UTF-8.
+     * @param onError    Consumidor que recibe el error de cada línea que no se importa.
+     * @param onProgress Consumidor que recibe el avance cada vez que se confirma un bloque de tareas.
+     * @return Objeto TaskImportProgressDTO con el resultado final de la importación.
+     * @throws IOException Si no se puede leer el flujo.
+     */
+    TaskImportProgressDTO importTasks(InputStream input, Consumer<TaskImportErrorDTO> onError,
+                                      Consumer<TaskImportProgressDTO> onProgress) throws IOException;
+}
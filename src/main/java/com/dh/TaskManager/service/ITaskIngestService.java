@@ -0,0 +1,34 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.TaskIngestStatusDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+
+/**
+ * Interfaz que define el modo de alta asíncrono de tareas: una alternativa a ITaskService.createTask que acepta
+ * la tarea de inmediato y la guarda más tarde junto con otras.
+ */
+public interface ITaskIngestService {
+
+    /**
+     * Indica si el modo de alta asíncrono está activo.
+     *
+     * @return true si las altas deben pasar por este servicio en lugar de ITaskService.createTask.
+     */
+    boolean isEnabled();
+
+    /**
+     * Acepta una tarea para guardarla de forma asíncrona.
+     *
+     * @param taskRequestDTO Objeto TaskRequestDTO con los datos de la tarea a crear.
+     * @return Objeto TaskIngestStatusDTO en estado PENDING con el token de seguimiento.
+     */
+    TaskIngestStatusDTO submitTask(TaskRequestDTO taskRequestDTO);
+
+    /**
+     * Obtiene el estado de una tarea aceptada.
+     *
+     * @param token El token de seguimiento devuelto al aceptar la tarea.
+     * @return Objeto TaskIngestStatusDTO con el estado actual de la tarea.
+     */
+    TaskIngestStatusDTO getIngestStatus(String token);
+}
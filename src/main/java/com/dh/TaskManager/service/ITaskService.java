@@ -1,11 +1,20 @@
 package com.dh.TaskManager.service;
 
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskField;
+import com.dh.TaskManager.dto.TaskPageDTO;
 import com.dh.TaskManager.dto.TaskRequestDTO;
 import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
 import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.dto.TaskSearchResultDTO;
+import com.dh.TaskManager.dto.TaskStatsDTO;
 import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.repository.TaskSize;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Interfaz que define los métodos para realizar operaciones relacionadas con las tareas.
@@ -28,6 +37,30 @@ public interface ITaskService {
      */
     TaskResponseDTO getTaskById(Long id);
 
+    /**
+     * Obtiene una tarea por su identificador único con solo los campos indicados.
+     *
+     * @param id     Identificador único de la tarea a buscar.
+     * @param fields Campos que se deben incluir; los demás quedan nulos.
+     * @return Objeto TaskResponseDTO que representa la tarea encontrada.
+     */
+    TaskResponseDTO getTaskById(Long id, Set<TaskField> fields);
+
+    /**
+     * Obtiene la versión actual de una tarea sin construir su representación completa.
+     *
+     * @param id Identificador único de la tarea.
+     * @return Versión actual de la tarea.
+     */
+    Long getTaskVersion(Long id);
+
+    /**
+     * Obtiene un identificador que cambia cada vez que se crea, modifica o elimina cualquier tarea.
+     *
+     * @return Identificador de la versión de la colección de tareas.
+     */
+    String getTasksVersionTag();
+
     /**
      * Obtiene todas las tareas disponibles.
      *
@@ -35,6 +68,71 @@ public interface ITaskService {
      */
     List<TaskResponseDTO> getAllTasks();
 
+    /**
+     * Obtiene una página de tareas a partir de un cursor opaco.
+     *
+     * @param after Cursor devuelto por la página anterior, o nulo para obtener la primera página.
+     * @param limit Cantidad máxima de tareas de la página, o nulo para utilizar el valor por defecto.
+     * @return Objeto TaskPageDTO con las tareas de la página y el cursor de la página siguiente.
+     */
+    TaskPageDTO getTasksPage(String after, Integer limit);
+
+    /**
+     * Obtiene una página de tareas a partir de un cursor opaco con solo los campos indicados.
+     *
+     * @param after  Cursor devuelto por la página anterior, o nulo para obtener la primera página.
+     * @param limit  Cantidad máxima de tareas de la página, o nulo para utilizar el valor por defecto.
+     * @param fields Campos que se deben incluir en cada tarea; los demás quedan nulos.
+     * @return Objeto TaskPageDTO con las tareas de la página y el cursor de la página siguiente.
+     */
+    TaskPageDTO getTasksPage(String after, Integer limit, Set<TaskField> fields);
+
+    /**
+     * Busca tareas por texto en su título y descripción.
+     *
+     * @param query El texto a buscar.
+     * @param page  Número de página, comenzando en 0, o nulo para obtener la primera página.
+     * @param size  Cantidad máxima de resultados de la página, o nulo para utilizar el valor por defecto.
+     * @return Objeto TaskSearchResultDTO con la cantidad total de coincidencias y las tareas de la página.
+     */
+    TaskSearchResultDTO searchTasks(String query, Integer page, Integer size);
+
+    /**
+     * Recorre todas las tareas disponibles sin cargarlas en memoria de una sola vez.
+     *
+     * @param consumer Consumidor que recibe cada tarea a medida que se lee de la base de datos.
+     */
+    void streamAllTasks(Consumer<TaskResponseDTO> consumer);
+
+    /**
+     * Recorre todas las tareas disponibles con solo los campos indicados, sin cargarlas en memoria de una sola vez.
+     *
+     * @param fields   Campos que se deben incluir en cada tarea; los demás quedan nulos.
+     * @param consumer Consumidor que recibe cada tarea a medida que se lee de la base de datos.
+     */
+    void streamAllTasks(Set<TaskField> fields, Consumer<TaskResponseDTO> consumer);
+
+    /**
+     * Recorre las longitudes del título y la descripción de todas las tareas sin leer los textos.
+     *
+     * @param consumer Consumidor que recibe las longitudes de cada tarea a medida que se leen de la base de datos.
+     */
+    void streamAllTaskSizes(Consumer<TaskSize> consumer);
+
+    /**
+     * Recorre los identificadores de todas las tareas sin leer las demás columnas.
+     *
+     * @param consumer Consumidor que recibe cada identificador a medida que se lee de la base de datos.
+     */
+    void streamAllTaskIds(LongConsumer consumer);
+
+    /**
+     * Obtiene las estadísticas de las tareas: cantidad total, actividad reciente y distribución de longitudes.
+     *
+     * @return Objeto TaskStatsDTO con las estadísticas de las tareas.
+     */
+    TaskStatsDTO getTaskStats();
+
     /**
      * Actualiza una tarea existente utilizando la información proporcionada en el objeto TaskRequestToUpdateDTO.
      *
@@ -43,10 +141,60 @@ public interface ITaskService {
      */
     TaskResponseDTO updateTask(TaskRequestToUpdateDTO taskRequestDTO);
 
+    /**
+     * Actualiza una tarea existente solo si su versión actual coincide con la versión esperada.
+     *
+     * @param taskRequestDTO  Objeto TaskRequestToUpdateDTO que contiene la información actualizada de la tarea.
+     * @param expectedVersion Versión que se espera que tenga la tarea, o nula para no verificarla.
+     * @return Objeto TaskResponseDTO que representa la tarea actualizada.
+     */
+    TaskResponseDTO updateTask(TaskRequestToUpdateDTO taskRequestDTO, Long expectedVersion);
+
+    /**
+     * Actualiza parcialmente una tarea existente, modificando solo los campos no nulos del objeto TaskRequestToUpdateDTO.
+     *
+     * @param taskRequestDTO Objeto TaskRequestToUpdateDTO con el identificador de la tarea y los campos a modificar.
+     * @return Objeto TaskResponseDTO que representa la tarea actualizada.
+     */
+    TaskResponseDTO patchTask(TaskRequestToUpdateDTO taskRequestDTO);
+
+    /**
+     * Actualiza parcialmente una tarea existente solo si su versión actual coincide con la versión esperada.
+     *
+     * @param taskRequestDTO  Objeto TaskRequestToUpdateDTO con el identificador de la tarea y los campos a modificar.
+     * @param expectedVersion Versión que se espera que tenga la tarea, o nula para no verificarla.
+     * @return Objeto TaskResponseDTO que representa la tarea actualizada.
+     */
+    TaskResponseDTO patchTask(TaskRequestToUpdateDTO taskRequestDTO, Long expectedVersion);
+
     /**
      * Elimina una tarea por su identificador único.
      *
      * @param id Identificador único de la tarea a eliminar.
      */
     void deleteTaskById(Long id);
+
+    /**
+     * Crea varias tareas en una única operación.
+     *
+     * @param taskRequestDTOs Lista de objetos TaskRequestDTO con la información de las tareas a crear.
+     * @return Objeto BatchResponseDTO con el resultado de cada elemento.
+     */
+    BatchResponseDTO createTasks(List<TaskRequestDTO> taskRequestDTOs);
+
+    /**
+     * Actualiza varias tareas en una única operación.
+     *
+     * @param taskRequestToUpdateDTOs Lista de objetos TaskRequestToUpdateDTO con la información actualizada.
+     * @return Objeto BatchResponseDTO con el resultado de cada elemento.
+     */
+    BatchResponseDTO updateTasks(List<TaskRequestToUpdateDTO> taskRequestToUpdateDTOs);
+
+    /**
+     * Elimina varias tareas por sus identificadores en una única operación.
+     *
+     * @param ids Lista de identificadores de las tareas a eliminar.
+     * @return Objeto BatchResponseDTO con el resultado de cada elemento.
+     */
+    BatchResponseDTO deleteTasks(List<Long> ids);
 }
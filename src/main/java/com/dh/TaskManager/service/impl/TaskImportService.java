@@ -0,0 +1,297 @@
+package com.dh.TaskManager.service.impl;
+
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.TaskImportErrorDTO;
+import com.dh.TaskManager.dto.TaskImportProgressDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.service.ITaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de la importación masiva de tareas en formato NDJSON.
+ *      *
+ * El flujo se lee línea por línea y cada línea se convierte a TaskRequestDTO con un ObjectReader reutilizable, que
+ * la analiza directamente desde el flujo, sin copiarla antes a un String. Las líneas más largas que el máximo
+ * configurado se descartan sin leerlas en memoria y se informan como error de esa línea.
+ * Las tareas se acumulan en bloques de tamaño fijo y cada bloque se guarda con TaskService.createTasks, es decir,
+ * en su propia transacción, con la misma validación por elemento y con los INSERT agrupados por JDBC. Solo se
+ * mantiene en memoria el bloque en curso, por lo que el consumo de memoria no depende del tamaño del archivo.
+ *      *
+ * Una línea inválida (JSON mal formado o datos que no pasan la validación) se informa con su número de línea y
+ * no interrumpe la importación. Los bloques ya confirmados no se revierten si la importación se interrumpe.
+ */
+@Service
+public class TaskImportService implements ITaskImportService {
+
+    private final TaskService taskService;
+    private final EntityManager entityManager;
+    private final ObjectReader taskReader;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    /**
+     * Constructor de la clase TaskImportService que realiza la inyección de dependencias y lee la configuración.
+     *
+     * @param taskService   El servicio de tareas utilizado para guardar cada bloque.
+     * @param entityManager El EntityManager compartido, que se vacía después de guardar cada bloque.
+     * @param objectMapper  El ObjectMapper de la aplicación, a partir del cual se construye el lector de cada línea.
+     * @param chunkSize     La cantidad de tareas que se guardan en cada transacción.
+     * @param maxBatchSize  La cantidad máxima de elementos que admite TaskService.createTasks.
+     * @param maxLineLength La longitud máxima de cada línea, en bytes.
+     */
+    public TaskImportService(TaskService taskService, EntityManager entityManager, ObjectMapper objectMapper,
+                             @Value("${taskmanager.import.chunk-size:1000}") int chunkSize,
+                             @Value("${taskmanager.batch.max-size:1000}") int maxBatchSize,
+                             @Value("${taskmanager.import.max-line-length:1MB}") DataSize maxLineLength) {
+        this.taskService = taskService;
+        this.entityManager = entityManager;
+        this.taskReader = objectMapper.readerFor(TaskRequestDTO.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.chunkSize = Math.max(1, Math.min(chunkSize, maxBatchSize));
+        this.maxLineLength = Math.toIntExact(maxLineLength.toBytes());
+    }
+
+    private final String INVALID_JSON_MESSAGE = "La línea no contiene un objeto JSON válido";
+    private final String LINE_TOO_LONG_MESSAGE = "La línea supera la longitud máxima permitida";
+
+    /**
+     * Importa las tareas de un flujo NDJSON guardándolas en bloques.
+     * Las líneas en blanco se ignoran, pero se cuentan para informar los números de línea del archivo original.
+     *
+     * @param input      El flujo con las líneas a importar, en UTF-8.
+     * @param onError    Consumidor que recibe el error de cada línea que no se importa.
+     * @param onProgress Consumidor que recibe el avance cada vez que se confirma un bloque de tareas.
+     * @return TaskImportProgressDTO El resultado final de la importación.
+     * @throws IOException Si no se puede leer el flujo.
+     */
+    @Override
+    public TaskImportProgressDTO importTasks(InputStream input, Consumer<TaskImportErrorDTO> onError,
+                                             Consumer<TaskImportProgressDTO> onProgress) throws IOException {
+        LineInputStream lines = new LineInputStream(input, maxLineLength);
+        List<TaskRequestDTO> chunk = new ArrayList<>(chunkSize);
+        long[] chunkLines = new long[chunkSize];
+        long line = 0;
+        long created = 0;
+        long failed = 0;
+
+        while (lines.nextLine()) {
+            line++;
+            if (lines.skipBlank()) {
+                continue;
+            }
+            TaskRequestDTO task;
+            try {
+                task = taskReader.readValue(lines);
+            } catch (JsonProcessingException e) {
+                task = null;
+            }
+            boolean tooLong = lines.skipRest();
+            if (task == null || tooLong) {
+                failed++;
+                onError.accept(new TaskImportErrorDTO(line, tooLong ? LINE_TOO_LONG_MESSAGE : INVALID_JSON_MESSAGE));
+                continue;
+            }
+            chunkLines[chunk.size()] = line;
+            chunk.add(task);
+            if (chunk.size() == chunkSize) {
+                long chunkFailed = saveChunk(chunk, chunkLines, onError);
+                created += chunk.size() - chunkFailed;
+                failed += chunkFailed;
+                chunk.clear();
+                onProgress.accept(new TaskImportProgressDTO(line, created, failed, false));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            long chunkFailed = saveChunk(chunk, chunkLines, onError);
+            created += chunk.size() - chunkFailed;
+            failed += chunkFailed;
+        }
+        return new TaskImportProgressDTO(line, created, failed, true);
+    }
+
+    /**
+     * Guarda un bloque de tareas en una transacción e informa las que no pasaron la validación.
+     *      *
+     * Con open-in-view el mismo contexto de persistencia se mantiene durante toda la solicitud, por lo que las tareas
+     * de cada bloque se quitan de él al terminar; de lo contrario cada confirmación revisaría todas las anteriores.
+     *
+     * @param chunk      Las tareas del bloque.
+     * @param chunkLines El número de línea de cada tarea del bloque.
+     * @param onError    Consumidor que recibe el error de cada línea que no se importa.
+     * @return long La cantidad de tareas del bloque que no se guardaron.
+     */
+    private long saveChunk(List<TaskRequestDTO> chunk, long[] chunkLines, Consumer<TaskImportErrorDTO> onError) {
+        long failed = 0;
+        for (BatchItemResultDTO result : taskService.createTasks(chunk).getItems()) {
+            if (result.getStatus() >= 400) {
+                failed++;
+                onError.accept(new TaskImportErrorDTO(chunkLines[result.getIndex()], result.getMessage()));
+            }
+        }
+        entityManager.clear();
+        return failed;
+    }
+
+    /**
+     * Vista de una línea del flujo de entrada: devuelve sus bytes sin el salto de línea y, al llegar al final de la
+     * línea, fin de flujo, de modo que el ObjectReader analiza una línea por vez directamente desde el flujo. Si la
+     * línea supera la longitud máxima, se corta en ese punto y el resto se descarta sin guardarlo en memoria.
+     */
+    private static final class LineInputStream extends InputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final InputStream input;
+        private final int maxLineLength;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+        private int position;
+        private int limit;
+        private int lineLength;
+        private boolean endOfLine = true;
+        private boolean endOfInput;
+        private boolean tooLong;
+
+        private LineInputStream(InputStream input, int maxLineLength) {
+            this.input = input;
+            this.maxLineLength = maxLineLength;
+        }
+
+        /**
+         * Pasa a la línea siguiente, que debe empezar después de haber consumido la anterior con skipRest.
+         *
+         * @return boolean false si el flujo no tiene más líneas.
+         */
+        boolean nextLine() throws IOException {
+            if (endOfInput || !fill()) {
+                return false;
+            }
+            endOfLine = false;
+            tooLong = false;
+            lineLength = 0;
+            return true;
+        }
+
+        /**
+         * Consume los espacios iniciales de la línea.
+         *
+         * @return boolean true si la línea está en blanco.
+         */
+        boolean skipBlank() throws IOException {
+            while (!endOfLine && fill()) {
+                byte next = buffer[position];
+                if (next == '\n') {
+                    position++;
+                    endOfLine = true;
+                } else if (next == ' ' || next == '\t' || next == '\r') {
+                    position++;
+                    lineLength++;
+                } else {
+                    return false;
+                }
+            }
+            endOfLine = true;
+            return true;
+        }
+
+        /**
+         * Descarta lo que quede de la línea actual, incluido su salto de línea.
+         *
+         * @return boolean true si la línea superaba la longitud máxima.
+         */
+        boolean skipRest() throws IOException {
+            while (!endOfLine && fill()) {
+                int newline = indexOfNewline();
+                lineLength += newline - position;
+                if (newline < limit) {
+                    position = newline + 1;
+                    endOfLine = true;
+                } else {
+                    position = limit;
+                }
+            }
+            endOfLine = true;
+            return tooLong || lineLength > maxLineLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (endOfLine || !fill()) {
+                return -1;
+            }
+            int end = indexOfNewline();
+            if (end == position) {
+                position++;
+                endOfLine = true;
+                return -1;
+            }
+            if (lineLength == maxLineLength) {
+                tooLong = true;
+                return -1;
+            }
+            int count = Math.min(Math.min(length, end - position), maxLineLength - lineLength);
+            System.arraycopy(buffer, position, target, offset, count);
+            position += count;
+            lineLength += count;
+            return count;
+        }
+
+        /**
+         * No cierra el flujo de entrada: el ObjectReader cierra esta vista al terminar cada línea.
+         */
+        @Override
+        public void close() {
+        }
+
+        private int indexOfNewline() {
+            for (int i = position; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+            return limit;
+        }
+
+        /**
+         * Asegura que haya bytes sin leer en el búfer.
+         *
+         * @return boolean false si el flujo de entrada terminó.
+         */
+        private boolean fill() throws IOException {
+            while (position == limit) {
+                if (endOfInput) {
+                    return false;
+                }
+                int read = input.read(buffer, 0, BUFFER_SIZE);
+                if (read == -1) {
+                    endOfInput = true;
+                    return false;
+                }
+                position = 0;
+                limit = read;
+            }
+            return true;
+        }
+    }
+}
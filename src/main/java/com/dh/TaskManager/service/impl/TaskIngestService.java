@@ -0,0 +1,254 @@
+package com.dh.TaskManager.service.impl;
+
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.TaskIngestStatusDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.exception.NotFoundException;
+import com.dh.TaskManager.exception.ServiceUnavailableException;
+import com.dh.TaskManager.service.ITaskIngestService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación del modo de alta asíncrono (write-behind) de tareas.
+ *      *
+ * Cada tarea aceptada se agrega a una cola acotada en memoria y se responde de inmediato con un token de seguimiento.
+ * Un único hilo escritor vacía la cola en lotes: espera la primera tarea y luego junta las siguientes hasta alcanzar
+ * el tamaño máximo del lote o hasta que vence la ventana de tiempo, y guarda el lote con TaskService.createTasks,
+ * es decir, en una sola transacción y con sentencias agrupadas por JDBC (group commit).
+ *      *
+ * Si la cola está llena la tarea se rechaza con ServiceUnavailableException (503 con Retry-After), de modo que la
+ * memoria utilizada queda acotada y el cliente reduce su ritmo. Al detenerse la aplicación se dejan de aceptar
+ * tareas y se guardan todas las que quedaban en la cola antes de cerrar la base de datos.
+ */
+@Service
+public class TaskIngestService implements ITaskIngestService, SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskIngestService.class);
+
+    /**
+     * Fase del ciclo de vida: se inicia antes y se detiene después que el servidor web, para que no lleguen
+     * nuevas tareas mientras se vacía la cola.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long STATUS_MAXIMUM_SIZE = 100_000;
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final TaskService taskService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxBatchDelay;
+    private final Duration retryAfter;
+    private final BlockingQueue<PendingTask> queue;
+    private final Cache<String, TaskIngestStatusDTO> statuses;
+
+    private volatile boolean accepting;
+    private Thread writer;
+
+    /**
+     * Constructor de la clase TaskIngestService que realiza la inyección de dependencias y lee la configuración.
+     *
+     * @param taskService     El servicio de tareas utilizado para guardar cada lote.
+     * @param enabled         Indica si POST /tasks utiliza el modo asíncrono en lugar del alta sincrónica.
+     * @param queueCapacity   La cantidad máxima de tareas aceptadas a la espera de ser escritas.
+     * @param maxBatchSize    La cantidad máxima de tareas que se guardan en cada transacción. No supera la que
+     *                        admite TaskService.createTasks.
+     * @param maxBatchDelay   El tiempo máximo que se espera para completar un lote desde que llega su primera tarea.
+     * @param retryAfter      El tiempo que se sugiere esperar al cliente cuando la cola está llena.
+     * @param statusRetention El tiempo durante el cual se puede consultar el estado de una tarea aceptada.
+     * @param batchMaxSize    La cantidad máxima de elementos que admite TaskService.createTasks.
+     */
+    public TaskIngestService(TaskService taskService,
+                             @Value("${taskmanager.ingest.enabled:false}") boolean enabled,
+                             @Value("${taskmanager.ingest.queue-capacity:10000}") int queueCapacity,
+                             @Value("${taskmanager.ingest.max-batch-size:500}") int maxBatchSize,
+                             @Value("${taskmanager.ingest.max-batch-delay:20ms}") Duration maxBatchDelay,
+                             @Value("${taskmanager.ingest.retry-after:1s}") Duration retryAfter,
+                             @Value("${taskmanager.ingest.status-retention:10m}") Duration statusRetention,
+                             @Value("${taskmanager.batch.max-size:1000}") int batchMaxSize) {
+        this.taskService = taskService;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, batchMaxSize));
+        this.maxBatchDelay = maxBatchDelay;
+        this.retryAfter = retryAfter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(STATUS_MAXIMUM_SIZE)
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    private final String QUEUE_FULL_MESSAGE = "La cola de altas está llena, intente nuevamente más tarde";
+    private final String NOT_ACCEPTING_MESSAGE = "El modo de alta asíncrono no está disponible";
+    private final String TOKEN_NOT_FOUND_MESSAGE = "No se encontró el token de seguimiento solicitado";
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Acepta una tarea agregándola a la cola de escritura, sin esperar a que se guarde.
+     *
+     * @param taskRequestDTO El objeto TaskRequestDTO con los datos de la tarea a crear.
+     * @return TaskIngestStatusDTO El estado PENDING de la tarea junto con su token de seguimiento.
+     * @throws ServiceUnavailableException Si la cola está llena o el modo asíncrono no está aceptando tareas.
+     */
+    @Override
+    public TaskIngestStatusDTO submitTask(TaskRequestDTO taskRequestDTO) {
+        if (!accepting) {
+            throw new ServiceUnavailableException(NOT_ACCEPTING_MESSAGE, retryAfter);
+        }
+        String token = UUID.randomUUID().toString();
+        TaskIngestStatusDTO pending = new TaskIngestStatusDTO(token, TaskIngestStatusDTO.State.PENDING, null, null);
+        // El estado se registra antes de encolar para que el escritor siempre encuentre la entrada a reemplazar.
+        statuses.put(token, pending);
+        if (!queue.offer(new PendingTask(token, taskRequestDTO))) {
+            statuses.invalidate(token);
+            throw new ServiceUnavailableException(QUEUE_FULL_MESSAGE, retryAfter);
+        }
+        return pending;
+    }
+
+    /**
+     * Obtiene el estado de una tarea aceptada.
+     *
+     * @param token El token de seguimiento devuelto al aceptar la tarea.
+     * @return TaskIngestStatusDTO El estado actual de la tarea.
+     * @throws NotFoundException Si el token no existe o su estado ya expiró.
+     */
+    @Override
+    public TaskIngestStatusDTO getIngestStatus(String token) {
+        TaskIngestStatusDTO status = statuses.getIfPresent(token);
+        if (status == null) {
+            throw new NotFoundException(TOKEN_NOT_FOUND_MESSAGE);
+        }
+        return status;
+    }
+
+    /**
+     * Inicia el hilo escritor si el modo asíncrono está activo.
+     */
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        writer = Thread.ofPlatform().name("task-ingest-writer").start(this::drain);
+    }
+
+    /**
+     * Deja de aceptar tareas y espera a que el hilo escritor guarde todas las que quedaban en la cola.
+     */
+    @Override
+    public void stop() {
+        accepting = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Ciclo del hilo escritor: arma lotes por tamaño o por tiempo y los guarda hasta que se detiene la aplicación
+     * y la cola queda vacía. La espera se hace en intervalos cortos para advertir enseguida la detención; en ese
+     * caso ya no se espera a completar el lote, porque todas las tareas pendientes están en la cola.
+     */
+    private void drain() {
+        List<PendingTask> batch = new ArrayList<>(maxBatchSize);
+        while (accepting || !queue.isEmpty()) {
+            PendingTask first = poll(POLL_INTERVAL_NANOS);
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + maxBatchDelay.toNanos();
+            while (batch.size() < maxBatchSize && accepting) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                PendingTask next = poll(Math.min(remaining, POLL_INTERVAL_NANOS));
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            }
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private PendingTask poll(long timeoutNanos) {
+        try {
+            return queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // La detención se controla con "accepting"; se sigue vaciando la cola.
+            return null;
+        }
+    }
+
+    /**
+     * Guarda un lote de tareas en una única transacción y actualiza el estado de cada una.
+     */
+    private void write(List<PendingTask> batch) {
+        List<TaskRequestDTO> requests = batch.stream().map(PendingTask::getRequest).toList();
+        try {
+            List<BatchItemResultDTO> results = taskService.createTasks(requests).getItems();
+            for (BatchItemResultDTO result : results) {
+                String token = batch.get(result.getIndex()).getToken();
+                statuses.put(token, result.getTask() != null
+                        ? new TaskIngestStatusDTO(token, TaskIngestStatusDTO.State.CREATED, result.getTask(), null)
+                        : new TaskIngestStatusDTO(token, TaskIngestStatusDTO.State.FAILED, null, result.getMessage()));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("No se pudo guardar un lote de {} tareas", batch.size(), e);
+            for (PendingTask pendingTask : batch) {
+                statuses.put(pendingTask.getToken(), new TaskIngestStatusDTO(
+                        pendingTask.getToken(), TaskIngestStatusDTO.State.FAILED, null, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Tarea aceptada a la espera de ser escrita.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class PendingTask {
+        private final String token;
+        private final TaskRequestDTO request;
+    }
+}
@@ -1,18 +1,49 @@
 package com.dh.TaskManager.service.impl;
 
+import com.dh.TaskManager.cache.TaskCache;
+import com.dh.TaskManager.cache.TaskIdFilter;
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskField;
+import com.dh.TaskManager.dto.TaskPageDTO;
+import com.dh.TaskManager.dto.TaskProjectionDTO;
 import com.dh.TaskManager.dto.TaskRequestDTO;
 import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
 import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.dto.TaskSearchHitDTO;
+import com.dh.TaskManager.dto.TaskSearchResultDTO;
+import com.dh.TaskManager.dto.TaskStatsDTO;
 import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.exception.BadRequestException;
 import com.dh.TaskManager.exception.NotFoundException;
-import com.dh.TaskManager.repository.ITaskRepository;
+import com.dh.TaskManager.exception.PreconditionFailedException;
+import com.dh.TaskManager.mapper.ITaskMapper;
+import com.dh.TaskManager.repository.ITaskStorage;
+import com.dh.TaskManager.repository.PartialWriteException;
+import com.dh.TaskManager.repository.TaskAggregate;
+import com.dh.TaskManager.repository.TaskSize;
+import com.dh.TaskManager.repository.TaskSummary;
+import com.dh.TaskManager.search.TaskSearchIndex;
 import com.dh.TaskManager.service.ITaskService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dh.TaskManager.stats.TaskStatistics;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación concreta del servicio de tareas que gestiona las operaciones relacionadas con las tareas.
@@ -20,22 +51,67 @@ import java.util.stream.Collectors;
 @Service
 public class TaskService implements ITaskService {
 
-    private final ITaskRepository taskRepository;
-    private final ObjectMapper objectMapper;
+    private final ITaskStorage taskRepository;
+    private final ITaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final TaskIdFilter taskIdFilter;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatistics taskStatistics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageLimit;
+    private final int maxPageLimit;
+    private final int maxBatchSize;
 
     /**
-     * Constructor de la clase TaskService que realiza la inyección de dependencias del repositorio de tareas y del ObjectMapper.
+     * Constructor de la clase TaskService que realiza la inyección de dependencias del repositorio de tareas y del mapeador de tareas.
      *
-     * @param taskRepository La implementación concreta del repositorio de tareas que se utilizará en el servicio.
-     *                       Se sigue el principio de inversión de dependencias al utilizar la interfaz ITaskRepository.
-     * @param objectMapper   El objeto ObjectMapper que se utilizará para mapear objetos a JSON y viceversa.
+     * @param taskRepository   La implementación concreta del almacenamiento de tareas que se utilizará en el servicio
+     *                         (el repositorio JPA o uno de los almacenamientos alternativos). Se sigue el principio
+     *                         de inversión de dependencias al utilizar la interfaz ITaskStorage.
+     * @param taskMapper       El mapeador que convierte las entidades Task a DTO y viceversa.
+     * @param entityManager    El EntityManager utilizado para desacoplar las tareas ya procesadas al recorrer un flujo.
+     * @param validator        El validador utilizado para validar cada elemento de las operaciones por lotes.
+     * @param taskCache        La caché de lectura de tareas por identificador.
+     * @param taskIdFilter     El filtro de identificadores existentes, que evita consultar tareas inexistentes.
+     * @param taskSearchIndex  El índice invertido utilizado para buscar tareas por texto.
+     * @param taskStatistics   Las estadísticas de las tareas mantenidas en memoria.
+     * @param eventPublisher   El publicador de los eventos TaskChangedEvent que se emiten al modificar tareas.
+     * @param defaultPageLimit La cantidad de tareas por página cuando la solicitud no indica un límite.
+     * @param maxPageLimit     La cantidad máxima de tareas por página que se permite solicitar.
+     * @param maxBatchSize     La cantidad máxima de elementos que se aceptan en una operación por lotes.
      */
-    public TaskService(ITaskRepository taskRepository, ObjectMapper objectMapper) {
+    public TaskService(ITaskStorage taskRepository, ITaskMapper taskMapper, EntityManager entityManager,
+                       Validator validator, TaskCache taskCache, TaskIdFilter taskIdFilter, TaskSearchIndex taskSearchIndex,
+                       TaskStatistics taskStatistics, ApplicationEventPublisher eventPublisher,
+                       @Value("${taskmanager.pagination.default-limit:50}") int defaultPageLimit,
+                       @Value("${taskmanager.pagination.max-limit:1000}") int maxPageLimit,
+                       @Value("${taskmanager.batch.max-size:1000}") int maxBatchSize) {
         this.taskRepository = taskRepository;
-        this.objectMapper = objectMapper;
+        this.taskMapper = taskMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.taskCache = taskCache;
+        this.taskIdFilter = taskIdFilter;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatistics = taskStatistics;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageLimit = defaultPageLimit;
+        this.maxPageLimit = maxPageLimit;
+        this.maxBatchSize = maxBatchSize;
     }
 
     private final String NOT_FOUND_MESSAGE = "No se encontró la tarea solicitada";
+    private final String INVALID_CURSOR_MESSAGE = "El cursor indicado no es válido";
+    private final String INVALID_LIMIT_MESSAGE = "El límite debe estar entre 1 y ";
+    private final String EMPTY_QUERY_MESSAGE = "La consulta de búsqueda no puede estar vacía";
+    private final String INVALID_PAGE_MESSAGE = "El número de página no puede ser negativo";
+    private final String BATCH_TOO_LARGE_MESSAGE = "La cantidad de elementos del lote no puede superar ";
+    private final String NULL_ITEM_MESSAGE = "El elemento no puede ser nulo";
+    private final String NULL_ID_MESSAGE = "El identificador de la tarea no puede ser nulo";
+    private final String VERSION_MISMATCH_MESSAGE = "La tarea fue modificada por otra solicitud";
+    private final String NOT_WRITTEN_MESSAGE = "No se pudo guardar el elemento; los demás elementos del lote se guardaron";
 
     /**
      * Crea una nueva tarea utilizando los datos proporcionados en el objeto TaskRequestDTO.
@@ -47,11 +123,15 @@ public class TaskService implements ITaskService {
     public TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO) {
         Task task = mapToEntity(taskRequestDTO);
         taskRepository.save(task);
-        return mapToDTO(task);
+        TaskResponseDTO taskResponseDTO = mapToDTO(task);
+        publishChange(TaskChangeType.CREATED, taskResponseDTO.getId(), taskResponseDTO);
+        return taskResponseDTO;
     }
 
     /**
      * Obtiene una tarea específica por su identificador.
+     * La lectura pasa por la caché de tareas, que solo consulta el repositorio cuando la tarea no está almacenada.
+     * Si el filtro de identificadores indica que la tarea no existe, no se consultan la caché ni el repositorio.
      *
      * @param id El identificador único de la tarea.
      * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea solicitada.
@@ -59,11 +139,70 @@ public class TaskService implements ITaskService {
      */
     @Override
     public TaskResponseDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id).orElseThrow(
+        checkMightExist(id);
+        return taskCache.get(id, this::findTaskById);
+    }
+
+    /**
+     * Obtiene una tarea específica por su identificador con solo los campos indicados.
+     * Si no se pide la descripción y la tarea no está en la caché, se consulta la proyección TaskSummary,
+     * que no selecciona la columna de la descripción.
+     *
+     * @param id     El identificador único de la tarea.
+     * @param fields Los campos que se deben incluir en la respuesta.
+     * @return TaskResponseDTO El objeto TaskResponseDTO con los campos pedidos y la versión de la tarea.
+     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     */
+    @Override
+    public TaskResponseDTO getTaskById(Long id, Set<TaskField> fields) {
+        checkMightExist(id);
+        if (fields.contains(TaskField.DESCRIPTION)) {
+            return project(getTaskById(id), fields);
+        }
+        TaskResponseDTO cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return project(cached, fields);
+        }
+        TaskSummary summary = taskRepository.findSummaryById(id).orElseThrow(
                 () -> new NotFoundException(NOT_FOUND_MESSAGE)
         );
-        return mapToDTO(task);
+        return project(summary, fields);
+    }
 
+    /**
+     * Obtiene la versión actual de una tarea sin convertirla a TaskResponseDTO.
+     * Si la tarea está en la caché se utiliza su versión; en caso contrario se consulta solo la columna de versión.
+     *
+     * @param id El identificador único de la tarea.
+     * @return Long La versión actual de la tarea.
+     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     */
+    @Override
+    public Long getTaskVersion(Long id) {
+        checkMightExist(id);
+        TaskResponseDTO cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return taskRepository.findVersionById(id).orElseThrow(
+                () -> new NotFoundException(NOT_FOUND_MESSAGE)
+        );
+    }
+
+    /**
+     * Obtiene un identificador de la versión del conjunto completo de tareas.
+     *      *
+     * Se calcula con una única consulta agregada (cantidad de tareas, mayor identificador y suma de versiones),
+     * sin leer ni convertir las tareas. Cualquier alta, baja o modificación produce un valor distinto. La consulta
+     * recorre toda la tabla, por lo que solo se utiliza para GET /tasks sin paginar, que de todos modos lee todas
+     * las tareas.
+     *
+     * @return String El identificador de la versión de la colección de tareas.
+     */
+    @Override
+    public String getTasksVersionTag() {
+        TaskAggregate aggregate = taskRepository.aggregate();
+        return aggregate.getCount() + "-" + aggregate.getMaxId() + "-" + aggregate.getVersionSum();
     }
 
     /**
@@ -81,6 +220,166 @@ public class TaskService implements ITaskService {
                 .toList(); // Recopila los resultados en una lista
     }
 
+    /**
+     * Obtiene una página de tareas utilizando paginación por cursor (keyset).
+     * En lugar de desplazarse con un OFFSET, la consulta continúa a partir del identificador codificado en el cursor,
+     * por lo que el costo de cada página es el mismo sin importar cuán avanzada esté la paginación.
+     *
+     * @param after Cursor opaco devuelto por la página anterior, o nulo para obtener la primera página.
+     * @param limit Cantidad máxima de tareas de la página, o nulo para utilizar el valor por defecto.
+     * @return TaskPageDTO La página de tareas junto con el cursor de la página siguiente.
+     * @throws BadRequestException Si el cursor o el límite no son válidos.
+     */
+    @Override
+    public TaskPageDTO getTasksPage(String after, Integer limit) {
+        return getTasksPage(after, limit, EnumSet.allOf(TaskField.class));
+    }
+
+    /**
+     * Obtiene una página de tareas con solo los campos indicados, utilizando paginación por cursor.
+     * Si no se pide la descripción, la página se lee con la proyección TaskSummary, que no selecciona esa columna.
+     *
+     * @param after  Cursor opaco devuelto por la página anterior, o nulo para obtener la primera página.
+     * @param limit  Cantidad máxima de tareas de la página, o nulo para utilizar el valor por defecto.
+     * @param fields Los campos que se deben incluir en cada tarea.
+     * @return TaskPageDTO La página de tareas junto con el cursor de la página siguiente.
+     * @throws BadRequestException Si el cursor o el límite no son válidos.
+     */
+    @Override
+    public TaskPageDTO getTasksPage(String after, Integer limit, Set<TaskField> fields) {
+        int pageLimit = limit == null ? defaultPageLimit : limit;
+        if (pageLimit < 1 || pageLimit > maxPageLimit) {
+            throw new BadRequestException(INVALID_LIMIT_MESSAGE + maxPageLimit);
+        }
+        long lastId = after == null ? 0L : decodeCursor(after);
+
+        // Se pide una tarea de más para saber si existe una página siguiente sin realizar un COUNT.
+        if (fields.contains(TaskField.DESCRIPTION)) {
+            List<Task> tasks = taskRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageLimit + 1));
+            return toPage(tasks, pageLimit, Task::getId, task -> project(mapToDTO(task), fields));
+        }
+        List<TaskSummary> summaries = taskRepository.findSummariesByIdGreaterThanOrderByIdAsc(lastId, Limit.of(pageLimit + 1));
+        return toPage(summaries, pageLimit, TaskSummary::getId, summary -> project(summary, fields));
+    }
+
+    /**
+     * Busca tareas por texto en su título y descripción utilizando el índice invertido.
+     * El índice resuelve la consulta y el orden por relevancia; luego se leen de la base de datos, con una única
+     * consulta, solo las tareas de la página pedida.
+     *
+     * @param query El texto a buscar. Cada palabra también coincide con las palabras que comienzan con ella.
+     * @param page  Número de página, comenzando en 0, o nulo para obtener la primera página.
+     * @param size  Cantidad máxima de resultados de la página, o nulo para utilizar el valor por defecto.
+     * @return TaskSearchResultDTO La cantidad total de coincidencias y las tareas de la página ordenadas por relevancia.
+     * @throws BadRequestException Si la consulta está vacía o la página o su tamaño no son válidos.
+     */
+    @Override
+    public TaskSearchResultDTO searchTasks(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException(EMPTY_QUERY_MESSAGE);
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new BadRequestException(INVALID_PAGE_MESSAGE);
+        }
+        int pageSize = size == null ? defaultPageLimit : size;
+        if (pageSize < 1 || pageSize > maxPageLimit) {
+            throw new BadRequestException(INVALID_LIMIT_MESSAGE + maxPageLimit);
+        }
+
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE - pageSize);
+        TaskSearchIndex.SearchResult result = taskSearchIndex.search(query, offset, pageSize);
+        Map<Long, Task> tasks = taskRepository.findAllById(
+                result.getHits().stream().map(TaskSearchIndex.SearchHit::getId).toList()
+        ).stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Una tarea eliminada entre la búsqueda y la lectura simplemente se omite de la página.
+        List<TaskSearchHitDTO> items = result.getHits().stream()
+                .filter(hit -> tasks.containsKey(hit.getId()))
+                .map(hit -> new TaskSearchHitDTO(mapToDTO(tasks.get(hit.getId())), hit.getScore()))
+                .toList();
+        return new TaskSearchResultDTO(result.getTotal(), pageNumber, pageSize, items);
+    }
+
+    /**
+     * Recorre todas las tareas disponibles entregándolas una a una al consumidor indicado.
+     *      *
+     * Las tareas se leen desde un cursor de la base de datos con un tamaño de lectura fijo y cada una se desacopla
+     * del contexto de persistencia una vez mapeada, de modo que el consumo de memoria se mantiene constante
+     * sin importar la cantidad de tareas.
+     *
+     * @param consumer El consumidor que recibe cada tarea convertida a TaskResponseDTO.
+     */
+    @Override
+    @Transactional
+    public void streamAllTasks(Consumer<TaskResponseDTO> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderedById()) {
+            tasks.forEach(task -> {
+                consumer.accept(mapToDTO(task));
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    /**
+     * Recorre todas las tareas disponibles con solo los campos indicados, entregándolas una a una al consumidor.
+     * Si no se pide la descripción, se recorre la proyección TaskSummary, que no selecciona esa columna y no
+     * carga entidades en el contexto de persistencia.
+     *
+     * @param fields   Los campos que se deben incluir en cada tarea.
+     * @param consumer El consumidor que recibe cada tarea convertida a TaskResponseDTO.
+     */
+    @Override
+    @Transactional
+    public void streamAllTasks(Set<TaskField> fields, Consumer<TaskResponseDTO> consumer) {
+        if (fields.contains(TaskField.DESCRIPTION)) {
+            streamAllTasks(task -> consumer.accept(project(task, fields)));
+            return;
+        }
+        try (Stream<TaskSummary> summaries = taskRepository.streamAllSummariesOrderedById()) {
+            summaries.forEach(summary -> consumer.accept(project(summary, fields)));
+        }
+    }
+
+    /**
+     * Recorre las longitudes del título y la descripción de todas las tareas, calculadas por la base de datos,
+     * sin leer los textos. Se utiliza para conciliar las estadísticas de las tareas.
+     *
+     * @param consumer El consumidor que recibe las longitudes de cada tarea.
+     */
+    @Override
+    @Transactional
+    public void streamAllTaskSizes(Consumer<TaskSize> consumer) {
+        try (Stream<TaskSize> sizes = taskRepository.streamAllSizes()) {
+            sizes.forEach(consumer);
+        }
+    }
+
+    /**
+     * Recorre los identificadores de todas las tareas sin leer las demás columnas. Se utiliza para cargar el filtro
+     * de identificadores existentes.
+     *
+     * @param consumer El consumidor que recibe el identificador de cada tarea.
+     */
+    @Override
+    @Transactional
+    public void streamAllTaskIds(LongConsumer consumer) {
+        try (Stream<Long> ids = taskRepository.streamAllIds()) {
+            ids.forEach(consumer::accept);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de las tareas a partir de los contadores mantenidos en memoria, sin consultar la base
+     * de datos. Los contadores se actualizan con cada alta, modificación y baja que confirma este servicio.
+     *
+     * @return TaskStatsDTO Las estadísticas de las tareas.
+     */
+    @Override
+    public TaskStatsDTO getTaskStats() {
+        return taskStatistics.snapshot();
+    }
+
     /**
      * Actualiza una tarea existente utilizando los datos proporcionados en el objeto TaskRequestToUpdateDTO.
      *      *
@@ -89,9 +388,9 @@ public class TaskService implements ITaskService {
      * indivisible, es decir, todas o ninguna. Si alguna operación de base de datos falla, la transacción
      * se revertirá y se desharán todos los cambios.
      *      *
-     * El método busca la tarea en la base de datos utilizando el identificador proporcionado en el objeto
-     * TaskRequestToUpdateDTO. Si la tarea existe, se actualizan sus datos con los valores proporcionados
-     * en el objeto TaskRequestToUpdateDTO, y luego se guarda la tarea actualizada en la base de datos.
+     * La tarea se actualiza con una única sentencia UPDATE por identificador, sin consultarla antes.
+     * Si la sentencia no afecta ninguna fila, la tarea no existe. Como la actualización reemplaza todos los
+     * campos, la respuesta se construye directamente a partir de la solicitud.
      *      *
      * @param taskRequestToUpdateDTO El objeto TaskRequestToUpdateDTO que contiene los datos actualizados de la tarea.
      * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea actualizada.
@@ -100,24 +399,453 @@ public class TaskService implements ITaskService {
     @Override
     @Transactional
     public TaskResponseDTO updateTask(TaskRequestToUpdateDTO taskRequestToUpdateDTO) {
-        getTaskById(taskRequestToUpdateDTO.getId());
-        return mapToDTO(taskRepository.save(mapToEntity(taskRequestToUpdateDTO)));
+        return updateTask(taskRequestToUpdateDTO, null);
+    }
+
+    /**
+     * Actualiza una tarea existente solo si su versión actual coincide con la indicada (bloqueo optimista).
+     *      *
+     * La comparación de versiones forma parte de la misma sentencia UPDATE, por lo que no se necesitan bloqueos.
+     * Solo cuando la sentencia no afecta ninguna fila se consulta si la tarea existe, para distinguir una tarea
+     * inexistente de una modificada por otra solicitud. Sin versión esperada, el almacenamiento devuelve la versión
+     * que escribió esta misma modificación, y no la de otra solicitud que modifique la tarea a continuación.
+     *
+     * @param taskRequestToUpdateDTO El objeto TaskRequestToUpdateDTO que contiene los datos actualizados de la tarea.
+     * @param expectedVersion        La versión que se espera que tenga la tarea, o nula para no verificarla.
+     * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea actualizada, con su versión nueva.
+     * @throws NotFoundException           Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws PreconditionFailedException Si la versión de la tarea no coincide con la esperada.
+     */
+    @Override
+    @Transactional
+    public TaskResponseDTO updateTask(TaskRequestToUpdateDTO taskRequestToUpdateDTO, Long expectedVersion) {
+        Long id = taskRequestToUpdateDTO.getId();
+        String title = taskRequestToUpdateDTO.getTitle();
+        String description = taskRequestToUpdateDTO.getDescription();
+
+        Long version;
+        if (expectedVersion == null) {
+            version = taskRepository.updateAndGetVersion(id, title, description)
+                    .orElseThrow(() -> new NotFoundException(NOT_FOUND_MESSAGE));
+        } else if (taskRepository.updateTitleAndDescriptionIfVersion(id, expectedVersion, title, description) == 0) {
+            throw versionConflictOrNotFound(id);
+        } else {
+            version = expectedVersion + 1;
+        }
+
+        TaskResponseDTO taskResponseDTO = mapToDTO(mapToEntity(taskRequestToUpdateDTO));
+        taskResponseDTO.setVersion(version);
+        publishChange(TaskChangeType.UPDATED, id, taskResponseDTO);
+        return taskResponseDTO;
+    }
+
+    /**
+     * Actualiza parcialmente una tarea existente: solo se modifican los campos no nulos del objeto recibido.
+     *      *
+     * La sentencia UPDATE incluye únicamente las columnas que cambian. Luego se lee la tarea una vez para
+     * devolverla completa; si no se indica ningún campo, solo se realiza esa lectura.
+     *
+     * @param taskRequestToUpdateDTO El objeto TaskRequestToUpdateDTO con el identificador y los campos a modificar.
+     * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea actualizada.
+     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     */
+    @Override
+    @Transactional
+    public TaskResponseDTO patchTask(TaskRequestToUpdateDTO taskRequestToUpdateDTO) {
+        return patchTask(taskRequestToUpdateDTO, null);
+    }
+
+    /**
+     * Actualiza parcialmente una tarea existente solo si su versión actual coincide con la indicada (bloqueo
+     * optimista). La comparación de versiones forma parte de la misma sentencia UPDATE, igual que en updateTask.
+     * Si no se indica ningún campo, solo se lee la tarea y se verifica su versión.
+     *
+     * @param taskRequestToUpdateDTO El objeto TaskRequestToUpdateDTO con el identificador y los campos a modificar.
+     * @param expectedVersion        La versión que se espera que tenga la tarea, o nula para no verificarla.
+     * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea actualizada.
+     * @throws NotFoundException           Si no se encuentra ninguna tarea con el identificador proporcionado.
+     * @throws PreconditionFailedException Si la versión de la tarea no coincide con la esperada.
+     */
+    @Override
+    @Transactional
+    public TaskResponseDTO patchTask(TaskRequestToUpdateDTO taskRequestToUpdateDTO, Long expectedVersion) {
+        Long id = taskRequestToUpdateDTO.getId();
+        String title = taskRequestToUpdateDTO.getTitle();
+        String description = taskRequestToUpdateDTO.getDescription();
+        if (title == null && description == null) {
+            TaskResponseDTO taskResponseDTO = findTaskById(id);
+            if (expectedVersion != null && !expectedVersion.equals(taskResponseDTO.getVersion())) {
+                throw new PreconditionFailedException(VERSION_MISMATCH_MESSAGE);
+            }
+            return taskResponseDTO;
+        }
+
+        if (expectedVersion == null) {
+            if (taskRepository.patchTask(id, title, description) == 0) {
+                throw new NotFoundException(NOT_FOUND_MESSAGE);
+            }
+        } else if (taskRepository.patchTaskIfVersion(id, expectedVersion, title, description) == 0) {
+            throw versionConflictOrNotFound(id);
+        }
+        TaskResponseDTO taskResponseDTO = findTaskById(id);
+        publishChange(TaskChangeType.UPDATED, id, taskResponseDTO);
+        return taskResponseDTO;
     }
 
     /**
      * Elimina una tarea por su identificador único.
+     * La tarea se elimina con una única sentencia DELETE; si no afecta ninguna fila, la tarea no existe. Si el
+     * filtro de identificadores indica que la tarea no existe, no se envía la sentencia.
      *
      * @param id Identificador único de la tarea a eliminar.
      *
      * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.     *
      */
     @Override
+    @Transactional
     public void deleteTaskById(Long id) {
-        // Busca la tarea en la base de datos utilizando el identificador proporcionado
-        getTaskById(id);
+        checkMightExist(id);
+        if (taskRepository.deleteTaskById(id) == 0) {
+            throw new NotFoundException(NOT_FOUND_MESSAGE);
+        }
+        publishChange(TaskChangeType.DELETED, id, null);
+    }
+
+    /**
+     * Crea varias tareas en una única transacción.
+     *      *
+     * Cada elemento se valida por separado: los elementos inválidos se informan con un estado 400 y no impiden
+     * que se guarden los demás. Como los identificadores se obtienen de una secuencia, Hibernate agrupa los INSERT
+     * en lotes JDBC del tamaño configurado en hibernate.jdbc.batch_size. Si el almacenamiento no es atómico (por
+     * ejemplo, el particionado) y guardó solo una parte de las tareas, las que no se guardaron se informan con un
+     * estado 500.
+     *
+     * @param taskRequestDTOs La lista de objetos TaskRequestDTO con los datos de las tareas a crear.
+     * @return BatchResponseDTO El resultado de cada elemento, con estado 201 para las tareas creadas.
+     * @throws BadRequestException Si el lote supera la cantidad máxima de elementos permitida.
+     */
+    @Override
+    @Transactional
+    public BatchResponseDTO createTasks(List<TaskRequestDTO> taskRequestDTOs) {
+        checkBatchSize(taskRequestDTOs);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[taskRequestDTOs.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < taskRequestDTOs.size(); i++) {
+            TaskRequestDTO taskRequestDTO = taskRequestDTOs.get(i);
+            String error = validate(taskRequestDTO);
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, 400, null, error);
+            } else {
+                indexes.add(i);
+                tasks.add(mapToEntity(taskRequestDTO));
+            }
+        }
+
+        PartialWriteException partialWrite = null;
+        try {
+            taskRepository.saveAll(tasks);
+        } catch (PartialWriteException e) {
+            partialWrite = e;
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            if (partialWrite != null && !partialWrite.wasWritten(tasks.get(i))) {
+                results[indexes.get(i)] = new BatchItemResultDTO(indexes.get(i), 500, null, NOT_WRITTEN_MESSAGE);
+                continue;
+            }
+            TaskResponseDTO taskResponseDTO = mapToDTO(tasks.get(i));
+            results[indexes.get(i)] = new BatchItemResultDTO(indexes.get(i), 201, taskResponseDTO, null);
+            publishChange(TaskChangeType.CREATED, taskResponseDTO.getId(), taskResponseDTO);
+        }
+        return toBatchResponse(results);
+    }
+
+    /**
+     * Actualiza varias tareas en una única transacción.
+     *      *
+     * Las tareas existentes se cargan con una sola consulta y se modifican dentro del contexto de persistencia;
+     * los UPDATE se envían agrupados en lotes JDBC al forzar la escritura (flush), antes de armar los resultados,
+     * de modo que los resultados y los eventos informan la versión nueva de cada tarea. Los elementos sin
+     * identificador se informan con un estado 400 y los que no existen con un estado 404. Si el almacenamiento no
+     * es atómico (por ejemplo, el particionado) y guardó solo una parte de las tareas, las que no se guardaron se
+     * informan con un estado 500 y no publican eventos.
+     *
+     * @param taskRequestToUpdateDTOs La lista de objetos TaskRequestToUpdateDTO con los datos actualizados.
+     * @return BatchResponseDTO El resultado de cada elemento, con estado 200 para las tareas actualizadas.
+     * @throws BadRequestException Si el lote supera la cantidad máxima de elementos permitida.
+     */
+    @Override
+    @Transactional
+    public BatchResponseDTO updateTasks(List<TaskRequestToUpdateDTO> taskRequestToUpdateDTOs) {
+        checkBatchSize(taskRequestToUpdateDTOs);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[taskRequestToUpdateDTOs.size()];
+
+        Set<Long> ids = taskRequestToUpdateDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskRequestToUpdateDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasksById = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Integer, Task> updatedTasks = new LinkedHashMap<>();
+
+        for (int i = 0; i < taskRequestToUpdateDTOs.size(); i++) {
+            TaskRequestToUpdateDTO taskRequestToUpdateDTO = taskRequestToUpdateDTOs.get(i);
+            String error = validate(taskRequestToUpdateDTO);
+            if (error == null && taskRequestToUpdateDTO.getId() == null) {
+                error = NULL_ID_MESSAGE;
+            }
+            if (error != null) {
+                results[i] = new BatchItemResultDTO(i, 400, null, error);
+                continue;
+            }
+
+            Task task = tasksById.get(taskRequestToUpdateDTO.getId());
+            if (task == null) {
+                results[i] = new BatchItemResultDTO(i, 404, null, NOT_FOUND_MESSAGE);
+                continue;
+            }
+            task.setTitle(taskRequestToUpdateDTO.getTitle());
+            task.setDescription(taskRequestToUpdateDTO.getDescription());
+            updatedTasks.put(i, task);
+        }
+        // Con JPA las entidades ya están en el contexto de persistencia y saveAll no agrega sentencias; los
+        // almacenamientos que no son JPA necesitan recibir las tareas modificadas para escribirlas. El flush envía
+        // los UPDATE y actualiza la versión de cada tarea antes de armar los resultados y publicar los eventos.
+        PartialWriteException partialWrite = null;
+        try {
+            taskRepository.saveAll(new LinkedHashSet<>(updatedTasks.values()));
+            taskRepository.flush();
+        } catch (PartialWriteException e) {
+            partialWrite = e;
+        }
+
+        for (Map.Entry<Integer, Task> updated : updatedTasks.entrySet()) {
+            int i = updated.getKey();
+            if (partialWrite != null && !partialWrite.wasWritten(updated.getValue())) {
+                results[i] = new BatchItemResultDTO(i, 500, null, NOT_WRITTEN_MESSAGE);
+                continue;
+            }
+            TaskResponseDTO taskResponseDTO = mapToDTO(updated.getValue());
+            results[i] = new BatchItemResultDTO(i, 200, taskResponseDTO, null);
+            publishChange(TaskChangeType.UPDATED, taskResponseDTO.getId(), taskResponseDTO);
+        }
+        return toBatchResponse(results);
+    }
+
+    /**
+     * Elimina varias tareas por sus identificadores en una única transacción.
+     *      *
+     * Primero se consulta cuáles de los identificadores existen y luego se eliminan todos con una única sentencia
+     * DELETE. Los identificadores nulos se informan con un estado 400 y los que no existen con un estado 404. Si el
+     * almacenamiento no es atómico y eliminó solo una parte de las tareas, las que no se eliminaron se informan con
+     * un estado 500.
+     *
+     * @param ids La lista de identificadores de las tareas a eliminar.
+     * @return BatchResponseDTO El resultado de cada elemento, con estado 204 para las tareas eliminadas.
+     * @throws BadRequestException Si el lote supera la cantidad máxima de elementos permitida.
+     */
+    @Override
+    @Transactional
+    public BatchResponseDTO deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[ids.size()];
+
+        Set<Long> existingIds = new HashSet<>(taskRepository.findExistingIds(
+                ids.stream().filter(Objects::nonNull).collect(Collectors.toSet())));
+        PartialWriteException partialWrite = null;
+        try {
+            taskRepository.deleteAllByIdInBatch(existingIds);
+        } catch (PartialWriteException e) {
+            partialWrite = e;
+            existingIds.removeIf(id -> !e.wasWritten(id));
+        }
+        existingIds.forEach(id -> publishChange(TaskChangeType.DELETED, id, null));
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = new BatchItemResultDTO(i, 400, null, NULL_ID_MESSAGE);
+            } else if (partialWrite != null && !partialWrite.wasWritten(id)) {
+                results[i] = new BatchItemResultDTO(i, 500, null, NOT_WRITTEN_MESSAGE);
+            } else if (existingIds.contains(id)) {
+                results[i] = new BatchItemResultDTO(i, 204, null, null);
+            } else {
+                results[i] = new BatchItemResultDTO(i, 404, null, NOT_FOUND_MESSAGE);
+            }
+        }
+        return toBatchResponse(results);
+    }
+
+    /**
+     * Busca una tarea en el repositorio y la convierte a TaskResponseDTO.
+     *
+     * @param id El identificador único de la tarea.
+     * @return TaskResponseDTO El objeto TaskResponseDTO correspondiente a la tarea encontrada.
+     * @throws NotFoundException Si no se encuentra ninguna tarea con el identificador proporcionado.
+     */
+    private TaskResponseDTO findTaskById(Long id) {
+        Task task = taskRepository.findById(id).orElseThrow(
+                () -> new NotFoundException(NOT_FOUND_MESSAGE)
+        );
+        return mapToDTO(task);
+    }
+
+    /**
+     * Obtiene la excepción que corresponde a una actualización condicional que no modificó ninguna fila: si la tarea
+     * existe, otra solicitud la modificó primero; si no, la tarea no existe.
+     *
+     * @param id El identificador único de la tarea.
+     * @return RuntimeException PreconditionFailedException o NotFoundException, según el caso.
+     */
+    private RuntimeException versionConflictOrNotFound(Long id) {
+        if (id != null && taskRepository.existsById(id)) {
+            return new PreconditionFailedException(VERSION_MISMATCH_MESSAGE);
+        }
+        return new NotFoundException(NOT_FOUND_MESSAGE);
+    }
+
+    /**
+     * Verifica con el filtro de identificadores que la tarea pueda existir, sin consultar el repositorio.
+     *
+     * @param id El identificador único de la tarea.
+     * @throws NotFoundException Si el filtro indica que la tarea no existe.
+     */
+    private void checkMightExist(Long id) {
+        if (!taskIdFilter.mightExist(id)) {
+            throw new NotFoundException(NOT_FOUND_MESSAGE);
+        }
+    }
 
-        // Si la tarea existe, actualiza sus datos y guarda la tarea actualizada en la base de datos
-        taskRepository.deleteById(id);
+    /**
+     * Publica un evento TaskChangedEvent. Los componentes que lo escuchan lo procesan
+     * una vez confirmada la transacción en curso, o de inmediato si no hay ninguna.
+     *
+     * @param type El tipo de cambio realizado.
+     * @param id   El identificador de la tarea modificada.
+     * @param task El estado de la tarea después del cambio, o nulo si fue eliminada.
+     */
+    private void publishChange(TaskChangeType type, Long id, TaskResponseDTO task) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, id, task));
+    }
+
+    /**
+     * Verifica que el lote no supere la cantidad máxima de elementos permitida.
+     *
+     * @param items Los elementos del lote.
+     * @throws BadRequestException Si el lote supera la cantidad máxima de elementos permitida.
+     */
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > maxBatchSize) {
+            throw new BadRequestException(BATCH_TOO_LARGE_MESSAGE + maxBatchSize);
+        }
+    }
+
+    /**
+     * Valida un elemento de un lote utilizando las anotaciones de Bean Validation de su DTO.
+     *
+     * @param item El elemento a validar.
+     * @return String El primer mensaje de error encontrado, o nulo si el elemento es válido.
+     */
+    private String validate(Object item) {
+        if (item == null) {
+            return NULL_ITEM_MESSAGE;
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    /**
+     * Construye la respuesta de una operación por lotes contando los elementos correctos y fallidos.
+     *
+     * @param results El resultado de cada elemento del lote.
+     * @return BatchResponseDTO La respuesta de la operación por lotes.
+     */
+    private BatchResponseDTO toBatchResponse(BatchItemResultDTO[] results) {
+        int failed = (int) Arrays.stream(results).filter(result -> result.getStatus() >= 400).count();
+        return new BatchResponseDTO(results.length - failed, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Construye una página a partir de las filas leídas, que incluyen una fila de más si existe una página siguiente.
+     * El cursor se obtiene del identificador de la fila, por lo que no depende de los campos pedidos.
+     *
+     * @param rows      Las filas leídas, como máximo pageLimit + 1.
+     * @param pageLimit La cantidad máxima de tareas de la página.
+     * @param idOf      La función que obtiene el identificador de una fila.
+     * @param mapper    La función que convierte una fila a TaskResponseDTO.
+     * @return TaskPageDTO La página de tareas junto con el cursor de la página siguiente.
+     */
+    private <T> TaskPageDTO toPage(List<T> rows, int pageLimit, Function<T, Long> idOf,
+                                   Function<T, TaskResponseDTO> mapper) {
+        boolean hasNext = rows.size() > pageLimit;
+        List<T> page = hasNext ? rows.subList(0, pageLimit) : rows;
+        List<TaskResponseDTO> items = page.stream().map(mapper).toList();
+        String nextCursor = hasNext ? encodeCursor(idOf.apply(page.get(page.size() - 1))) : null;
+        return new TaskPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Copia en un nuevo TaskProjectionDTO solo los campos indicados y la versión. Si se piden todos los campos se
+     * devuelve el mismo objeto, que puede provenir de la caché y por eso nunca se modifica.
+     *
+     * @param task   La tarea completa.
+     * @param fields Los campos que se deben incluir.
+     * @return TaskResponseDTO La tarea completa, o su proyección con solo los campos pedidos.
+     */
+    private static TaskResponseDTO project(TaskResponseDTO task, Set<TaskField> fields) {
+        if (TaskField.isAll(fields)) {
+            return task;
+        }
+        TaskProjectionDTO projected = new TaskProjectionDTO(fields);
+        projected.setId(fields.contains(TaskField.ID) ? task.getId() : null);
+        projected.setTitle(fields.contains(TaskField.TITLE) ? task.getTitle() : null);
+        projected.setDescription(fields.contains(TaskField.DESCRIPTION) ? task.getDescription() : null);
+        projected.setVersion(task.getVersion());
+        return projected;
+    }
+
+    /**
+     * Convierte una proyección TaskSummary a un TaskProjectionDTO con solo los campos indicados y la versión.
+     *
+     * @param summary La proyección de la tarea, sin descripción.
+     * @param fields  Los campos que se deben incluir.
+     * @return TaskResponseDTO La proyección de la tarea con solo los campos pedidos.
+     */
+    private static TaskResponseDTO project(TaskSummary summary, Set<TaskField> fields) {
+        TaskProjectionDTO projected = new TaskProjectionDTO(fields);
+        projected.setId(fields.contains(TaskField.ID) ? summary.getId() : null);
+        projected.setTitle(fields.contains(TaskField.TITLE) ? summary.getTitle() : null);
+        projected.setVersion(summary.getVersion());
+        return projected;
+    }
+
+    /**
+     * Codifica el identificador de una tarea como un cursor opaco.
+     *
+     * @param id El identificador de la última tarea de una página.
+     * @return String El cursor codificado en Base64 apto para URLs.
+     */
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica un cursor opaco y obtiene el identificador de la última tarea de la página anterior.
+     *
+     * @param cursor El cursor recibido en la solicitud.
+     * @return long El identificador codificado en el cursor.
+     * @throws BadRequestException Si el cursor no fue generado por este servicio.
+     */
+    private long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+        }
     }
 
     /**
@@ -127,7 +855,7 @@ public class TaskService implements ITaskService {
      * @return TaskResponseDTO El objeto TaskResponseDTO resultante de la conversión.
      */
     private TaskResponseDTO mapToDTO(Task task) {
-        return objectMapper.convertValue(task, TaskResponseDTO.class);
+        return taskMapper.toResponseDTO(task);
     }
 
     /**
@@ -137,7 +865,7 @@ public class TaskService implements ITaskService {
      * @return Task El objeto Task resultante de la conversión.
      */
     private Task mapToEntity(TaskRequestDTO taskRequestDTO) {
-        return objectMapper.convertValue(taskRequestDTO, Task.class);
+        return taskMapper.toEntity(taskRequestDTO);
     }
 
     /**
@@ -147,6 +875,6 @@ public class TaskService implements ITaskService {
      * @return Task El objeto Task resultante de la conversión.
      */
     private Task mapToEntity(TaskRequestToUpdateDTO taskRequestUpdateDTO) {
-        return objectMapper.convertValue(taskRequestUpdateDTO, Task.class);
+        return taskMapper.toEntity(taskRequestUpdateDTO);
     }
 }
@@ -0,0 +1,151 @@
+package com.dh.TaskManager.sqllog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de sentencias SQL para producción: las sentencias que superan slow-threshold se registran con nivel WARN
+ * y, opcionalmente, una muestra al azar del resto (sample-rate) con nivel INFO. Cada línea incluye la duración, el
+ * método de TaskService que ejecutó la sentencia, la sentencia y sus parámetros.
+ *      *
+ * El registro es asíncrono: el hilo de la solicitud solo encola la sentencia y un único hilo propio da formato a la
+ * línea y la escribe. La cola está acotada y nunca bloquea; si está llena la sentencia se descarta y se cuenta en
+ * taskmanager.sql-log.dropped. Se activa con taskmanager.sql-log.enabled (por ejemplo, con el perfil prod) y se
+ * alimenta desde SqlLogDataSource.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.sql-log.enabled", havingValue = "true")
+public class SqlLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlLog.class);
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxParameterLength;
+    private final ThreadPoolExecutor writer;
+    private final Counter slow;
+    private final Counter dropped;
+
+    /**
+     * Constructor de la clase SqlLog que lee la configuración y crea el hilo escritor.
+     *
+     * @param slowThreshold      La duración a partir de la cual una sentencia se registra como lenta.
+     * @param sampleRate         La proporción (entre 0 y 1) de las demás sentencias que se registran; 0 no registra ninguna.
+     * @param queueCapacity      La cantidad máxima de sentencias a la espera de ser escritas.
+     * @param maxParameterLength La longitud máxima con la que se registra cada parámetro; el resto se recorta.
+     * @param meterRegistry      El registro de métricas donde se publican las sentencias lentas y las descartadas.
+     */
+    public SqlLog(@Value("${taskmanager.sql-log.slow-threshold:100ms}") Duration slowThreshold,
+                  @Value("${taskmanager.sql-log.sample-rate:0}") double sampleRate,
+                  @Value("${taskmanager.sql-log.queue-capacity:10000}") int queueCapacity,
+                  @Value("${taskmanager.sql-log.max-parameter-length:200}") int maxParameterLength,
+                  MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxParameterLength = maxParameterLength;
+        this.slow = Counter.builder("taskmanager.sql-log.slow")
+                .description("Sentencias SQL que superaron el umbral de sentencia lenta")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("taskmanager.sql-log.dropped")
+                .description("Sentencias SQL que no se registraron porque la cola del registro estaba llena")
+                .register(meterRegistry);
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("sql-log-writer").daemon().factory(), (entry, executor) -> dropped.increment());
+    }
+
+    /**
+     * Registra una sentencia ejecutada si es lenta o si resulta elegida en la muestra. Nunca bloquea.
+     *
+     * @param sql            La sentencia.
+     * @param parameters     Los parámetros de la sentencia por posición (el primero es el parámetro 1). Solo se
+     *                       copian si la sentencia se registra.
+     * @param parameterCount La cantidad de parámetros asignados.
+     * @param batchSize      La cantidad de sentencias del lote, o 0 si no se ejecutó en lote.
+     * @param caller         El método de TaskService que ejecutó la sentencia, o nulo si no se conoce.
+     * @param durationNanos  La duración de la ejecución.
+     * @param failure        El nombre de la excepción lanzada por la ejecución, o nulo si terminó bien.
+     */
+    public void record(String sql, Object[] parameters, int parameterCount, int batchSize, String caller,
+                       long durationNanos, String failure) {
+        boolean isSlow = durationNanos >= slowThresholdNanos;
+        if (!isSlow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (isSlow) {
+            slow.increment();
+        }
+        Object[] copy = Arrays.copyOf(parameters, parameterCount);
+        writer.execute(() -> write(isSlow, sql, copy, batchSize, caller, durationNanos, failure));
+    }
+
+    /**
+     * Detiene el hilo escritor después de escribir las sentencias encoladas.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void write(boolean isSlow, String sql, Object[] parameters, int batchSize, String caller,
+                       long durationNanos, String failure) {
+        StringBuilder line = new StringBuilder(isSlow ? "SQL lento " : "SQL ")
+                .append(String.format("%.1f ms", durationNanos / 1_000_000d))
+                .append(" en ").append(caller == null ? "(sin método de servicio)" : caller);
+        if (batchSize > 0) {
+            line.append(" (lote de ").append(batchSize).append(')');
+        }
+        if (failure != null) {
+            line.append(" con error ").append(failure);
+        }
+        line.append(": ").append(sql);
+        if (parameters.length > 0) {
+            StringJoiner joiner = new StringJoiner(", ", " | parámetros: [", "]");
+            for (int i = 0; i < parameters.length; i++) {
+                joiner.add((i + 1) + "=" + format(parameters[i]));
+            }
+            line.append(joiner);
+        }
+        if (isSlow) {
+            LOGGER.warn(line.toString());
+        } else {
+            LOGGER.info(line.toString());
+        }
+    }
+
+    /**
+     * Da formato a un parámetro. Solo se muestra el valor de los tipos simples; de los demás (por ejemplo,
+     * flujos o LOB) se muestra el tipo, para no leerlos ni retenerlos.
+     */
+    private String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            String text = value.toString();
+            return "'" + (text.length() > maxParameterLength ? text.substring(0, maxParameterLength) + "…" : text) + "'";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Temporal || value instanceof Date
+                || value instanceof Enum<?> || value instanceof UUID) {
+            return value.toString();
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+}
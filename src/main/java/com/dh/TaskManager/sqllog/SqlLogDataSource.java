@@ -0,0 +1,172 @@
+package com.dh.TaskManager.sqllog;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que mide la ejecución de cada sentencia JDBC y la entrega a SqlLog junto con sus parámetros y el
+ * método de TaskService en curso (ver SqlLogServiceAspect).
+ *      *
+ * Envuelve las conexiones y las sentencias que estas crean; los parámetros se capturan al asignarse con los
+ * métodos set del PreparedStatement (en un lote, se registran los del último elemento agregado). En el hilo de la
+ * solicitud solo se mide la ejecución y, si SqlLog la elige, se copian los parámetros; el formato y la escritura se
+ * hacen en el hilo de SqlLog.
+ */
+public class SqlLogDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private final Supplier<SqlLog> sqlLogProvider;
+    private volatile SqlLog sqlLog;
+
+    /**
+     * Constructor de la clase SqlLogDataSource.
+     *
+     * @param targetDataSource El DataSource real.
+     * @param sqlLog           Proveedor del registro de sentencias. Se consulta recién al ejecutar la primera
+     *                         sentencia, para no adelantar la creación de SqlLog y sus dependencias.
+     */
+    public SqlLogDataSource(DataSource targetDataSource, Supplier<SqlLog> sqlLog) {
+        super(targetDataSource);
+        this.sqlLogProvider = sqlLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return logging(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return logging(super.getConnection(username, password));
+    }
+
+    /**
+     * Envuelve la conexión para que las sentencias que crea se registren.
+     */
+    private Connection logging(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return statementProxy(CallableStatement.class, statement, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return statementProxy(PreparedStatement.class, statement, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return statementProxy(Statement.class, statement, null);
+                    }
+                    return result;
+                });
+    }
+
+    private SqlLog sqlLog() {
+        SqlLog log = sqlLog;
+        if (log == null) {
+            log = sqlLogProvider.get();
+            sqlLog = log;
+        }
+        return log;
+    }
+
+    private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new StatementHandler(statement, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Registra los parámetros asignados a una sentencia y mide sus ejecuciones. Una sentencia JDBC se usa desde un
+     * solo hilo a la vez, por lo que el estado no necesita sincronización.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+        private Object[] parameters = NO_PARAMETERS;
+        private int parameterCount;
+        private int batchSize;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                setParameter(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameterCount = 0;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            return SqlLogDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String statementSql ? statementSql : sql;
+            String failure = null;
+            long start = System.nanoTime();
+            try {
+                return SqlLogDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                failure = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                long durationNanos = System.nanoTime() - start;
+                int executedBatchSize = method.getName().endsWith("Batch") ? batchSize : 0;
+                sqlLog().record(executed, parameters, parameterCount, executedBatchSize,
+                        SqlLogServiceAspect.CALLER.get(), durationNanos, failure);
+                if (executedBatchSize > 0) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private void setParameter(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            if (index > parameterCount) {
+                Arrays.fill(parameters, parameterCount, index - 1, null);
+                parameterCount = index;
+            }
+            parameters[index - 1] = value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dh.TaskManager.sqllog;
+
+import com.dh.TaskManager.datasource.ConcurrencyLimitedDataSourcePostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource de la aplicación en un SqlLogDataSource, de modo que las sentencias que ejecutan JPA y el
+ * resto de los componentes pasen por el registro de sentencias.
+ *      *
+ * Se aplica después de ConcurrencyLimitedDataSourcePostProcessor, por lo que envuelve al DataSource con el límite
+ * de concurrencia y no al grupo de conexiones.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.sql-log.enabled", havingValue = "true")
+public class SqlLogDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<SqlLog> sqlLog;
+
+    /**
+     * Constructor de la clase SqlLogDataSourcePostProcessor.
+     *
+     * @param sqlLog Proveedor del registro de sentencias. Se resuelve de forma diferida, ya que los BeanPostProcessor
+     *               se crean antes que el resto de los componentes.
+     */
+    public SqlLogDataSourcePostProcessor(ObjectProvider<SqlLog> sqlLog) {
+        this.sqlLog = sqlLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlLogDataSource)) {
+            return new SqlLogDataSource(dataSource, sqlLog::getObject);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ConcurrencyLimitedDataSourcePostProcessor.ORDER + 1;
+    }
+}
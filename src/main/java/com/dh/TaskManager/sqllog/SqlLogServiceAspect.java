@@ -0,0 +1,61 @@
+package com.dh.TaskManager.sqllog;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspecto que registra, durante cada operación de ITaskService, el método en curso, para que SqlLogDataSource pueda
+ * indicar qué método ejecutó cada sentencia.
+ *      *
+ * Tiene la mayor precedencia, de modo que envuelve también a la transacción: las sentencias que Hibernate envía al
+ * confirmarla (por ejemplo, los lotes de INSERT) se atribuyen al método que la inició. Si una operación llama a otra
+ * a través del proxy, durante la llamada interna se registra la interna y luego se restaura la externa.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "taskmanager.sql-log.enabled", havingValue = "true")
+public class SqlLogServiceAspect {
+
+    /**
+     * El método de TaskService en curso en cada hilo, o nulo si no hay ninguno.
+     */
+    static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Registra el método en curso mientras dura la operación.
+     *
+     * @param joinPoint La invocación interceptada.
+     * @return Object El resultado de la operación.
+     * @throws Throwable La excepción lanzada por la operación, sin modificar.
+     */
+    @Around("execution(* com.dh.TaskManager.service.ITaskService.*(..))")
+    public Object trackCaller(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = names.computeIfAbsent(method,
+                key -> joinPoint.getTarget().getClass().getSimpleName() + "." + key.getName());
+        String previous = CALLER.get();
+        CALLER.set(name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                CALLER.remove();
+            } else {
+                CALLER.set(previous);
+            }
+        }
+    }
+}
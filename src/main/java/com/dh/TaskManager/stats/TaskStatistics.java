@@ -0,0 +1,270 @@
+package com.dh.TaskManager.stats;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.dto.TaskSizeBucketDTO;
+import com.dh.TaskManager.dto.TaskStatsDTO;
+import com.dh.TaskManager.dto.TaskTextStatsDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.repository.TaskSize;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Estadísticas de las tareas mantenidas en memoria: cantidad total, altas, modificaciones y bajas en una ventana de
+ * tiempo y distribución de las longitudes del título y la descripción.
+ *      *
+ * Se actualizan con cada evento TaskChangedEvent una vez confirmada la transacción, por lo que leerlas no consulta
+ * la base de datos y su costo no depende de la cantidad de tareas. Los contadores son LongAdder, que reparten las
+ * actualizaciones concurrentes entre varias celdas en lugar de competir por una sola variable.
+ *      *
+ * Para poder descontar una tarea al modificarla o eliminarla se guardan las longitudes de cada tarea, empaquetadas
+ * en un long por tarea en un mapa concurrente. Al iniciar la aplicación y periódicamente las estadísticas se concilian con el repositorio (ver
+ * TaskStatisticsReconciler), lo que corrige cualquier diferencia con cambios hechos por fuera de la aplicación.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final int BUCKETS = Integer.SIZE + 1;
+    // Marca de la conciliación que registró cada valor, para descartar al final las tareas que no se leyeron.
+    private static final long GENERATION_BIT = 1L << 62;
+    private static final long TITLE_MASK = (1L << 30) - 1;
+    private static final long DESCRIPTION_MASK = (1L << 32) - 1;
+
+    private final Map<Long, Long> sizes = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+    private final TextStats title = new TextStats();
+    private final TextStats description = new TextStats();
+    private final WindowCounter created;
+    private final WindowCounter updated;
+    private final WindowCounter deleted;
+    private final Duration window;
+
+    private volatile long generation;
+    private volatile Set<Long> changedDuringReconcile;
+    private volatile Instant reconciledAt;
+
+    /**
+     * Constructor de la clase TaskStatistics que lee la configuración.
+     *
+     * @param window        La duración de la ventana de los contadores de altas, modificaciones y bajas.
+     * @param windowBuckets La cantidad de intervalos en que se divide la ventana; la ventana avanza de a un intervalo.
+     */
+    public TaskStatistics(@Value("${taskmanager.stats.window:1h}") Duration window,
+                          @Value("${taskmanager.stats.window-buckets:60}") int windowBuckets) {
+        this.window = window;
+        this.created = new WindowCounter(window, windowBuckets);
+        this.updated = new WindowCounter(window, windowBuckets);
+        this.deleted = new WindowCounter(window, windowBuckets);
+    }
+
+    /**
+     * Actualiza las estadísticas cuando se confirma el alta, la modificación o la baja de una tarea.
+     *
+     * @param event El evento con el cambio realizado sobre la tarea.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> created.increment();
+            case UPDATED -> updated.increment();
+            case DELETED -> deleted.increment();
+        }
+        TaskResponseDTO task = event.getTask();
+        long lengths = task == null ? 0 : pack(length(task.getTitle()), length(task.getDescription()));
+        sizes.compute(event.getId(), (id, previous) -> {
+            Set<Long> changed = changedDuringReconcile;
+            if (changed != null) {
+                changed.add(id);
+            }
+            return apply(previous, event.getType() == TaskChangeType.DELETED ? null : lengths | generation);
+        });
+    }
+
+    /**
+     * Concilia las estadísticas con las tareas existentes en el repositorio.
+     *      *
+     * Cada tarea leída reemplaza a la registrada, salvo que haya cambiado mientras dura la conciliación, ya que la
+     * lectura puede corresponder a una versión anterior. Al terminar se descartan las tareas registradas que no se
+     * leyeron ni cambiaron, es decir, las eliminadas por fuera de la aplicación. Las estadísticas se pueden leer
+     * mientras tanto. Los contadores de la ventana de tiempo no se concilian.
+     *
+     * @param source Función que recorre las longitudes de todas las tareas entregándolas al consumidor indicado.
+     */
+    public synchronized void reconcile(Consumer<Consumer<TaskSize>> source) {
+        long previousGeneration = generation;
+        long currentGeneration = previousGeneration ^ GENERATION_BIT;
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringReconcile = changed;
+        // A partir de aquí las tareas leídas y las que cambian quedan marcadas con la nueva generación.
+        generation = currentGeneration;
+        try {
+            source.accept(size -> {
+                Long current = pack(size.getTitleLength(), size.getDescriptionLength()) | currentGeneration;
+                sizes.compute(size.getId(), (id, previous) -> changed.contains(id) ? previous : apply(previous, current));
+            });
+            for (Long id : sizes.keySet()) {
+                sizes.computeIfPresent(id, (key, previous) ->
+                        (previous & GENERATION_BIT) == previousGeneration ? apply(previous, null) : previous);
+            }
+            reconciledAt = Instant.now();
+        } finally {
+            changedDuringReconcile = null;
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas actuales. El costo es constante: solo se suman los contadores.
+     *
+     * @return TaskStatsDTO Las estadísticas de las tareas.
+     */
+    public TaskStatsDTO snapshot() {
+        long total = count.sum();
+        return new TaskStatsDTO(total, window.toSeconds(), created.sum(), updated.sum(), deleted.sum(),
+                title.toDTO(total), description.toDTO(total), reconciledAt);
+    }
+
+    /**
+     * Reemplaza las longitudes registradas de una tarea y actualiza los contadores. Se llama dentro de compute(),
+     * por lo que los cambios sobre una misma tarea se aplican de a uno.
+     *
+     * @param previous Las longitudes registradas, o nulo si la tarea no estaba registrada.
+     * @param current  Las nuevas longitudes, con la marca de generación, o nulo si la tarea se eliminó.
+     * @return Long El valor a guardar para la tarea.
+     */
+    private Long apply(Long previous, Long current) {
+        if (previous != null) {
+            title.remove(titleLength(previous));
+            description.remove(descriptionLength(previous));
+        } else if (current != null) {
+            count.increment();
+        }
+        if (current != null) {
+            title.add(titleLength(current));
+            description.add(descriptionLength(current));
+            return current;
+        }
+        if (previous != null) {
+            count.decrement();
+        }
+        return null;
+    }
+
+    private static long pack(long titleLength, long descriptionLength) {
+        return (Math.min(titleLength, TITLE_MASK) << 32) | Math.min(descriptionLength, DESCRIPTION_MASK);
+    }
+
+    private static long titleLength(long packed) {
+        return (packed >>> 32) & TITLE_MASK;
+    }
+
+    private static long descriptionLength(long packed) {
+        return packed & DESCRIPTION_MASK;
+    }
+
+    private static long length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    /**
+     * Índice del intervalo de longitudes: 0 para la longitud 0 y, a partir de allí, potencias de dos
+     * (1, 2-3, 4-7, 8-15, ...).
+     */
+    private static int bucket(long length) {
+        return Long.SIZE - Long.numberOfLeadingZeros(length);
+    }
+
+    /**
+     * Suma y distribución de longitudes de un campo de texto.
+     */
+    private static final class TextStats {
+        private final LongAdder totalLength = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        private TextStats() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void add(long length) {
+            totalLength.add(length);
+            buckets[bucket(length)].increment();
+        }
+
+        private void remove(long length) {
+            totalLength.add(-length);
+            buckets[bucket(length)].decrement();
+        }
+
+        private TaskTextStatsDTO toDTO(long count) {
+            long total = totalLength.sum();
+            List<TaskSizeBucketDTO> distribution = new ArrayList<>();
+            for (int i = 0; i < BUCKETS; i++) {
+                long tasks = buckets[i].sum();
+                if (tasks > 0) {
+                    long min = i == 0 ? 0 : 1L << (i - 1);
+                    distribution.add(new TaskSizeBucketDTO(min, i == 0 ? 0 : (1L << i) - 1, tasks));
+                }
+            }
+            return new TaskTextStatsDTO(total, count == 0 ? 0 : (double) total / count, distribution);
+        }
+    }
+
+    /**
+     * Contador de eventos en una ventana de tiempo deslizante, dividida en intervalos fijos. Cada intervalo guarda
+     * su número de época; al incrementar un intervalo de una época anterior se reinicia. La suma incluye los
+     * intervalos de las épocas que caen dentro de la ventana, incluido el actual, que está en curso.
+     *      *
+     * El reinicio no es atómico con los incrementos concurrentes: un incremento que coincide con el cambio de
+     * intervalo se puede perder, lo cual es aceptable para un contador de actividad.
+     */
+    private static final class WindowCounter {
+        private final long bucketNanos;
+        private final LongAdder[] counts;
+        private final AtomicLongArray epochs;
+
+        private WindowCounter(Duration window, int buckets) {
+            this.bucketNanos = Math.max(1, window.toNanos() / buckets);
+            this.counts = new LongAdder[buckets];
+            this.epochs = new AtomicLongArray(buckets);
+            for (int i = 0; i < buckets; i++) {
+                counts[i] = new LongAdder();
+                epochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        private void increment() {
+            long epoch = Math.floorDiv(System.nanoTime(), bucketNanos);
+            int index = Math.floorMod(epoch, counts.length);
+            long current = epochs.get(index);
+            if (current != epoch && epochs.compareAndSet(index, current, epoch)) {
+                counts[index].reset();
+            }
+            counts[index].increment();
+        }
+
+        private long sum() {
+            long epoch = Math.floorDiv(System.nanoTime(), bucketNanos);
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (epoch - epochs.get(i) < counts.length) {
+                    sum += counts[i].sum();
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dh.TaskManager.stats;
+
+import com.dh.TaskManager.service.ITaskService;
+import com.dh.TaskManager.service.impl.TaskService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concilia las estadísticas de las tareas con el repositorio cuando la aplicación termina de iniciar y luego
+ * periódicamente, en un hilo propio.
+ */
+@Component
+public class TaskStatisticsReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskStatisticsReconciler.class);
+
+    private final ITaskService taskService;
+    private final TaskStatistics taskStatistics;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-stats-reconciler").daemon().factory());
+
+    /**
+     * Constructor de la clase TaskStatisticsReconciler que realiza la inyección de dependencias.
+     *
+     * @param taskService    El servicio de tareas utilizado para recorrer las longitudes de las tareas existentes.
+     * @param taskStatistics Las estadísticas a conciliar.
+     * @param interval       Cada cuánto se concilian las estadísticas; cero solo las concilia al iniciar.
+     */
+    public TaskStatisticsReconciler(TaskService taskService, TaskStatistics taskStatistics,
+                                    @Value("${taskmanager.stats.reconcile-interval:10m}") Duration interval) {
+        this.taskService = taskService;
+        this.taskStatistics = taskStatistics;
+        this.interval = interval;
+    }
+
+    /**
+     * Concilia las estadísticas al iniciar y programa las conciliaciones periódicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LOGGER.info("Estadísticas de tareas conciliadas en {} ms", reconcile());
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::reconcileSafely, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Detiene las conciliaciones periódicas.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private long reconcile() {
+        long start = System.nanoTime();
+        taskStatistics.reconcile(taskService::streamAllTaskSizes);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void reconcileSafely() {
+        try {
+            LOGGER.debug("Estadísticas de tareas conciliadas en {} ms", reconcile());
+        } catch (RuntimeException e) {
+            LOGGER.warn("No se pudieron conciliar las estadísticas de tareas", e);
+        }
+    }
+}
@@ -0,0 +1,639 @@
+package com.dh.TaskManager.storage;
+
+import com.dh.TaskManager.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Motor de almacenamiento de tareas basado en un registro de solo escritura al final (append-only) mapeado en memoria.
+ *      *
+ * Las tareas se guardan en archivos de segmento de tamaño fijo (tasks-0000000001.log, ...) que se mapean en memoria
+ * completos. Cada alta, modificación o baja agrega un registro al final del segmento activo; cuando no hay lugar se
+ * abre un segmento nuevo. Un índice primario en memoria (identificador → ubicación del último registro) permite leer
+ * cualquier tarea directamente desde el archivo mapeado, sin consultas ni conversiones intermedias.
+ *      *
+ * Formato de cada registro: longitud (int), CRC32C del contenido (int) y contenido: tipo (PUT o DELETE), identificador
+ * y, para PUT, versión, título y descripción en UTF-8. Cada segmento empieza con un encabezado con el próximo
+ * identificador a asignar al momento de crearlo, de modo que los identificadores nunca se reutilizan.
+ *      *
+ * Al abrir el almacenamiento se recorren los segmentos en orden reconstruyendo el índice. El recorrido se detiene en
+ * el primer registro incompleto o con un CRC inválido (una escritura interrumpida por una caída): ese registro y lo
+ * que le sigue se descartan y se pone en cero, y las escrituras continúan desde ese punto.
+ *      *
+ * Las modificaciones y bajas dejan registros obsoletos. Una tarea en segundo plano compacta los segmentos cerrados cuya
+ * proporción de bytes obsoletos supera el umbral configurado: copia al segmento activo los registros que siguen
+ * vigentes y elimina el archivo. Las bajas (tombstones) se copian también, salvo en el segmento más antiguo, para que
+ * una tarea eliminada no reaparezca desde un segmento anterior al reconstruir el índice.
+ *      *
+ * Las escrituras se serializan con un único bloqueo; las lecturas no toman bloqueos.
+ */
+public class MappedTaskStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedTaskStore.class);
+
+    private static final int MAGIC = 0x5441534B;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int NULL_LENGTH = -1;
+    private static final String SEGMENT_PREFIX = "tasks-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnWrite;
+    private final Duration compactionInterval;
+    private final double compactionThreshold;
+
+    private final ConcurrentSkipListMap<Long, Location> index = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final ScheduledExecutorService compactor;
+
+    private Segment active;
+    private long nextId = 1;
+    private volatile long versionSum;
+
+    /**
+     * Abre (o crea) el almacenamiento en el directorio indicado y reconstruye el índice a partir de los segmentos.
+     * La compactación en segundo plano no empieza hasta llamar a {@link #start()}.
+     *
+     * @param directory           El directorio donde se guardan los segmentos.
+     * @param segmentSize         El tamaño de cada archivo de segmento, en bytes.
+     * @param forceOnWrite        Indica si cada escritura se fuerza al disco antes de confirmarse. Sin esta opción
+     *                            los datos sobreviven a una caída del proceso, pero no necesariamente a una del sistema.
+     * @param compactionInterval  Cada cuánto se buscan segmentos para compactar, o cero para no compactar en segundo plano.
+     * @param compactionThreshold La proporción de bytes obsoletos a partir de la cual se compacta un segmento.
+     */
+    public MappedTaskStore(Path directory, int segmentSize, boolean forceOnWrite, Duration compactionInterval,
+                           double compactionThreshold) {
+        if (segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("El tamaño de segmento es demasiado chico: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnWrite = forceOnWrite;
+        this.compactionInterval = compactionInterval;
+        this.compactionThreshold = compactionThreshold;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        compactor = compactionInterval.isZero() ? null : Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("task-store-compactor").daemon().factory());
+    }
+
+    /**
+     * Programa la compactación en segundo plano, si tiene un intervalo configurado. Se llama una sola vez, una vez
+     * construido el almacenamiento, para que la tarea programada nunca vea un objeto a medio inicializar.
+     */
+    public void start() {
+        if (compactor != null) {
+            compactor.scheduleWithFixedDelay(this::compactSafely, compactionInterval.toMillis(),
+                    compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Obtiene una tarea por su identificador.
+     *
+     * @param id El identificador de la tarea.
+     * @return Task La tarea leída del registro, o nula si no existe.
+     */
+    public Task get(long id) {
+        Location location = index.get(id);
+        return location == null ? null : location.read();
+    }
+
+    /**
+     * Obtiene la versión de una tarea sin leer su contenido.
+     *
+     * @param id El identificador de la tarea.
+     * @return Long La versión de la tarea, o nula si no existe.
+     */
+    public Long getVersion(long id) {
+        Location location = index.get(id);
+        return location == null ? null : location.version;
+    }
+
+    /**
+     * Indica si existe una tarea con el identificador indicado.
+     *
+     * @param id El identificador de la tarea.
+     * @return boolean true si la tarea existe.
+     */
+    public boolean contains(long id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Obtiene la cantidad de tareas almacenadas.
+     *
+     * @return long La cantidad de tareas.
+     */
+    public long count() {
+        return index.size();
+    }
+
+    /**
+     * Obtiene el mayor identificador de las tareas almacenadas.
+     *
+     * @return long El mayor identificador, o 0 si no hay tareas.
+     */
+    public long maxId() {
+        Map.Entry<Long, Location> last = index.lastEntry();
+        return last == null ? 0 : last.getKey();
+    }
+
+    /**
+     * Obtiene la suma de las versiones de todas las tareas almacenadas.
+     *
+     * @return long La suma de las versiones.
+     */
+    public long versionSum() {
+        return versionSum;
+    }
+
+    /**
+     * Recorre las tareas cuyo identificador es mayor al indicado, ordenadas por identificador.
+     * Las tareas se leen del registro a medida que se consume el flujo.
+     *
+     * @param afterId El identificador a partir del cual (sin incluirlo) se recorren las tareas.
+     * @return Stream<Task> El flujo de tareas.
+     */
+    public Stream<Task> streamAfter(long afterId) {
+        return index.tailMap(afterId, false).values().stream().map(Location::read);
+    }
+
+    /**
+     * Recorre los identificadores de las tareas almacenadas, ordenados, a partir del índice y sin leer el registro.
+     *
+     * @return Stream<Long> El flujo de identificadores.
+     */
+    public Stream<Long> ids() {
+        return index.keySet().stream();
+    }
+
+    /**
+     * Guarda una tarea nueva asignándole el próximo identificador y la versión 0.
+     *
+     * @param title       El título de la tarea.
+     * @param description La descripción de la tarea.
+     * @return Task La tarea guardada.
+     */
+    public Task insert(String title, String description) {
+        writeLock.lock();
+        try {
+            long id = nextId++;
+            append(id, 0L, title, description);
+            return new Task(id, title, description, 0L);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Guarda una tarea con un identificador dado, reemplazando la existente si la hay. Se utiliza para conservar
+     * identificadores asignados externamente; los identificadores siguientes nunca serán menores a éste.
+     *
+     * @param task La tarea a guardar. Si no tiene versión se guarda con la versión 0.
+     */
+    public void put(Task task) {
+        writeLock.lock();
+        try {
+            nextId = Math.max(nextId, task.getId() + 1);
+            append(task.getId(), task.getVersion() == null ? 0L : task.getVersion(), task.getTitle(),
+                    task.getDescription());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reemplaza el título y la descripción de una tarea e incrementa su versión.
+     *
+     * @param id              El identificador de la tarea.
+     * @param expectedVersion La versión que se espera que tenga la tarea, o nula para no verificarla.
+     * @param title           El nuevo título. Si es nulo y keepMissing es true, se conserva el actual.
+     * @param description     La nueva descripción. Si es nula y keepMissing es true, se conserva la actual.
+     * @param keepMissing     Indica si los campos nulos conservan el valor actual (modificación parcial).
+     * @return Long La versión que escribió esta modificación, o nula si la tarea no existe o tiene otra versión.
+     */
+    public Long update(long id, Long expectedVersion, String title, String description, boolean keepMissing) {
+        writeLock.lock();
+        try {
+            Location current = index.get(id);
+            if (current == null || (expectedVersion != null && current.version != expectedVersion)) {
+                return null;
+            }
+            if (keepMissing && (title == null || description == null)) {
+                Task existing = current.read();
+                title = title == null ? existing.getTitle() : title;
+                description = description == null ? existing.getDescription() : description;
+            }
+            long version = current.version + 1;
+            append(id, version, title, description);
+            return version;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Elimina una tarea agregando un registro de baja.
+     *
+     * @param id El identificador de la tarea.
+     * @return boolean true si la tarea existía y se eliminó.
+     */
+    public boolean delete(long id) {
+        writeLock.lock();
+        try {
+            if (!index.containsKey(id)) {
+                return false;
+            }
+            // El registro de baja nunca está vigente: se cuenta como obsoleto desde que se escribe.
+            Location tombstone = write(encodeDelete(id), -1);
+            tombstone.segment.deadBytes += tombstone.size;
+            Location previous = index.remove(id);
+            previous.segment.deadBytes += previous.size;
+            versionSum -= previous.version;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Elimina todas las tareas.
+     */
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            for (Long id : new ArrayList<>(index.keySet())) {
+                delete(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compacta los segmentos cerrados cuya proporción de bytes obsoletos supera el umbral.
+     *
+     * @return int La cantidad de segmentos compactados.
+     */
+    public int compact() {
+        List<Segment> candidates;
+        writeLock.lock();
+        try {
+            candidates = segments.stream()
+                    .filter(segment -> segment != active && segment.garbageRatio() >= compactionThreshold)
+                    .toList();
+        } finally {
+            writeLock.unlock();
+        }
+        for (Segment segment : candidates) {
+            compact(segment);
+        }
+        return candidates.size();
+    }
+
+    /**
+     * Detiene la compactación y fuerza al disco el segmento activo.
+     */
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            try {
+                compactor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(long id, long version, String title, String description) {
+        Location location = write(encodePut(id, version, title, description), version);
+        Location previous = index.put(id, location);
+        if (previous != null) {
+            previous.segment.deadBytes += previous.size;
+        }
+        versionSum += version - (previous == null ? 0 : previous.version);
+    }
+
+    /**
+     * Escribe un registro ya codificado al final del segmento activo, abriendo uno nuevo si no hay lugar.
+     */
+    private Location write(byte[] payload, long version) {
+        int size = RECORD_HEADER_SIZE + payload.length;
+        if (size > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("La tarea no entra en un segmento de " + segmentSize + " bytes");
+        }
+        if (active == null || active.writePosition + size > segmentSize) {
+            roll();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int offset = active.writePosition;
+        active.buffer.put(offset + RECORD_HEADER_SIZE, payload);
+        active.buffer.putInt(offset + 4, (int) crc.getValue());
+        // La longitud se escribe al final: un registro sin longitud se interpreta como el fin del segmento.
+        active.buffer.putInt(offset, payload.length);
+        if (forceOnWrite) {
+            active.buffer.force(offset, size);
+        }
+        active.writePosition += size;
+        return new Location(active, offset, size, idOf(payload), version);
+    }
+
+    private void roll() {
+        long number = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number + 1;
+        try {
+            Segment segment = Segment.create(directory.resolve(segmentName(number)), number, segmentSize);
+            segment.buffer.putInt(0, MAGIC);
+            segment.buffer.putInt(4, FORMAT_VERSION);
+            segment.buffer.putLong(8, nextId);
+            segment.writePosition = HEADER_SIZE;
+            segments.add(segment);
+            active = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            LOGGER.error("No se pudo compactar el almacenamiento de tareas", e);
+        }
+    }
+
+    /**
+     * Copia los registros vigentes de un segmento al segmento activo y elimina el archivo.
+     * Cada registro se copia tomando el bloqueo de escritura por separado, para no demorar las escrituras concurrentes.
+     */
+    private void compact(Segment segment) {
+        int position = HEADER_SIZE;
+        while (position < segment.writePosition) {
+            int length = segment.buffer.getInt(position);
+            int size = RECORD_HEADER_SIZE + length;
+            byte type = segment.buffer.get(position + RECORD_HEADER_SIZE);
+            long id = segment.buffer.getLong(position + RECORD_HEADER_SIZE + 1);
+            writeLock.lock();
+            try {
+                if (type == PUT) {
+                    Location current = index.get(id);
+                    if (current != null && current.segment == segment && current.offset == position) {
+                        Task task = current.read();
+                        Location copy = write(encodePut(id, current.version, task.getTitle(), task.getDescription()),
+                                current.version);
+                        index.put(id, copy);
+                    }
+                } else if (segment != segments.get(0) && !index.containsKey(id)) {
+                    Location copy = write(encodeDelete(id), -1);
+                    copy.segment.deadBytes += copy.size;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            position += size;
+        }
+
+        writeLock.lock();
+        try {
+            // Las copias tienen que estar en disco antes de borrar el único otro lugar donde estaban.
+            active.buffer.force();
+            segments.remove(segment);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+        LOGGER.debug("Segmento {} compactado", segment.path.getFileName());
+    }
+
+    /**
+     * Reconstruye el índice recorriendo todos los segmentos en orden.
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = Segment.open(file, number);
+            if (segment.buffer.getInt(0) != MAGIC || segment.buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("El archivo " + file + " no es un segmento de tareas válido");
+            }
+            nextId = Math.max(nextId, segment.buffer.getLong(8));
+            segments.add(segment);
+            active = segment;
+            replay(segment);
+        }
+        for (Location location : index.values()) {
+            versionSum += location.version;
+        }
+        if (!files.isEmpty()) {
+            LOGGER.info("Almacenamiento de tareas recuperado: {} tareas en {} segmentos", index.size(), segments.size());
+        }
+    }
+
+    private void replay(Segment segment) {
+        int position = HEADER_SIZE;
+        int capacity = segment.buffer.capacity();
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            int length = segment.buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || position + RECORD_HEADER_SIZE + length > capacity || !checksumMatches(segment, position, length)) {
+                LOGGER.warn("Registro inválido en {} (posición {}): se descarta el resto del segmento",
+                        segment.path.getFileName(), position);
+                for (int i = position; i < capacity; i++) {
+                    segment.buffer.put(i, (byte) 0);
+                }
+                segment.buffer.force();
+                break;
+            }
+            int size = RECORD_HEADER_SIZE + length;
+            byte type = segment.buffer.get(position + RECORD_HEADER_SIZE);
+            long id = segment.buffer.getLong(position + RECORD_HEADER_SIZE + 1);
+            nextId = Math.max(nextId, id + 1);
+            if (type == PUT) {
+                long version = segment.buffer.getLong(position + RECORD_HEADER_SIZE + 9);
+                Location previous = index.put(id, new Location(segment, position, size, id, version));
+                if (previous != null) {
+                    previous.segment.deadBytes += previous.size;
+                }
+            } else {
+                segment.deadBytes += size;
+                Location previous = index.remove(id);
+                if (previous != null) {
+                    previous.segment.deadBytes += previous.size;
+                }
+            }
+            position += size;
+        }
+        segment.writePosition = position;
+    }
+
+    private static boolean checksumMatches(Segment segment, int position, int length) {
+        byte[] payload = new byte[length];
+        segment.buffer.get(position + RECORD_HEADER_SIZE, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.buffer.getInt(position + 4);
+    }
+
+    private static byte[] encodePut(long id, long version, String title, String description) {
+        byte[] titleBytes = title == null ? null : title.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 8 + 8 + 4 + (titleBytes == null ? 0 : titleBytes.length)
+                + 4 + (descriptionBytes == null ? 0 : descriptionBytes.length);
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.put(PUT).putLong(id).putLong(version);
+        putBytes(payload, titleBytes);
+        putBytes(payload, descriptionBytes);
+        return payload.array();
+    }
+
+    private static byte[] encodeDelete(long id) {
+        return ByteBuffer.allocate(1 + 8).put(DELETE).putLong(id).array();
+    }
+
+    private static void putBytes(ByteBuffer payload, byte[] bytes) {
+        if (bytes == null) {
+            payload.putInt(NULL_LENGTH);
+        } else {
+            payload.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static long idOf(byte[] payload) {
+        return ByteBuffer.wrap(payload, 1, 8).getLong();
+    }
+
+    private static String segmentName(long number) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Archivo de segmento mapeado en memoria. La posición de escritura y los bytes obsoletos se modifican solo
+     * con el bloqueo de escritura tomado.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final long number;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private long deadBytes;
+
+        private Segment(Path path, long number, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.number = number;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment create(Path path, long number, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(path, number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        private static Segment open(Path path, long number) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+
+        private double garbageRatio() {
+            int used = writePosition - HEADER_SIZE;
+            return used <= 0 ? 0 : (double) deadBytes / used;
+        }
+    }
+
+    /**
+     * Ubicación del último registro de una tarea. Es inmutable, por lo que los lectores pueden usarla sin bloqueos.
+     */
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int size;
+        private final long id;
+        private final long version;
+
+        private Location(Segment segment, int offset, int size, long id, long version) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+            this.id = id;
+            this.version = version;
+        }
+
+        private Task read() {
+            MappedByteBuffer buffer = segment.buffer;
+            int position = offset + RECORD_HEADER_SIZE + 1 + 8 + 8;
+            int titleLength = buffer.getInt(position);
+            String title = readString(buffer, position + 4, titleLength);
+            position += 4 + Math.max(titleLength, 0);
+            int descriptionLength = buffer.getInt(position);
+            String description = readString(buffer, position + 4, descriptionLength);
+            return new Task(id, title, description, version);
+        }
+
+        private static String readString(MappedByteBuffer buffer, int position, int length) {
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
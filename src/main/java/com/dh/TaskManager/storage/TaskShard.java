@@ -0,0 +1,79 @@
+package com.dh.TaskManager.storage;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Una de las bases de datos entre las que se reparten las tareas en el almacenamiento particionado (sharding).
+ *      *
+ * Cada shard tiene su propio grupo de conexiones y su propio administrador de transacciones, de modo que las
+ * escrituras de distintos shards no compiten por las mismas conexiones ni por los mismos bloqueos. Al crearse,
+ * crea la tabla de tareas si no existe.
+ */
+public class TaskShard implements AutoCloseable {
+
+    private static final String CREATE_TABLE = "create table if not exists tasks (" +
+            "id bigint primary key, title varchar(255), description varchar(255), version bigint not null)";
+
+    private final int index;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor de la clase TaskShard que abre el grupo de conexiones y crea la tabla de tareas.
+     *
+     * @param index    El número del shard, comenzando en 0.
+     * @param url      La URL JDBC de la base de datos del shard.
+     * @param username El usuario de la base de datos.
+     * @param password La contraseña de la base de datos.
+     * @param poolSize La cantidad máxima de conexiones del grupo.
+     * @param fetchSize La cantidad de filas que el driver trae por cada viaje al recorrer un flujo de tareas.
+     */
+    public TaskShard(int index, String url, String username, String password, int poolSize, int fetchSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("task-shard-" + index);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        this.index = index;
+        this.dataSource = new HikariDataSource(config);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    /**
+     * @return int El número del shard.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return JdbcTemplate El JdbcTemplate sobre el grupo de conexiones del shard.
+     */
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * @return TransactionTemplate El TransactionTemplate que ejecuta una transacción local del shard.
+     */
+    public TransactionTemplate getTransactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * Cierra el grupo de conexiones del shard.
+     */
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dh.TaskManager.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la cola de espera acotada y el ajuste del límite de AdmissionLimiter.
+ */
+class AdmissionLimiterTest {
+
+    @Test
+    void rejectsWhenQueueIsFullAndWhenWaitTimesOut() {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 1, 0, Duration.ofMillis(10), false, 2.0,
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+        assertFalse(limiter.acquire().isQueued());
+
+        AdmissionLimiter.RejectedException full = assertThrows(AdmissionLimiter.RejectedException.class, limiter::acquire);
+        assertEquals(AdmissionLimiter.Rejection.QUEUE_FULL, full.getReason());
+
+        AdmissionLimiter queued = new AdmissionLimiter(1, 1, 1, Duration.ofMillis(10), false, 2.0,
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+        queued.acquire();
+        AdmissionLimiter.RejectedException timeout = assertThrows(AdmissionLimiter.RejectedException.class, queued::acquire);
+        assertEquals(AdmissionLimiter.Rejection.TIMEOUT, timeout.getReason());
+        assertEquals(0, queued.getWaiting());
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenAPlaceIsReleased() throws Exception {
+        AdmissionLimiter limiter = new AdmissionLimiter(1, 1, 1, Duration.ofSeconds(5), false, 2.0,
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+        limiter.acquire();
+
+        CompletableFuture<AdmissionLimiter.Admission> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+        while (limiter.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release(-1);
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS).isQueued());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyGrows() {
+        AdmissionLimiter limiter = new AdmissionLimiter(2, 100, 0, Duration.ZERO, true, 2.0,
+                Duration.ZERO, Duration.ofSeconds(1));
+        // Primera ventana: establece la latencia de referencia (1 ms).
+        completeWindow(limiter, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(100, limiter.getLimit());
+
+        // La latencia se multiplica por diez, más que la tolerancia: el límite baja.
+        completeWindow(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(limiter.getLimit() < 100, "límite: " + limiter.getLimit());
+    }
+
+    private static void completeWindow(AdmissionLimiter limiter, long latencyNanos) {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dh.TaskManager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compara el rendimiento de POST /tasks en el modo sincrónico (una transacción por tarea) y en el modo asíncrono
+ * (cola con escritura en lotes) bajo la misma cantidad de clientes concurrentes.
+ *      *
+ * Solo se cuentan las tareas aceptadas: si la cola del modo asíncrono se llena y se responde 503, el cliente
+ * reintenta tras una pausa breve, por lo que el resultado refleja el ritmo sostenido del escritor y no solo
+ * la capacidad de la cola.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class IngestBenchmark {
+
+    private static final String TASK_JSON = "{\"title\":\"Tarea\",\"description\":\"Descripción de la tarea generada para el benchmark.\"}";
+
+    /**
+     * Aplicación levantada con el modo de alta indicado y cliente HTTP compartido.
+     */
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"sync", "async"})
+        public String mode;
+
+        public TaskManagerState state;
+        public HttpClient httpClient;
+        public HttpRequest createRequest;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new TaskManagerState();
+            state.tableSize = 1000;
+            state.start("--taskmanager.ingest.enabled=" + mode.equals("async"));
+            httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            createRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + state.port + "/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(TASK_JSON))
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            state.stopApplication();
+        }
+    }
+
+    @Benchmark
+    public int createTask(Application application) throws IOException, InterruptedException {
+        while (true) {
+            HttpResponse<Void> response = application.httpClient.send(application.createRequest,
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 503) {
+                return response.statusCode();
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el rendimiento de escritura del almacenamiento particionado según la cantidad de shards (parámetro shards),
+ * con varios hilos escribiendo a la vez. Cada ejecución usa bases H2 en memoria nuevas. Con shards=1 todas las
+ * escrituras compiten por la misma base; al agregar shards se reparten entre bases independientes, por lo que el
+ * aumento depende de los núcleos disponibles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ShardingBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Aplicación levantada con el almacenamiento particionado en la cantidad de shards indicada.
+     */
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"1", "2", "4"})
+        public int shards;
+
+        @Param({"10000"})
+        public int tableSize;
+
+        public TaskManagerState state;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new TaskManagerState();
+            state.tableSize = tableSize;
+            state.start("--taskmanager.storage.engine=sharded",
+                    "--taskmanager.storage.sharded.shards=" + shards,
+                    "--taskmanager.storage.sharded.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + "-{shard};DB_CLOSE_DELAY=-1",
+                    "--taskmanager.cache.enabled=false");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            state.stopApplication();
+        }
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask(Application application) {
+        return application.state.taskService.createTask(TaskManagerState.newTaskRequest(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResponseDTO createTasks(Application application) {
+        List<TaskRequestDTO> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(TaskManagerState.newTaskRequest(i));
+        }
+        return application.state.taskService.createTasks(batch);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.dto.TaskPageDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara las operaciones de TaskService sobre JPA/H2 y sobre el almacenamiento mapeado en memoria
+ * (parámetro engine). La caché de lectura se desactiva para que cada lectura llegue al motor de almacenamiento.
+ * El almacenamiento mapeado se crea en un directorio temporal que se elimina al terminar.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageEngineBenchmark {
+
+    /**
+     * Aplicación levantada con el motor de almacenamiento indicado.
+     */
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"jpa", "mapped"})
+        public String engine;
+
+        @Param({"10000"})
+        public int tableSize;
+
+        public TaskManagerState state;
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("taskmanager-storage");
+            state = new TaskManagerState();
+            state.tableSize = tableSize;
+            state.start("--taskmanager.storage.engine=" + engine,
+                    "--taskmanager.storage.path=" + directory,
+                    "--taskmanager.cache.enabled=false");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            state.stopApplication();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask(Application application) {
+        return application.state.taskService.createTask(TaskManagerState.newTaskRequest(0));
+    }
+
+    @Benchmark
+    public TaskResponseDTO getTaskById(Application application) {
+        return application.state.taskService.getTaskById(application.state.randomSeededId());
+    }
+
+    @Benchmark
+    public TaskPageDTO getTasksPage(Application application) {
+        return application.state.taskService.getTasksPage(null, 50);
+    }
+
+    @Benchmark
+    public TaskResponseDTO updateTask(Application application) {
+        TaskRequestToUpdateDTO taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(application.state.randomSeededId());
+        taskRequestToUpdateDTO.setTitle("Tarea actualizada");
+        taskRequestToUpdateDTO.setDescription("Descripción actualizada por el benchmark.");
+        return application.state.taskService.updateTask(taskRequestToUpdateDTO);
+    }
+}
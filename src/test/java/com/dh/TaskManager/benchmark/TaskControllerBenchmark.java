@@ -0,0 +1,95 @@
+package com.dh.TaskManager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las mismas operaciones que TaskServiceBenchmark pero a través de HTTP contra TaskController,
+ * incluyendo la deserialización de la solicitud y la serialización JSON de la respuesta.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskControllerBenchmark {
+
+    private static final String TASK_JSON = "{\"title\":\"Tarea\",\"description\":\"Descripción de la tarea generada para el benchmark.\"}";
+
+    /**
+     * Cliente HTTP compartido y URL base de la aplicación levantada por TaskManagerState.
+     */
+    @State(Scope.Benchmark)
+    public static class Client {
+        public HttpClient httpClient;
+        public String baseUrl;
+
+        @Setup(Level.Trial)
+        public void setUp(TaskManagerState state) {
+            httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            baseUrl = "http://localhost:" + state.port + "/tasks";
+        }
+    }
+
+    /**
+     * Estado por invocación que crea la tarea que luego se elimina, para no reducir la tabla cargada.
+     */
+    @State(Scope.Thread)
+    public static class TaskToDelete {
+        public long id;
+
+        @Setup(Level.Invocation)
+        public void createTask(TaskManagerState state) {
+            id = state.taskService.createTask(TaskManagerState.newTaskRequest(-1)).getId();
+        }
+    }
+
+    @Benchmark
+    public String createTask(Client client) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(TASK_JSON)));
+    }
+
+    @Benchmark
+    public String getTaskById(Client client, TaskManagerState state) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl + "/" + state.randomSeededId())).GET());
+    }
+
+    @Benchmark
+    public String getAllTasks(Client client) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl)).GET());
+    }
+
+    @Benchmark
+    public String getTasksPage(Client client) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl + "?limit=50")).GET());
+    }
+
+    @Benchmark
+    public String updateTask(Client client, TaskManagerState state) throws IOException, InterruptedException {
+        String body = "{\"id\":" + state.randomSeededId() + ",\"title\":\"Tarea actualizada\",\"description\":\"Descripción actualizada.\"}";
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    @Benchmark
+    public String deleteTaskById(Client client, TaskToDelete taskToDelete) throws IOException, InterruptedException {
+        return send(client, HttpRequest.newBuilder(URI.create(client.baseUrl + "/" + taskToDelete.id)).DELETE());
+    }
+
+    private static String send(Client client, HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Respuesta inesperada " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,99 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.TaskManagerApplication;
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.service.impl.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Estado compartido por los benchmarks: levanta la aplicación completa sobre H2 en memoria
+ * y carga la tabla de tareas con la cantidad de filas indicada por el parámetro tableSize.
+ */
+@State(Scope.Benchmark)
+public class TaskManagerState {
+
+    /**
+     * Argumentos con los que se inicia la aplicación: puerto aleatorio y sin registrar cada sentencia SQL.
+     */
+    private static final String[] APPLICATION_ARGS = {
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--spring.h2.console.enabled=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN"
+    };
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int tableSize;
+
+    public ConfigurableApplicationContext context;
+    public TaskService taskService;
+    public int port;
+
+    private long firstSeededId;
+    private long lastSeededId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        start();
+    }
+
+    /**
+     * Levanta la aplicación agregando los argumentos indicados a los comunes y carga tableSize tareas.
+     * Permite que otros benchmarks reutilicen este estado con una configuración distinta.
+     */
+    public void start(String... extraArgs) {
+        String[] args = Stream.concat(Arrays.stream(APPLICATION_ARGS), Arrays.stream(extraArgs)).toArray(String[]::new);
+        context = SpringApplication.run(TaskManagerApplication.class, args);
+        taskService = context.getBean(TaskService.class);
+        port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+        firstSeededId = Long.MAX_VALUE;
+        lastSeededId = Long.MIN_VALUE;
+        for (int from = 0; from < tableSize; from += SEED_BATCH_SIZE) {
+            List<TaskRequestDTO> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, tableSize); i++) {
+                batch.add(newTaskRequest(i));
+            }
+            for (BatchItemResultDTO result : taskService.createTasks(batch).getItems()) {
+                firstSeededId = Math.min(firstSeededId, result.getTask().getId());
+                lastSeededId = Math.max(lastSeededId, result.getTask().getId());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Devuelve el identificador de una tarea cargada al inicio, elegida al azar.
+     * Estas tareas nunca se eliminan durante los benchmarks.
+     */
+    public long randomSeededId() {
+        return ThreadLocalRandom.current().nextLong(firstSeededId, lastSeededId + 1);
+    }
+
+    /**
+     * Crea una solicitud de tarea con un título y una descripción de tamaño realista.
+     */
+    public static TaskRequestDTO newTaskRequest(int index) {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Tarea " + index);
+        taskRequestDTO.setDescription("Descripción de la tarea número " + index + " generada para el benchmark.");
+        return taskRequestDTO;
+    }
+}
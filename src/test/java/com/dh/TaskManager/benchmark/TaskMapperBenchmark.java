@@ -0,0 +1,77 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.mapper.ITaskMapper;
+import com.dh.TaskManager.mapper.impl.TaskMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo reflexivo con ObjectMapper.convertValue contra el mapeador TaskMapper.
+ * Ejecutar con "-prof gc" para comparar también la memoria reservada por operación (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ITaskMapper taskMapper;
+    private Task task;
+    private TaskRequestDTO taskRequestDTO;
+    private TaskRequestToUpdateDTO taskRequestToUpdateDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        taskMapper = new TaskMapper();
+        task = new Task(1L, "Preparar la reunión", "Revisar los pendientes de la semana y armar la agenda.", 0L);
+
+        taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle(task.getTitle());
+        taskRequestDTO.setDescription(task.getDescription());
+
+        taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(task.getId());
+        taskRequestToUpdateDTO.setTitle(task.getTitle());
+        taskRequestToUpdateDTO.setDescription(task.getDescription());
+    }
+
+    @Benchmark
+    public TaskResponseDTO toResponseDTOConvertValue() {
+        return objectMapper.convertValue(task, TaskResponseDTO.class);
+    }
+
+    @Benchmark
+    public TaskResponseDTO toResponseDTOTaskMapper() {
+        return taskMapper.toResponseDTO(task);
+    }
+
+    @Benchmark
+    public Task toEntityConvertValue() {
+        return objectMapper.convertValue(taskRequestDTO, Task.class);
+    }
+
+    @Benchmark
+    public Task toEntityTaskMapper() {
+        return taskMapper.toEntity(taskRequestDTO);
+    }
+
+    @Benchmark
+    public Task toEntityFromUpdateConvertValue() {
+        return objectMapper.convertValue(taskRequestToUpdateDTO, Task.class);
+    }
+
+    @Benchmark
+    public Task toEntityFromUpdateTaskMapper() {
+        return taskMapper.toEntity(taskRequestToUpdateDTO);
+    }
+}
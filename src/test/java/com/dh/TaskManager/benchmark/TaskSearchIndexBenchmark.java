@@ -0,0 +1,86 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las búsquedas sobre el índice invertido TaskSearchIndex con un millón de tareas (parámetro tableSize):
+ * un término exacto, un prefijo corto que se expande a muchos términos, la intersección de dos términos y la
+ * actualización de una tarea. Las tareas combinan palabras de un vocabulario fijo con una distribución sesgada,
+ * de modo que hay términos muy frecuentes y términos raros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "reunión", "informe", "revisar", "cliente", "proveedor", "factura", "presupuesto", "planificar",
+            "plan", "entrega", "pedido", "contrato", "llamar", "enviar", "preparar", "presentación", "ventas",
+            "mensual", "anual", "semana", "equipo", "proyecto", "diseño", "prueba", "error", "servidor", "base",
+            "datos", "migración", "respaldo", "seguridad", "auditoría", "capacitación", "documentación", "soporte"
+    };
+
+    @Param({"1000000"})
+    public int tableSize;
+
+    private TaskSearchIndex index;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TaskSearchIndex();
+        random = new SplittableRandom(42);
+        for (long id = 1; id <= tableSize; id++) {
+            index.index(id, text(3), text(12));
+        }
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult searchExactTerm() {
+        return index.search("presupuesto", 0, 20);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult searchPrefix() {
+        return index.search("pre", 0, 20);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult searchTwoTerms() {
+        return index.search("auditoría respaldo", 0, 20);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult searchDeepPage() {
+        return index.search("auditoría", 1000, 20);
+    }
+
+    @Benchmark
+    public void reindexTask() {
+        index.index(random.nextLong(1, tableSize + 1L), text(3), text(12));
+    }
+
+    /**
+     * Arma un texto con la cantidad de palabras indicada, eligiendo con más frecuencia las primeras del vocabulario.
+     * Cada palabra lleva a veces un sufijo numérico para que el diccionario tenga muchos términos distintos.
+     */
+    private String text(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double skewed = random.nextDouble();
+            text.append(WORDS[(int) (skewed * skewed * WORDS.length)]);
+            if (random.nextInt(4) == 0) {
+                text.append(random.nextInt(1000));
+            }
+            text.append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.dh.TaskManager.benchmark;
+
+import com.dh.TaskManager.dto.TaskPageDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las operaciones de TaskService invocadas directamente, sin pasar por la capa web,
+ * contra la base H2 en memoria configurada en application.yml.
+ * Informa rendimiento (ops/s) y percentiles de latencia (modo SampleTime); con "-prof gc" agrega la tasa de asignación.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    /**
+     * Estado por invocación que crea la tarea que luego se elimina, para no reducir la tabla cargada.
+     */
+    @State(Scope.Thread)
+    public static class TaskToDelete {
+        public long id;
+
+        @Setup(Level.Invocation)
+        public void createTask(TaskManagerState state) {
+            id = state.taskService.createTask(TaskManagerState.newTaskRequest(-1)).getId();
+        }
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask(TaskManagerState state) {
+        return state.taskService.createTask(TaskManagerState.newTaskRequest(0));
+    }
+
+    @Benchmark
+    public TaskResponseDTO getTaskById(TaskManagerState state) {
+        return state.taskService.getTaskById(state.randomSeededId());
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> getAllTasks(TaskManagerState state) {
+        return state.taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public void streamAllTasks(TaskManagerState state, Blackhole blackhole) {
+        state.taskService.streamAllTasks(blackhole::consume);
+    }
+
+    @Benchmark
+    public TaskPageDTO getTasksPage(TaskManagerState state) {
+        return state.taskService.getTasksPage(null, 50);
+    }
+
+    @Benchmark
+    public TaskResponseDTO updateTask(TaskManagerState state) {
+        TaskRequestToUpdateDTO taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(state.randomSeededId());
+        taskRequestToUpdateDTO.setTitle("Tarea actualizada");
+        taskRequestToUpdateDTO.setDescription("Descripción actualizada por el benchmark.");
+        return state.taskService.updateTask(taskRequestToUpdateDTO);
+    }
+
+    @Benchmark
+    public void deleteTaskById(TaskManagerState state, TaskToDelete taskToDelete) {
+        state.taskService.deleteTaskById(taskToDelete.id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.dh.TaskManager.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el grupo fijo de hilos de Tomcat con la ejecución en hilos virtuales bajo la misma carga concurrente.
+ *      *
+ * Cada invocación envía "concurrency" solicitudes a la vez y espera todas las respuestas, por lo que el resultado es
+ * el tiempo que tarda en atenderse una ola completa. La caché de lectura se desactiva para que cada solicitud
+ * consulte la base de datos y bloquee en JDBC, que es donde difieren ambos modelos. El fork se ejecuta con
+ * -Djdk.tracePinnedThreads=short, que informa en la salida cualquier hilo virtual que quede fijado a su portador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class ThreadingModeBenchmark {
+
+    private static final int TABLE_SIZE = 10000;
+
+    /**
+     * Aplicación levantada con el modelo de hilos indicado y cliente HTTP capaz de mantener toda la carga en vuelo.
+     */
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"200", "1000"})
+        public int concurrency;
+
+        public TaskManagerState state;
+        public HttpClient httpClient;
+        public String baseUrl;
+
+        private ExecutorService clientExecutor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            state = new TaskManagerState();
+            state.tableSize = TABLE_SIZE;
+            state.start(
+                    "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                    "--taskmanager.cache.enabled=false"
+            );
+            clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            baseUrl = "http://localhost:" + state.port + "/tasks";
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            clientExecutor.shutdownNow();
+            state.stopApplication();
+        }
+    }
+
+    @Benchmark
+    public int getTaskById(Application application) {
+        List<HttpRequest> requests = new ArrayList<>(application.concurrency);
+        for (int i = 0; i < application.concurrency; i++) {
+            requests.add(HttpRequest.newBuilder(URI.create(application.baseUrl + "/" + application.state.randomSeededId())).GET().build());
+        }
+        return sendAll(application, requests);
+    }
+
+    @Benchmark
+    public int getTasksPage(Application application) {
+        List<HttpRequest> requests = new ArrayList<>(application.concurrency);
+        for (int i = 0; i < application.concurrency; i++) {
+            requests.add(HttpRequest.newBuilder(URI.create(application.baseUrl + "?limit=50")).GET().build());
+        }
+        return sendAll(application, requests);
+    }
+
+    @Benchmark
+    public int updateTask(Application application) {
+        List<HttpRequest> requests = new ArrayList<>(application.concurrency);
+        for (int i = 0; i < application.concurrency; i++) {
+            String body = "{\"id\":" + application.state.randomSeededId() + ",\"title\":\"Tarea actualizada\",\"description\":\"Descripción actualizada.\"}";
+            requests.add(HttpRequest.newBuilder(URI.create(application.baseUrl))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+        return sendAll(application, requests);
+    }
+
+    /**
+     * Envía todas las solicitudes a la vez y espera sus respuestas.
+     *
+     * @return int La cantidad de respuestas exitosas (2xx), para detectar errores bajo carga.
+     */
+    private static int sendAll(Application application, List<HttpRequest> requests) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            responses.add(application.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() / 100 == 2) {
+                succeeded++;
+            }
+        }
+        if (succeeded != requests.size()) {
+            throw new IllegalStateException((requests.size() - succeeded) + " solicitudes fallaron bajo carga");
+        }
+        return succeeded;
+    }
+}
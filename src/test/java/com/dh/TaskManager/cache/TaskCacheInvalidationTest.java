@@ -0,0 +1,106 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.service.impl.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Verifica que las cachés de tareas (TaskCache y la de respuestas serializadas de GET /tasks/{id}) se invaliden
+ * recién al confirmarse la transacción que modificó la tarea: una lectura concurrente durante la transacción
+ * almacena la versión confirmada, que se descarta al confirmar, y una modificación que se revierte nunca llega a
+ * ser visible.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskCacheInvalidationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void taskCacheNeverServesUncommittedOrStaleTasks() throws Exception {
+        Long id = createTask();
+        assertInvalidatedOnlyAfterCommit(id, () -> taskService.getTaskById(id).getTitle());
+    }
+
+    @Test
+    void responseBodyCacheNeverServesUncommittedOrStaleTasks() throws Exception {
+        Long id = createTask();
+        assertInvalidatedOnlyAfterCommit(id, () -> objectMapper.readTree(mockMvc.perform(get("/tasks/{id}", id))
+                .andReturn().getResponse().getContentAsByteArray()).get("title").asText());
+    }
+
+    /**
+     * Modifica la tarea dentro de una transacción y, antes de confirmarla, la lee desde otro hilo (con su propia
+     * conexión), lo que vuelve a cargar la caché con la versión confirmada. Primero revierte la transacción y luego
+     * repite la modificación y la confirma.
+     */
+    private void assertInvalidatedOnlyAfterCommit(Long id, Callable<String> readTitle) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            taskService.updateTask(update(id, "Revertida"));
+            assertEquals("Original", readInAnotherThread(readTitle));
+            status.setRollbackOnly();
+        });
+        assertEquals("Original", readTitle.call());
+
+        transaction.executeWithoutResult(status -> {
+            taskService.updateTask(update(id, "Confirmada"));
+            assertEquals("Original", readInAnotherThread(readTitle));
+        });
+        assertEquals("Confirmada", readTitle.call());
+    }
+
+    private Long createTask() {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Original");
+        taskRequestDTO.setDescription("Descripción");
+        return taskService.createTask(taskRequestDTO).getId();
+    }
+
+    private static TaskRequestToUpdateDTO update(Long id, String title) {
+        TaskRequestToUpdateDTO taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(id);
+        taskRequestToUpdateDTO.setTitle(title);
+        taskRequestToUpdateDTO.setDescription("Descripción");
+        return taskRequestToUpdateDTO;
+    }
+
+    private static String readInAnotherThread(Callable<String> readTitle) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return readTitle.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
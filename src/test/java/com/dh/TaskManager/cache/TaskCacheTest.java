@@ -0,0 +1,115 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la lectura a través de la caché (una sola carga por tarea, sin almacenar los errores) y su invalidación
+ * con los eventos de modificación y eliminación, incluso cuando llegan durante una carga.
+ */
+class TaskCacheTest {
+
+    private final TaskCache cache = new TaskCache(true, 100, Duration.ZERO, new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsEachTaskOnceAndDoesNotCacheFailures() {
+        assertEquals("Tarea 1", cache.get(1L, this::load).getTitle());
+        assertSame(cache.get(1L, this::load), cache.getIfPresent(1L));
+        assertEquals(1, loads.get());
+
+        assertThrows(NotFoundException.class, () -> cache.get(2L, id -> {
+            throw new NotFoundException("No existe");
+        }));
+        assertNull(cache.getIfPresent(2L));
+        assertEquals("Tarea 2", cache.get(2L, this::load).getTitle());
+    }
+
+    @Test
+    void concurrentReadsOfTheSameTaskShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<TaskResponseDTO> first = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return load(id);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<TaskResponseDTO> second = CompletableFuture.supplyAsync(() -> cache.get(1L, this::load));
+
+        release.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void updatesAndDeletesInvalidateButCreatesDoNot() {
+        cache.get(1L, this::load);
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.CREATED, 1L, null));
+        assertNotNull(cache.getIfPresent(1L));
+
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.UPDATED, 1L, null));
+        assertNull(cache.getIfPresent(1L));
+        cache.get(1L, this::load);
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.DELETED, 1L, null));
+        assertNull(cache.getIfPresent(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void anInvalidationDuringALoadDiscardsItsResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<TaskResponseDTO> stale = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return load(id);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.UPDATED, 1L, null));
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+
+        assertNull(cache.getIfPresent(1L));
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void aDisabledCacheAlwaysLoads() {
+        TaskCache disabled = new TaskCache(false, 100, Duration.ZERO, new SimpleMeterRegistry());
+        disabled.get(1L, this::load);
+        disabled.get(1L, this::load);
+        assertNull(disabled.getIfPresent(1L));
+        assertEquals(2, loads.get());
+    }
+
+    private TaskResponseDTO load(Long id) {
+        loads.incrementAndGet();
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setTitle("Tarea " + id);
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que el filtro de identificadores nunca rechace una tarea existente y que rechace las inexistentes
+ * una vez cargado.
+ */
+class TaskIdFilterTest {
+
+    private final TaskIdFilter filter = new TaskIdFilter(true, new SimpleMeterRegistry());
+
+    @Test
+    void letsEverythingThroughUntilLoaded() {
+        assertTrue(filter.mightExist(42L));
+
+        filter.load(ids(1L, 2L, 70_000L));
+        assertTrue(filter.mightExist(1L));
+        assertTrue(filter.mightExist(70_000L));
+        assertFalse(filter.mightExist(3L));
+        assertFalse(filter.mightExist(65_536L + 1));
+        assertFalse(filter.mightExist(-1L));
+    }
+
+    @Test
+    void createsAreVisibleImmediatelyAndDeletesAfterCommit() {
+        filter.load(ids(1L));
+        filter.onTaskCreated(new TaskChangedEvent(TaskChangeType.CREATED, 2L, null));
+        assertTrue(filter.mightExist(2L));
+
+        // El alta se publica antes de confirmar: una carga que todavía no ve la tarea no la desmarca.
+        filter.load(ids(1L));
+        assertTrue(filter.mightExist(2L));
+
+        filter.onTaskDeleted(new TaskChangedEvent(TaskChangeType.DELETED, 2L, null));
+        assertFalse(filter.mightExist(2L));
+        assertTrue(filter.mightExist(1L));
+    }
+
+    private static Consumer<LongConsumer> ids(Long... ids) {
+        return consumer -> List.of(ids).forEach(consumer::accept);
+    }
+}
@@ -0,0 +1,136 @@
+package com.dh.TaskManager.cache;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la caché de respuestas serializadas: que cada cuerpo se use solo para su versión de la tarea, su
+ * invalidación (también cuando una lectura se intercala con la de TaskCache), el límite por cantidad de bytes y la
+ * variante comprimida con gzip.
+ */
+class TaskResponseBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void servesTheStoredBodyOnlyForTheSameVersionUntilItIsUpdatedOrDeleted() throws IOException {
+        TaskResponseBodyCache cache = newCache(DataSize.ofKilobytes(16), true);
+        TaskResponseBodyCache.SerializedTask body = cache.get(task(1L, "corta", 0L));
+        assertSame(body, cache.get(task(1L, "corta", 0L)));
+        assertEquals(0L, body.getVersion());
+        assertEquals("corta", objectMapper.readTree(body.getJson()).get("description").asText());
+
+        // Otra versión de la tarea nunca recibe el cuerpo almacenado, y una anterior no reemplaza a la posterior.
+        TaskResponseBodyCache.SerializedTask newer = cache.get(task(1L, "nueva", 1L));
+        assertEquals("nueva", objectMapper.readTree(newer.getJson()).get("description").asText());
+        assertEquals(0L, cache.get(task(1L, "corta", 0L)).getVersion());
+        assertSame(newer, cache.get(task(1L, "nueva", 1L)));
+
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.CREATED, 1L, null));
+        assertSame(newer, cache.get(task(1L, "nueva", 1L)));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.UPDATED, 1L, null));
+        assertNotSame(newer, cache.get(task(1L, "nueva", 1L)));
+        TaskResponseBodyCache.SerializedTask beforeDelete = cache.get(task(1L, "nueva", 1L));
+        cache.onTaskChanged(new TaskChangedEvent(TaskChangeType.DELETED, 1L, null));
+        assertNotSame(beforeDelete, cache.get(task(1L, "nueva", 1L)));
+    }
+
+    @Test
+    void aGetBetweenTheTwoInvalidationsCannotKeepAStaleBody() throws IOException {
+        TaskCache taskCache = new TaskCache(true, 100, Duration.ZERO, new SimpleMeterRegistry());
+        TaskResponseBodyCache cache = newCache(DataSize.ofKilobytes(16), true);
+        AtomicLong version = new AtomicLong();
+        Function<Long, TaskResponseDTO> repository = id -> task(id, "versión " + version.get(), version.get());
+        cache.get(taskCache.get(1L, repository));
+
+        // Se confirma una modificación y, antes de que se invalide TaskCache, otra solicitud vuelve a completar la
+        // caché de respuestas a partir de la versión anterior.
+        version.set(1);
+        TaskChangedEvent updated = new TaskChangedEvent(TaskChangeType.UPDATED, 1L, null);
+        cache.onTaskChanged(updated);
+        assertEquals(0L, cache.get(taskCache.get(1L, repository)).getVersion());
+        taskCache.onTaskChanged(updated);
+
+        TaskResponseBodyCache.SerializedTask body = cache.get(taskCache.get(1L, repository));
+        assertEquals(1L, body.getVersion());
+        assertEquals("versión 1", objectMapper.readTree(body.getJson()).get("description").asText());
+    }
+
+    @Test
+    void taskCacheIsInvalidatedBeforeTheResponseBodyCache() throws NoSuchMethodException {
+        int taskCacheOrder = TaskCache.class.getMethod("onTaskChanged", TaskChangedEvent.class)
+                .getAnnotation(Order.class).value();
+        int responseCacheOrder = TaskResponseBodyCache.class.getMethod("onTaskChanged", TaskChangedEvent.class)
+                .getAnnotation(Order.class).value();
+        assertTrue(taskCacheOrder < responseCacheOrder);
+    }
+
+    @Test
+    void evictsByTheTotalSizeOfTheStoredResponses() throws InterruptedException {
+        TaskResponseBodyCache cache = newCache(DataSize.ofKilobytes(2), false);
+        String description = "x".repeat(200);
+        int weight = 64 + cache.get(task(0L, description, 0L)).getJson().length;
+        for (long id = 1; id < 30; id++) {
+            cache.get(task(id, description, 0L));
+        }
+
+        // Caffeine desaloja las entradas de forma asíncrona, poco después de cada escritura.
+        long maxEntries = DataSize.ofKilobytes(2).toBytes() / weight;
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cacheSize() > maxEntries && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cacheSize() <= maxEntries);
+        assertTrue(meterRegistry.get("cache.eviction.weight").tag("cache", "task-responses")
+                .functionCounter().count() >= (30 - maxEntries) * weight);
+    }
+
+    @Test
+    void storesTheGzipVariantOnlyWhenEnabledAndSmaller() throws IOException {
+        String description = "Revisar los pendientes de la semana. ".repeat(20);
+        TaskResponseBodyCache.SerializedTask body = newCache(DataSize.ofKilobytes(16), true)
+                .get(task(1L, description, 0L));
+        assertNotNull(body.getGzip());
+        assertTrue(body.getGzip().length < body.getJson().length);
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body.getGzip()))) {
+            assertArrayEquals(body.getJson(), input.readAllBytes());
+        }
+
+        // Por debajo de gzip-min-size no se comprime, y con la compresión desactivada tampoco.
+        assertNull(newCache(DataSize.ofKilobytes(16), true).get(task(2L, "corta", 0L)).getGzip());
+        assertNull(newCache(DataSize.ofKilobytes(16), false).get(task(3L, description, 0L)).getGzip());
+    }
+
+    private TaskResponseBodyCache newCache(DataSize maximumSize, boolean gzip) {
+        return new TaskResponseBodyCache(true, maximumSize, gzip, DataSize.ofBytes(256), objectMapper, meterRegistry);
+    }
+
+    private static TaskResponseDTO task(Long id, String description, Long version) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setTitle("Tarea " + id);
+        task.setDescription(description);
+        task.setVersion(version);
+        return task;
+    }
+
+    private double cacheSize() {
+        return meterRegistry.get("cache.size").tag("cache", "task-responses").gauge().value();
+    }
+}
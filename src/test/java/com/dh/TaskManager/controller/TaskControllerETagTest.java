@@ -0,0 +1,120 @@
+package com.dh.TaskManager.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifica las solicitudes condicionales de TaskController: 304 con If-None-Match, 412 con un If-Match vencido y
+ * ETags que cambian con cada modificación de la tarea.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private long taskId;
+    private String taskETag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String body = mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Título\",\"description\":\"Descripción\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        taskId = Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        taskETag = "\"" + taskId + "-0\"";
+    }
+
+    @Test
+    void getTaskAnswersNotModifiedForTheCurrentETag() throws Exception {
+        mockMvc.perform(get("/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, taskETag));
+        mockMvc.perform(get("/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, taskETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllTasksAnswersNotModifiedUntilTheCollectionChanges() throws Exception {
+        String collectionETag = mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, "\"otro\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(collectionETag);
+        mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, collectionETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(putTask(taskId, "Nuevo título", null)).andExpect(status().isOk());
+        String changedETag = mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, collectionETag))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(collectionETag, changedETag);
+
+        // Las páginas no llevan ETag, para no recorrer toda la tabla en cada página.
+        mockMvc.perform(get("/tasks").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void updatesAnswerTheNewETag() throws Exception {
+        // Sin If-Match la respuesta también informa la versión nueva.
+        mockMvc.perform(putTask(taskId, "Nuevo título", null))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + taskId + "-1\""));
+        mockMvc.perform(get("/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, taskETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + taskId + "-1\""));
+
+        mockMvc.perform(patchTask(taskId, "Otro título", "\"" + taskId + "-1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Otro título"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + taskId + "-2\""));
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithPreconditionFailed() throws Exception {
+        // Dos clientes leyeron la versión 0: el primero actualiza y el segundo encuentra la versión cambiada.
+        mockMvc.perform(putTask(taskId, "Primero", taskETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + taskId + "-1\""));
+        mockMvc.perform(putTask(taskId, "Segundo", taskETag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patchTask(taskId, "Segundo", taskETag))
+                .andExpect(status().isPreconditionFailed());
+        // Una modificación parcial sin campos también verifica la versión.
+        mockMvc.perform(patch("/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"id\":" + taskId + "}")
+                        .header(HttpHeaders.IF_MATCH, taskETag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/tasks/{id}", taskId))
+                .andExpect(jsonPath("$.title").value("Primero"));
+        mockMvc.perform(putTask(-1L, "Inexistente", "\"-1-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder putTask(long id, String title, String ifMatch) {
+        return taskRequest(put("/tasks"), id, title, ifMatch);
+    }
+
+    private MockHttpServletRequestBuilder patchTask(long id, String title, String ifMatch) {
+        return taskRequest(patch("/tasks"), id, title, ifMatch);
+    }
+
+    private static MockHttpServletRequestBuilder taskRequest(MockHttpServletRequestBuilder request, long id,
+                                                             String title, String ifMatch) {
+        request.contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + id + ",\"title\":\"" + title + "\",\"description\":\"D\"}");
+        return ifMatch == null ? request : request.header(HttpHeaders.IF_MATCH, ifMatch);
+    }
+}
@@ -0,0 +1,45 @@
+package com.dh.TaskManager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifica que la representación completa de una tarea incluya los campos nulos y que una proyección (?fields=)
+ * incluya exactamente los campos pedidos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void fullRepresentationKeepsNullFieldsAndProjectionsOnlyTheRequestedOnes() throws Exception {
+        String body = mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Título\",\"description\":\"Descripción\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        // La actualización completa no exige la descripción, de modo que puede quedar nula.
+        mockMvc.perform(put("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + id + ",\"title\":\"Sin descripción\"}"))
+                .andExpect(content().json("{\"id\":" + id + ",\"title\":\"Sin descripción\",\"description\":null}", true));
+
+        mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(content().json("{\"id\":" + id + ",\"title\":\"Sin descripción\",\"description\":null}", true));
+        mockMvc.perform(get("/tasks/{id}", id).param("fields", "id,description"))
+                .andExpect(content().json("{\"id\":" + id + ",\"description\":null}", true));
+        mockMvc.perform(get("/tasks/{id}", id).param("fields", "title"))
+                .andExpect(content().json("{\"title\":\"Sin descripción\"}", true));
+    }
+}
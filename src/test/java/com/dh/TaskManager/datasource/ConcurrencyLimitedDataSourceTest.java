@@ -0,0 +1,77 @@
+package com.dh.TaskManager.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica que cada permiso se devuelva una sola vez al cerrar la conexión, también cuando se cierra la conexión
+ * obtenida con unwrap, y que se devuelva si no se pudo obtener la conexión.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConcurrencyLimitedDataSource dataSource =
+            new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(100));
+
+    /**
+     * Interfaz propia de un controlador JDBC, que solo la conexión real implementa.
+     */
+    interface DriverConnection extends Connection {
+    }
+
+    @Test
+    void returnsThePermitOnceWhenTheConnectionIsClosed() throws SQLException {
+        Connection raw = mock(Connection.class);
+        when(target.getConnection()).thenReturn(raw);
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        first.close();
+        first.close();
+        verify(raw, atLeastOnce()).close();
+
+        // Cerrar dos veces la primera conexión no devolvió un permiso de más.
+        Connection second = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+    }
+
+    @Test
+    void returnsThePermitWhenGettingTheConnectionFails() throws SQLException {
+        when(target.getConnection())
+                .thenThrow(new SQLException("Sin conexión"))
+                .thenThrow(new IllegalStateException("Grupo cerrado"))
+                .thenReturn(mock(Connection.class));
+
+        assertEquals("Sin conexión", assertThrows(SQLException.class, dataSource::getConnection).getMessage());
+        assertThrows(IllegalStateException.class, dataSource::getConnection);
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    void unwrappingToConnectionKeepsReturningThePermit() throws SQLException {
+        DriverConnection raw = mock(DriverConnection.class);
+        when(raw.unwrap(DriverConnection.class)).thenReturn(raw);
+        when(target.getConnection()).thenReturn(raw);
+
+        Connection connection = dataSource.getConnection();
+        assertTrue(connection.isWrapperFor(Connection.class));
+        Connection unwrapped = connection.unwrap(Connection.class);
+        assertSame(connection, unwrapped);
+        unwrapped.close();
+        verify(raw).close();
+
+        // Solo quien pide la interfaz del controlador recibe la conexión real.
+        Connection next = dataSource.getConnection();
+        assertSame(raw, next.unwrap(DriverConnection.class));
+        next.close();
+    }
+}
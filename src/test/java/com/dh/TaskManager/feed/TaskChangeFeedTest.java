@@ -0,0 +1,174 @@
+package com.dh.TaskManager.feed;
+
+import com.dh.TaskManager.cache.TaskResponseBodyCache;
+import com.dh.TaskManager.controller.TaskController;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.exception.ExceptionConfig;
+import com.dh.TaskManager.service.impl.TaskImportService;
+import com.dh.TaskManager.service.impl.TaskIngestService;
+import com.dh.TaskManager.service.impl.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifica el canal de cambios de GET /tasks/changes: la reanudación con Last-Event-ID, el evento "reset" cuando ese
+ * identificador ya no está en el buffer, la combinación de los cambios pendientes sobre una misma tarea, el límite
+ * de suscriptores y los heartbeats.
+ */
+class TaskChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final int MAX_SUBSCRIBERS = 2;
+
+    private TaskChangeFeed feed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(BUFFER_SIZE, MAX_SUBSCRIBERS, Duration.ofMillis(200), Duration.ofSeconds(5));
+        feed.start();
+        TaskController taskController = new TaskController(mock(TaskService.class), mock(TaskIngestService.class),
+                mock(TaskImportService.class), feed, mock(TaskResponseBodyCache.class), new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new ExceptionConfig(new ObjectMapper()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void resumesAfterAValidLastEventId() throws Exception {
+        publishUpdate(1L, "Primera");
+        publishUpdate(2L, "Segunda");
+        publishUpdate(3L, "Tercera");
+
+        String events = awaitContent(subscribe("1"), "id:3");
+        assertFalse(events.contains("Primera"));
+        assertTrue(events.indexOf("id:2\nevent:updated\n") < events.indexOf("id:3\nevent:updated\n"));
+        assertTrue(events.contains("Segunda"));
+        assertTrue(events.contains("Tercera"));
+        assertFalse(events.contains("event:reset"));
+    }
+
+    @Test
+    void sendsResetForAnExpiredOrUnknownLastEventId() throws Exception {
+        for (long id = 1; id <= BUFFER_SIZE + 2; id++) {
+            publishUpdate(id, "Tarea " + id);
+        }
+
+        // El cambio 2 ya no está en el buffer, que conserva solo los últimos cuatro.
+        MvcResult expired = subscribe("1");
+        assertTrue(awaitContent(expired, "event:reset").startsWith("id:6\nevent:reset\n"));
+        assertFalse(expired.getResponse().getContentAsString().contains("event:updated"));
+        disconnect(expired);
+
+        // Un identificador inválido o de una ejecución anterior también se trata como vencido.
+        MvcResult invalid = subscribe("no es un número");
+        assertTrue(awaitContent(invalid, "event:reset").startsWith("id:6\n"));
+        disconnect(invalid);
+        assertTrue(awaitContent(subscribe("99"), "event:reset").startsWith("id:6\n"));
+    }
+
+    @Test
+    void coalescesPendingChangesToTheSameTask() throws Exception {
+        publishUpdate(1L, "Versión 1");
+        publishUpdate(2L, "Otra tarea");
+        publishUpdate(1L, "Versión 2");
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangeType.DELETED, 1L, null));
+
+        String events = awaitContent(subscribe("0"), "id:4");
+        assertFalse(events.contains("Versión"));
+        assertEquals(2, events.split("\n\n").length);
+        assertTrue(events.startsWith("id:2\nevent:updated\n"));
+        assertTrue(events.contains("id:4\nevent:deleted\n"));
+    }
+
+    @Test
+    void rejectsSubscribersOverTheLimitUntilOneDisconnects() throws Exception {
+        MvcResult first = subscribe(null);
+        subscribe(null);
+        assertEquals(MAX_SUBSCRIBERS, feed.getSubscriberCount());
+
+        mockMvc.perform(changes(null))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+        assertEquals(MAX_SUBSCRIBERS, feed.getSubscriberCount());
+
+        disconnect(first);
+        assertEquals(MAX_SUBSCRIBERS - 1, feed.getSubscriberCount());
+        subscribe(null);
+    }
+
+    @Test
+    void sendsHeartbeatsWhileThereAreNoChanges() throws Exception {
+        MvcResult result = subscribe(null);
+        String heartbeats = awaitContent(result, ":heartbeat\n\n:heartbeat\n\n");
+        assertFalse(heartbeats.contains("event:"));
+
+        publishUpdate(1L, "Nueva");
+        assertTrue(awaitContent(result, "event:updated").contains("id:1\n"));
+    }
+
+    private void publishUpdate(Long id, String title) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setTitle(title);
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangeType.UPDATED, id, task));
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        return mockMvc.perform(changes(lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static MockHttpServletRequestBuilder changes(String lastEventId) {
+        MockHttpServletRequestBuilder request = get("/tasks/changes");
+        return lastEventId == null ? request : request.header("Last-Event-ID", lastEventId);
+    }
+
+    /**
+     * Cierra la conexión de un suscriptor y espera a que libere su lugar.
+     */
+    private void disconnect(MvcResult result) throws InterruptedException {
+        int subscribers = feed.getSubscriberCount();
+        result.getRequest().getAsyncContext().complete();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (feed.getSubscriberCount() == subscribers && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Espera a que la respuesta de una suscripción contenga el texto indicado y devuelve todo lo recibido.
+     */
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected)) {
+            assertTrue(System.nanoTime() < deadline, "No se recibió " + expected + " en: " + content);
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,332 @@
+package com.dh.TaskManager.load;
+
+import com.dh.TaskManager.benchmark.TaskManagerState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP de extremo a extremo para la API /tasks.
+ *      *
+ * Levanta la aplicación completa con TaskManagerState, carga seed tareas y envía una mezcla de altas, lecturas,
+ * listados, modificaciones y bajas a una tasa de llegada fija (lazo abierto): cada solicitud sale en su momento
+ * programado, en su propio hilo virtual, sin esperar a que respondan las anteriores. La latencia se mide desde el
+ * momento programado y no desde el envío, de modo que si la aplicación o el propio generador se atrasan, la espera
+ * se suma a la latencia en lugar de reducir la carga (corrección de la omisión coordinada). También se informa la
+ * latencia medida desde el envío, para comparar.
+ *      *
+ * Las lecturas y modificaciones usan las tareas cargadas al inicio, que nunca se eliminan; las bajas usan las tareas
+ * creadas por el propio generador y, si todavía no hay ninguna, un identificador inexistente (respuesta 404). Las
+ * solicitudes programadas durante el calentamiento (warmup) no se registran.
+ *      *
+ * Los resultados se escriben como JSON en el archivo output, para poder compararlos entre versiones.
+ * Uso: mvn -P load-test verify -Dload.args="rate=1000 duration=60s mix=get:80,update:20 --taskmanager.cache.enabled=false"
+ * Los argumentos que comienzan con -- se pasan a la aplicación.
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final long MISSING_TASK_ID = Long.MAX_VALUE;
+    // Estados que no son HTTP: la solicitud superó el tiempo límite o falló la conexión.
+    private static final int TIMEOUT_STATUS = -1;
+    private static final int ERROR_STATUS = -2;
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private Operation[] operations;
+    private int[] cumulativeWeights;
+    private TaskManagerState state;
+    private HttpClient http;
+    private Duration timeout;
+
+    /**
+     * Operaciones que componen la carga, con el nombre usado en el parámetro mix y en los resultados.
+     */
+    private enum Operation {
+        CREATE, GET, LIST, UPDATE, DELETE;
+
+        private String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Ejecuta la prueba de carga con las opciones indicadas (clave=valor) y los argumentos de la aplicación (--clave=valor).
+     */
+    public static void main(String[] args) throws Exception {
+        // Lanzada desde el hilo main, devtools reiniciaría la aplicación en otro cargador de clases.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        new LoadTestHarness(args).run();
+        // Los hilos del cliente HTTP y de la aplicación no deben demorar el fin del proceso.
+        System.exit(0);
+    }
+
+    private LoadTestHarness(String[] args) {
+        options.put("rate", "500");
+        options.put("duration", "30s");
+        options.put("warmup", "10s");
+        options.put("seed", "10000");
+        options.put("mix", "create:20,get:50,list:10,update:15,delete:5");
+        options.put("timeout", "10s");
+        options.put("output", "target/load-test/result.json");
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            } else if (arg.contains("=") && options.containsKey(arg.substring(0, arg.indexOf('=')))) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Argumento desconocido: " + arg + ". Las opciones válidas son " +
+                        String.join(", ", options.keySet()));
+            }
+        }
+        parseMix(options.get("mix"));
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    private void run() throws IOException, InterruptedException {
+        double rate = Double.parseDouble(options.get("rate"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        timeout = DurationStyle.detectAndParse(options.get("timeout"));
+
+        state = new TaskManagerState();
+        state.tableSize = Integer.parseInt(options.get("seed"));
+        state.start(applicationArgs.toArray(String[]::new));
+        Instant startedAt = Instant.now();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            System.out.printf("Enviando %.0f solicitudes/s durante %s (más %s de calentamiento)%n", rate, duration, warmup);
+
+            long start = System.nanoTime();
+            long measureStart = start + warmup.toNanos();
+            long end = measureStart + duration.toNanos();
+            for (long n = 0; ; n++) {
+                long intended = start + Math.round(n * 1_000_000_000d / rate);
+                if (intended >= end) {
+                    break;
+                }
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Operation operation = nextOperation();
+                boolean measured = intended >= measureStart;
+                clients.execute(() -> execute(operation, intended, measured));
+            }
+            // Al cerrar el ejecutor se espera a que terminen las solicitudes en curso.
+        } finally {
+            state.stopApplication();
+        }
+
+        Path output = Path.of(options.get("output"));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        MAPPER.writeValue(output.toFile(), report(startedAt, duration));
+        printSummary(duration);
+        System.out.println("Resultados escritos en " + output.toAbsolutePath());
+    }
+
+    /**
+     * Envía una solicitud y registra su estado y sus latencias desde el momento programado y desde el envío.
+     */
+    private void execute(Operation operation, long intended, boolean measured) {
+        long sent = System.nanoTime();
+        int status;
+        try {
+            HttpResponse<String> response = http.send(request(operation), HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            if (operation == Operation.CREATE && status == 201) {
+                createdIds.add(MAPPER.readTree(response.body()).path("id").asLong());
+            }
+        } catch (HttpTimeoutException e) {
+            status = TIMEOUT_STATUS;
+        } catch (IOException e) {
+            status = ERROR_STATUS;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long done = System.nanoTime();
+        if (measured) {
+            stats.get(operation).record(status, done - intended, done - sent);
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws IOException {
+        String base = "http://localhost:" + state.port + "/tasks";
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        return switch (operation) {
+            case CREATE -> builder.uri(URI.create(base)).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(taskJson(null))).build();
+            case GET -> builder.uri(URI.create(base + "/" + state.randomSeededId())).GET().build();
+            case LIST -> builder.uri(URI.create(base + "?limit=50")).GET().build();
+            case UPDATE -> builder.uri(URI.create(base)).header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(taskJson(state.randomSeededId()))).build();
+            case DELETE -> builder.uri(URI.create(base + "/" + Objects.requireNonNullElse(createdIds.poll(), MISSING_TASK_ID)))
+                    .DELETE().build();
+        };
+    }
+
+    private static String taskJson(Long id) throws IOException {
+        Map<String, Object> task = new LinkedHashMap<>();
+        if (id != null) {
+            task.put("id", id);
+        }
+        int index = ThreadLocalRandom.current().nextInt(1_000_000);
+        task.put("title", TaskManagerState.newTaskRequest(index).getTitle());
+        task.put("description", TaskManagerState.newTaskRequest(index).getDescription());
+        return MAPPER.writeValueAsString(task);
+    }
+
+    private void parseMix(String mix) {
+        List<Operation> selected = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                total += weight;
+                selected.add(operation);
+                weights.add(total);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de operaciones debe incluir al menos una con peso positivo");
+        }
+        operations = selected.toArray(Operation[]::new);
+        cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+        return operations[index >= 0 ? index : -index - 1];
+    }
+
+    private Map<String, Object> report(Instant startedAt, Duration duration) {
+        Map<String, Object> config = new LinkedHashMap<>(options);
+        config.put("applicationArgs", applicationArgs);
+        config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        config.put("javaVersion", Runtime.version().toString());
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        OperationStats all = new OperationStats();
+        for (Operation operation : operations) {
+            OperationStats operationStats = stats.get(operation);
+            all.add(operationStats);
+            results.put(operation.key(), operationStats.toReport(duration));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("config", config);
+        report.put("all", all.toReport(duration));
+        report.put("operations", results);
+        return report;
+    }
+
+    private void printSummary(Duration duration) {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n", "op", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        OperationStats all = new OperationStats();
+        for (Operation operation : operations) {
+            all.add(stats.get(operation));
+            stats.get(operation).print(operation.key(), duration);
+        }
+        all.print("all", duration);
+    }
+
+    /**
+     * Estados HTTP y latencias de una operación. Las latencias se registran en microsegundos en histogramas
+     * HdrHistogram, que conservan tres cifras significativas en todo el rango sin guardar cada muestra. En los
+     * resultados, throughput cuenta todas las solicitudes medidas y successfulThroughput solo las respuestas 2xx.
+     */
+    private static final class OperationStats {
+        private final Histogram corrected = new ConcurrentHistogram(3);
+        private final Histogram uncorrected = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+
+        private void record(int status, long correctedNanos, long uncorrectedNanos) {
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(correctedNanos));
+            uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(uncorrectedNanos));
+        }
+
+        private void add(OperationStats other) {
+            corrected.add(other.corrected);
+            uncorrected.add(other.uncorrected);
+            other.statuses.forEach((status, count) ->
+                    statuses.computeIfAbsent(status, key -> new LongAdder()).add(count.sum()));
+        }
+
+        private Map<String, Object> toReport(Duration duration) {
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            long successful = 0;
+            for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+                int status = entry.getKey();
+                statusCounts.put(status == TIMEOUT_STATUS ? "timeout" : status == ERROR_STATUS ? "error" : String.valueOf(status),
+                        entry.getValue().sum());
+                successful += status >= 200 && status < 300 ? entry.getValue().sum() : 0;
+            }
+            double seconds = duration.toNanos() / 1e9;
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", corrected.getTotalCount());
+            report.put("throughput", round(corrected.getTotalCount() / seconds));
+            report.put("successfulThroughput", round(successful / seconds));
+            report.put("statuses", statusCounts);
+            report.put("latencyMs", latencies(corrected));
+            report.put("uncorrectedLatencyMs", latencies(uncorrected));
+            return report;
+        }
+
+        private void print(String name, Duration duration) {
+            System.out.printf("%-8s %10d %10.1f %10.3f %10.3f %10.3f %10.3f%n", name, corrected.getTotalCount(),
+                    corrected.getTotalCount() / (duration.toNanos() / 1e9), millis(corrected.getValueAtPercentile(50)),
+                    millis(corrected.getValueAtPercentile(99)), millis(corrected.getValueAtPercentile(99.9)),
+                    millis(corrected.getMaxValue()));
+        }
+
+        private static Map<String, Object> latencies(Histogram histogram) {
+            Map<String, Object> latencies = new LinkedHashMap<>();
+            latencies.put("p50", millis(histogram.getValueAtPercentile(50)));
+            latencies.put("p90", millis(histogram.getValueAtPercentile(90)));
+            latencies.put("p99", millis(histogram.getValueAtPercentile(99)));
+            latencies.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            latencies.put("max", millis(histogram.getMaxValue()));
+            latencies.put("mean", round(histogram.getMean() / 1000));
+            return latencies;
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000d);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000d;
+        }
+    }
+}
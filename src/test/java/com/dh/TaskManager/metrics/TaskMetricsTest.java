@@ -0,0 +1,109 @@
+package com.dh.TaskManager.metrics;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.exception.NotFoundException;
+import com.dh.TaskManager.service.impl.TaskService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica las métricas propias sobre un SimpleMeterRegistry: los Timer de TaskMetricsAspect con las etiquetas
+ * "method" y "exception", y la cantidad de sentencias SQL por solicitud de StatementCountFilter.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskMetricsTest {
+
+    /**
+     * Registro de métricas en memoria propio de esta prueba, para no depender de las mediciones de otras. Cada prueba
+     * mide operaciones distintas, ya que los medidores no pueden quitarse: el aspecto y el filtro los conservan.
+     */
+    @TestConfiguration
+    static class MeterRegistryConfig {
+
+        @Bean
+        @Primary
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Título");
+        taskRequestDTO.setDescription("Descripción");
+        taskId = taskService.createTask(taskRequestDTO).getId();
+    }
+
+    @Test
+    void timersAreTaggedWithTheMethodAndTheException() {
+        taskService.getTaskById(taskId);
+        taskService.getTaskById(taskId);
+        assertThrows(NotFoundException.class, () -> taskService.getTaskById(-1L));
+
+        assertEquals(2, timer("taskmanager.service", "getTaskById", "None").count());
+        assertEquals(1, timer("taskmanager.service", "getTaskById", "NotFoundException").count());
+        // Las conversiones del mapper no se miden por separado: se invocan una vez por tarea en los listados.
+        assertNull(meterRegistry.find("taskmanager.mapper").timer());
+        assertTrue(timer("taskmanager.service", "getTaskById", "None").max(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void recordsTheStatementsOfEachRequestByRoute() throws Exception {
+        mockMvc.perform(put("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + taskId + ",\"title\":\"Nuevo título\",\"description\":\"D\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/{id}", taskId)).andExpect(status().isNoContent());
+        // El filtro de identificadores ya sabe que la tarea no existe, por lo que no se consulta la base.
+        mockMvc.perform(delete("/tasks/{id}", -1L)).andExpect(status().isNotFound());
+
+        // El UPDATE y la consulta de la versión nueva.
+        DistributionSummary update = statements("PUT", "/tasks");
+        assertEquals(1, update.count());
+        assertEquals(2, update.totalAmount());
+
+        DistributionSummary deletes = statements("DELETE", "/tasks/{id}");
+        assertEquals(2, deletes.count());
+        assertEquals(1, deletes.totalAmount());
+        assertEquals(1, deletes.max());
+    }
+
+    private Timer timer(String name, String method, String exception) {
+        return meterRegistry.get(name).tag("method", method).tag("exception", exception).timer();
+    }
+
+    private DistributionSummary statements(String method, String uri) {
+        return meterRegistry.get("taskmanager.request.statements").tag("method", method).tag("uri", uri).summary();
+    }
+}
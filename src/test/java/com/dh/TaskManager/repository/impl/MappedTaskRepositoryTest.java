@@ -0,0 +1,56 @@
+package com.dh.TaskManager.repository.impl;
+
+import com.dh.TaskManager.entity.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que el almacenamiento mapeado en memoria trate un identificador nulo como una tarea inexistente, igual
+ * que el repositorio JPA, en lugar de fallar al convertirlo a long.
+ */
+class MappedTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MappedTaskRepository(directory, DataSize.ofKilobytes(64), false, Duration.ZERO, 0.5);
+        repository.save(new Task(null, "Título", "Descripción", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void nullIdMatchesNoTask() {
+        assertTrue(repository.updateAndGetVersion(null, "Otro", "Otra").isEmpty());
+        assertEquals(0, repository.updateTitleAndDescriptionIfVersion(null, 0L, "Otro", "Otra"));
+        assertEquals(0, repository.patchTask(null, "Otro", null));
+        assertEquals(0, repository.deleteTaskById(null));
+        assertTrue(repository.findById(null).isEmpty());
+        assertTrue(repository.findSummaryById(null).isEmpty());
+        assertTrue(repository.findVersionById(null).isEmpty());
+        assertFalse(repository.existsById(null));
+        assertEquals(List.of(1L), repository.findExistingIds(Arrays.asList(null, 1L)));
+        assertEquals(1, repository.findAllById(Arrays.asList(null, 1L)).size());
+
+        Task task = repository.findById(1L).orElseThrow();
+        assertEquals("Título", task.getTitle());
+        assertEquals(0L, task.getVersion());
+    }
+}
@@ -0,0 +1,146 @@
+package com.dh.TaskManager.repository.impl;
+
+import com.dh.TaskManager.entity.Task;
+import com.dh.TaskManager.repository.PartialWriteException;
+import com.dh.TaskManager.repository.TaskAggregate;
+import com.dh.TaskManager.repository.TaskSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica el reparto de las tareas entre shards, la asignación de identificadores y la combinación ordenada de las
+ * lecturas del almacenamiento particionado, con tres bases H2 en memoria.
+ */
+class ShardedTaskRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private final ShardedTaskRepository repository = new ShardedTaskRepository(SHARDS,
+            "jdbc:h2:mem:sharded-test-" + UUID.randomUUID() + "-{shard};DB_CLOSE_DELAY=-1", "sa", "", 4, 10);
+
+    @AfterEach
+    void close() {
+        repository.close();
+    }
+
+    @Test
+    void assignsUniqueIdsAndSpreadsTasksAcrossShards() {
+        List<Task> tasks = new ArrayList<>(repository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> new Task(null, "Tarea " + i, "Descripción " + i, null))
+                .toList()));
+        tasks.add(repository.save(new Task(null, "Suelta", null, null)));
+
+        // Los identificadores se reservan en bloques de 10: no se repiten y siguen el orden de alta.
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        assertEquals(LongStream.rangeClosed(1, 101).boxed().toList(), ids);
+        assertTrue(tasks.stream().allMatch(task -> task.getVersion() == 0L));
+
+        Map<Integer, Long> tasksPerShard = new HashMap<>();
+        ids.forEach(id -> tasksPerShard.merge(repository.shardFor(id).getIndex(), 1L, Long::sum));
+        assertEquals(SHARDS, tasksPerShard.size());
+        assertTrue(tasksPerShard.values().stream().allMatch(count -> count > 15));
+
+        TaskAggregate aggregate = repository.aggregate();
+        assertEquals(101, aggregate.getCount());
+        assertEquals(101, aggregate.getMaxId());
+        assertEquals(0, aggregate.getVersionSum());
+    }
+
+    @Test
+    void mergesReadsFromAllShardsOrderedById() {
+        repository.saveAll(IntStream.range(0, 30).mapToObj(i -> new Task(null, "Tarea " + i, "D", null)).toList());
+
+        List<Task> page = repository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(5));
+        assertEquals(List.of(11L, 12L, 13L, 14L, 15L), page.stream().map(Task::getId).toList());
+
+        List<TaskSummary> summaries = repository.findSummariesByIdGreaterThanOrderByIdAsc(27L, Limit.of(5));
+        assertEquals(List.of(28L, 29L, 30L), summaries.stream().map(TaskSummary::getId).toList());
+
+        try (Stream<Task> all = repository.streamAllOrderedById()) {
+            assertEquals(LongStream.rangeClosed(1, 30).boxed().toList(), all.map(Task::getId).toList());
+        }
+        assertEquals(Set.of(3L, 7L, 29L), new HashSet<>(repository.findExistingIds(List.of(3L, 7L, 29L, 31L))));
+    }
+
+    @Test
+    void updatesWithVersionCheckAndDeletesInBatch() {
+        List<Task> tasks = repository.saveAll(IntStream.range(0, 10).mapToObj(i -> new Task(null, "T", "D", null)).toList());
+
+        Task first = tasks.get(0);
+        first.setTitle("Editada");
+        repository.saveAll(List.of(first));
+        assertEquals(1L, first.getVersion());
+        assertEquals("Editada", repository.findById(first.getId()).orElseThrow().getTitle());
+
+        Task stale = new Task(first.getId(), "Vieja", "D", 0L);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(stale));
+
+        repository.deleteAllByIdInBatch(tasks.stream().skip(5).map(Task::getId).toList());
+        assertEquals(5, repository.aggregate().getCount());
+        assertEquals(1, repository.patchTask(first.getId(), null, "Nueva"));
+        assertEquals("Nueva", repository.findById(first.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void concurrentUpdatesEachReportTheVersionTheyWrote() throws Exception {
+        long id = repository.save(new Task(null, "T", "D", null)).getId();
+        int writers = 8;
+        int updatesPerWriter = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                results.add(executor.submit(() -> IntStream.range(0, updatesPerWriter)
+                        .mapToObj(i -> repository.updateAndGetVersion(id, "T", "D").orElseThrow())
+                        .toList()));
+            }
+            List<Long> versions = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                versions.addAll(result.get());
+            }
+
+            // Si alguna consulta leyera la versión de otra modificación, habría versiones repetidas y otras ausentes.
+            Collections.sort(versions);
+            assertEquals(LongStream.rangeClosed(1, writers * updatesPerWriter).boxed().toList(), versions);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(repository.updateAndGetVersion(id + 1000, "T", "D").isEmpty());
+    }
+
+    @Test
+    void reportsTheTasksOfFailedShardsWhenOtherShardsCommit() {
+        List<Task> tasks = repository.saveAll(IntStream.range(0, 30).mapToObj(i -> new Task(null, "T", "D", null)).toList());
+        Task stale = tasks.get(0);
+        int failedShard = repository.shardFor(stale.getId()).getIndex();
+        tasks.forEach(task -> task.setTitle("Editada"));
+        stale.setVersion(5L);
+
+        PartialWriteException e = assertThrows(PartialWriteException.class, () -> repository.saveAll(tasks));
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, e.getCause());
+
+        // El shard de la tarea con la versión vieja deshace todas sus tareas; los demás shards quedan confirmados.
+        for (Task task : tasks) {
+            boolean inFailedShard = repository.shardFor(task.getId()).getIndex() == failedShard;
+            assertEquals(!inFailedShard, e.wasWritten(task));
+            assertEquals(inFailedShard ? "T" : "Editada", repository.findById(task.getId()).orElseThrow().getTitle());
+        }
+
+        // Si fallan todos los shards no hay una escritura parcial y se relanza la falla original.
+        List<Task> allStale = tasks.stream().map(task -> new Task(task.getId(), "Vieja", "D", 5L)).toList();
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.saveAll(allStale));
+    }
+}
@@ -0,0 +1,107 @@
+package com.dh.TaskManager.search;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la normalización de los términos, la búsqueda por prefijo, el orden por relevancia, la intersección de
+ * los términos de la consulta, la paginación de los resultados y la reconstrucción del índice.
+ */
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void tokenizeIgnoresCaseDiacriticsAndSeparators() {
+        assertEquals(List.of("reunion", "con", "el", "cliente", "ano", "2024"),
+                TaskSearchIndex.tokenize("Reunión CON el-cliente: Año 2024!"));
+        assertEquals(List.of(), TaskSearchIndex.tokenize("  ¿? "));
+        assertEquals(List.of(), TaskSearchIndex.tokenize(null));
+
+        index.index(1L, "REUNIÓN", null);
+        assertEquals(List.of(1L), ids(index.search("reunion", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("Reunión", 0, 10)));
+    }
+
+    @Test
+    void queryTermsMatchPrefixesButExactMatchesScoreHigher() {
+        index.index(1L, "planificar", "semana");
+        index.index(2L, "plan", "semana");
+        index.index(3L, "presupuesto", "semana");
+
+        TaskSearchIndex.SearchResult result = index.search("plan", 0, 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(2L, 1L), ids(result));
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+        assertEquals(List.of(), ids(index.search("planes", 0, 10)));
+    }
+
+    @Test
+    void prefixExpansionsAreLimited() {
+        LongStream.range(0, 100).forEach(id -> index.index(id, "tarea" + id, null));
+        assertEquals(64, index.search("tarea", 0, 100).getTotal());
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        index.index(1L, "informe mensual", "ventas");
+        index.index(2L, "informe anual", null);
+        index.index(3L, "mensual", "ventas");
+
+        assertEquals(List.of(1L), ids(index.search("informe ventas", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("inf mens", 0, 10)));
+        assertEquals(List.of(), ids(index.search("informe inexistente", 0, 10)));
+
+        index.remove(1L);
+        assertEquals(List.of(), ids(index.search("informe ventas", 0, 10)));
+    }
+
+    @Test
+    void resultsArePagedByRelevanceThenById() {
+        LongStream.rangeClosed(1, 5).forEach(id -> index.index(id, "igual", null));
+        index.index(6L, "igual igual", null);
+
+        assertEquals(List.of(6L, 1L), ids(index.search("igual", 0, 2)));
+        TaskSearchIndex.SearchResult page = index.search("igual", 2, 2);
+        assertEquals(6, page.getTotal());
+        assertEquals(List.of(2L, 3L), ids(page));
+        assertEquals(List.of(5L), ids(index.search("igual", 5, 2)));
+        assertEquals(List.of(), ids(index.search("igual", 6, 2)));
+    }
+
+    @Test
+    void changesDuringRebuildTakePrecedenceOverTheRepository() {
+        index.rebuild(consumer -> {
+            // Mientras se recorre el repositorio se modifica la tarea 1 y se elimina la 2.
+            index.index(1L, "nuevo", null);
+            index.remove(2L);
+            consumer.accept(task(1L, "viejo"));
+            consumer.accept(task(2L, "eliminada"));
+            consumer.accept(task(3L, "viejo"));
+        });
+
+        assertEquals(List.of(1L), ids(index.search("nuevo", 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("viejo", 0, 10)));
+        assertEquals(List.of(), ids(index.search("eliminada", 0, 10)));
+
+        // Terminada la reconstrucción, la siguiente vuelve a tomar las tareas del repositorio.
+        index.rebuild(consumer -> consumer.accept(task(1L, "viejo")));
+        assertEquals(List.of(1L, 3L), ids(index.search("viejo", 0, 10)));
+    }
+
+    private static TaskResponseDTO task(long id, String title) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+
+    private static List<Long> ids(TaskSearchIndex.SearchResult result) {
+        return result.getHits().stream().map(TaskSearchIndex.SearchHit::getId).toList();
+    }
+}
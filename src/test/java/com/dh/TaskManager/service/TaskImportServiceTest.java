@@ -0,0 +1,103 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskImportErrorDTO;
+import com.dh.TaskManager.dto.TaskImportProgressDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.service.impl.TaskImportService;
+import com.dh.TaskManager.service.impl.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica el guardado por bloques y el informe de errores por número de línea de la importación NDJSON.
+ */
+class TaskImportServiceTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @Test
+    void savesInChunksAndReportsErrorsByLine() throws IOException {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        TaskImportService importService = new TaskImportService(taskService, mock(EntityManager.class),
+                new ObjectMapper(), 2, 1000, DataSize.ofMegabytes(1));
+        String input = """
+                {"title":"Uno","description":"Primera"}
+
+                no es JSON
+                {"title":"","description":"Sin título"}
+                {"title":"Dos","description":"Segunda"} sobrante
+                {"title":"Tres","description":"Tercera"}
+                {"title":"Cuatro","description":"Cuarta"}
+                """;
+        List<TaskImportErrorDTO> errors = new ArrayList<>();
+        List<TaskImportProgressDTO> progress = new ArrayList<>();
+
+        TaskImportProgressDTO result = importService.importTasks(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), errors::add, progress::add);
+
+        assertEquals(List.of(2, 2), chunkSizes);
+        assertEquals(List.of(3L, 4L, 5L), errors.stream().map(TaskImportErrorDTO::getLine).toList());
+        assertEquals(2, progress.size());
+        assertEquals(7, result.getLines());
+        assertEquals(3, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.isCompleted());
+    }
+
+    @Test
+    void reportsLinesLongerThanTheMaximumWithoutStoppingTheImport() throws IOException {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        String exact = "{\"title\":\"Exacta\",\"description\":\"" + "x".repeat(30) + "\"}";
+        TaskImportService importService = new TaskImportService(taskService, mock(EntityManager.class),
+                new ObjectMapper(), 1000, 1000, DataSize.ofBytes(exact.length()));
+        String input = "{\"title\":\"Uno\",\"description\":\"Primera\"}\r\n"
+                + "{\"title\":\"Larga\",\"description\":\"" + "x".repeat(20_000) + "\"}\n"
+                + exact + "\n"
+                + "{\"title\":\"Dos\",\"description\":\"Segunda\"}" + " ".repeat(100) + "\n"
+                + "no es JSON" + "x".repeat(20_000) + "\n"
+                + "{\"title\":\"Tres\",\"description\":\"Tercera\"}";
+        List<TaskImportErrorDTO> errors = new ArrayList<>();
+
+        TaskImportProgressDTO result = importService.importTasks(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), errors::add, progress -> { });
+
+        assertEquals(List.of(2L, 4L, 5L), errors.stream().map(TaskImportErrorDTO::getLine).toList());
+        assertTrue(errors.stream().allMatch(error -> error.getMessage().contains("longitud")));
+        assertEquals(6, result.getLines());
+        assertEquals(3, result.getCreated());
+        assertEquals(3, result.getFailed());
+    }
+
+    /**
+     * Simula TaskService.createTasks: rechaza las tareas con título vacío y crea las demás.
+     */
+    private BatchResponseDTO created(List<TaskRequestDTO> requests) {
+        chunkSizes.add(requests.size());
+        List<BatchItemResultDTO> items = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i).getTitle().isBlank()) {
+                items.add(new BatchItemResultDTO(i, 400, null, "The title cannot be empty."));
+                failed++;
+            } else {
+                items.add(new BatchItemResultDTO(i, 201, null, null));
+            }
+        }
+        return new BatchResponseDTO(items.size() - failed, failed, items);
+    }
+}
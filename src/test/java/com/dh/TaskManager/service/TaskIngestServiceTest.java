@@ -0,0 +1,149 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskIngestStatusDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.exception.ServiceUnavailableException;
+import com.dh.TaskManager.service.impl.TaskIngestService;
+import com.dh.TaskManager.service.impl.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica el agrupamiento en lotes, la contrapresión y el vaciado de la cola al detenerse del modo de alta asíncrono.
+ */
+class TaskIngestServiceTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private TaskIngestService ingestService;
+
+    @AfterEach
+    void tearDown() {
+        ingestService.stop();
+    }
+
+    @Test
+    void groupsTasksArrivingWithinTheWindowIntoOneBatch() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            BatchResponseDTO response = created(invocation.getArgument(0));
+            written.countDown();
+            return response;
+        });
+        ingestService = newIngestService(100, 50, Duration.ofMillis(500));
+        ingestService.start();
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tokens.add(ingestService.submitTask(request(i)).getToken());
+        }
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        ingestService.stop();
+        assertEquals(List.of(20), batchSizes);
+        for (String token : tokens) {
+            assertEquals(TaskIngestStatusDTO.State.CREATED, ingestService.getIngestStatus(token).getState());
+        }
+    }
+
+    @Test
+    void rejectsTasksWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return created(invocation.getArgument(0));
+        });
+        ingestService = newIngestService(1, 1, Duration.ZERO);
+        ingestService.start();
+
+        ingestService.submitTask(request(0));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        ingestService.submitTask(request(1));
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> ingestService.submitTask(request(2)));
+        assertEquals(Duration.ofSeconds(1), e.getRetryAfter());
+        release.countDown();
+    }
+
+    @Test
+    void flushesQueuedTasksOnStop() {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestService = newIngestService(100, 50, Duration.ofSeconds(30));
+        ingestService.start();
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(ingestService.submitTask(request(i)).getToken());
+        }
+        ingestService.stop();
+
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        for (String token : tokens) {
+            assertEquals(TaskIngestStatusDTO.State.CREATED, ingestService.getIngestStatus(token).getState());
+        }
+        assertThrows(ServiceUnavailableException.class, () -> ingestService.submitTask(request(10)));
+    }
+
+    private TaskIngestService newIngestService(int queueCapacity, int maxBatchSize, Duration maxBatchDelay) {
+        return newIngestService(queueCapacity, maxBatchSize, maxBatchDelay, 1000);
+    }
+
+    private TaskIngestService newIngestService(int queueCapacity, int maxBatchSize, Duration maxBatchDelay,
+                                               int batchMaxSize) {
+        return new TaskIngestService(taskService, true, queueCapacity, maxBatchSize, maxBatchDelay,
+                Duration.ofSeconds(1), Duration.ofMinutes(10), batchMaxSize);
+    }
+
+    @Test
+    void neverWritesMoreTasksPerBatchThanCreateTasksAccepts() {
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestService = newIngestService(100, 50, Duration.ofSeconds(30), 8);
+        ingestService.start();
+        for (int i = 0; i < 20; i++) {
+            ingestService.submitTask(request(i));
+        }
+        ingestService.stop();
+
+        assertEquals(20, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 8), batchSizes.toString());
+    }
+
+    private BatchResponseDTO created(List<TaskRequestDTO> requests) {
+        batchSizes.add(requests.size());
+        List<BatchItemResultDTO> items = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskResponseDTO task = new TaskResponseDTO();
+            task.setId(nextId.getAndIncrement());
+            task.setTitle(requests.get(i).getTitle());
+            task.setDescription(requests.get(i).getDescription());
+            items.add(new BatchItemResultDTO(i, 201, task, null));
+        }
+        return new BatchResponseDTO(items.size(), 0, items);
+    }
+
+    private static TaskRequestDTO request(int index) {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Tarea " + index);
+        taskRequestDTO.setDescription("Descripción " + index);
+        return taskRequestDTO;
+    }
+}
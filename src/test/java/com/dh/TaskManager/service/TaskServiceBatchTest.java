@@ -0,0 +1,140 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.BatchItemResultDTO;
+import com.dh.TaskManager.dto.BatchResponseDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.exception.BadRequestException;
+import com.dh.TaskManager.service.impl.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica los resultados por elemento de las operaciones por lotes, el límite de elementos por lote y la cantidad
+ * de sentencias SQL que ejecutan gracias a los lotes JDBC.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "taskmanager.batch.max-size=20",
+        "taskmanager.batch.jdbc-batch-size=50"
+})
+class TaskServiceBatchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createTasksReportsEachItemAndBatchesTheInserts() {
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        IntStream.range(0, 10).forEach(i -> requests.add(createRequest("Tarea " + i, "Descripción " + i)));
+        requests.add(createRequest("", "Sin título"));
+        requests.add(null);
+
+        BatchResponseDTO response = taskService.createTasks(requests);
+
+        assertEquals(10, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(201, 400), statuses(response).subList(9, 11));
+        assertEquals(400, response.getItems().get(11).getStatus());
+        assertEquals(0L, response.getItems().get(0).getTask().getVersion());
+        // Los diez INSERT se envían en un único lote JDBC; como mucho se agrega una consulta a la secuencia para
+        // reservar más identificadores (se reservan de a 50).
+        assertEquals(10, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void updateTasksReportsEachItemWithTheNewVersion() {
+        List<Long> ids = createTasks(3);
+        statistics.clear();
+
+        List<TaskRequestToUpdateDTO> requests = Arrays.asList(
+                updateRequest(ids.get(0), "Uno", "Primera"),
+                updateRequest(ids.get(1), "Dos", "Segunda"),
+                updateRequest(ids.get(2), "Tres", "Tercera"),
+                updateRequest(null, "Sin id", "Sin id"),
+                updateRequest(-1L, "Inexistente", "Inexistente"),
+                null);
+        BatchResponseDTO response = taskService.updateTasks(requests);
+
+        assertEquals(List.of(200, 200, 200, 400, 404, 400), statuses(response));
+        TaskResponseDTO updated = response.getItems().get(0).getTask();
+        assertEquals("Uno", updated.getTitle());
+        // Los resultados se arman después de escribir las tareas, con la versión que quedó guardada.
+        assertEquals(1L, updated.getVersion());
+        // Un SELECT para cargar las tareas y un único lote JDBC con los tres UPDATE.
+        assertEquals(3, statistics.getEntityUpdateCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1L, taskService.getTaskVersion(ids.get(0)));
+    }
+
+    @Test
+    void deleteTasksReportsEachItem() {
+        List<Long> ids = createTasks(2);
+
+        BatchResponseDTO response = taskService.deleteTasks(Arrays.asList(ids.get(0), null, -1L, ids.get(1)));
+
+        assertEquals(List.of(204, 400, 404, 204), statuses(response));
+        assertEquals(2, response.getSucceeded());
+    }
+
+    @Test
+    void rejectsBatchesLargerThanTheLimit() {
+        List<TaskRequestDTO> requests = Collections.nCopies(21, createRequest("Título", "Descripción"));
+        assertThrows(BadRequestException.class, () -> taskService.createTasks(requests));
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(Collections.nCopies(21, 1L)));
+        assertEquals(20, taskService.createTasks(requests.subList(0, 20)).getSucceeded());
+    }
+
+    private List<Long> createTasks(int count) {
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> requests.add(createRequest("Tarea " + i, "Descripción " + i)));
+        return taskService.createTasks(requests).getItems().stream()
+                .map(item -> item.getTask().getId())
+                .toList();
+    }
+
+    private static List<Integer> statuses(BatchResponseDTO response) {
+        return response.getItems().stream().map(BatchItemResultDTO::getStatus).toList();
+    }
+
+    private static TaskRequestDTO createRequest(String title, String description) {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle(title);
+        taskRequestDTO.setDescription(description);
+        return taskRequestDTO;
+    }
+
+    private static TaskRequestToUpdateDTO updateRequest(Long id, String title, String description) {
+        TaskRequestToUpdateDTO taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(id);
+        taskRequestToUpdateDTO.setTitle(title);
+        taskRequestToUpdateDTO.setDescription(description);
+        return taskRequestToUpdateDTO;
+    }
+}
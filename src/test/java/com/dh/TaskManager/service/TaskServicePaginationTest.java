@@ -0,0 +1,124 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.TaskPageDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.exception.BadRequestException;
+import com.dh.TaskManager.service.impl.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Verifica la paginación por cursor (codificación del cursor, límites y última página) y el arreglo JSON que GET
+ * /tasks escribe de forma incremental, con su propio límite de tiempo. Utiliza una base propia para empezar sin
+ * tareas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pagination-test;DB_CLOSE_ON_EXIT=FALSE",
+        "taskmanager.pagination.default-limit=3",
+        "taskmanager.pagination.max-limit=10",
+        "taskmanager.streaming.timeout=2m",
+        "spring.mvc.async.request-timeout=1m"
+})
+@AutoConfigureMockMvc
+class TaskServicePaginationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from tasks");
+    }
+
+    @Test
+    void followsTheCursorUntilTheLastPage() {
+        List<Long> ids = createTasks(4);
+
+        TaskPageDTO first = taskService.getTasksPage(null, 2);
+        assertEquals(ids.subList(0, 2), ids(first));
+        // El cursor es opaco para el cliente, pero codifica el identificador de la última tarea de la página.
+        assertEquals(Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ids.get(1).toString().getBytes(StandardCharsets.US_ASCII)), first.getNextCursor());
+
+        // La última página está completa, pero no hay más tareas: no se informa un cursor siguiente.
+        TaskPageDTO last = taskService.getTasksPage(first.getNextCursor(), 2);
+        assertEquals(ids.subList(2, 4), ids(last));
+        assertNull(last.getNextCursor());
+
+        TaskPageDTO byDefault = taskService.getTasksPage(null, null);
+        assertEquals(3, byDefault.getItems().size());
+        assertNotNull(byDefault.getNextCursor());
+    }
+
+    @Test
+    void rejectsInvalidCursorsAndLimits() throws Exception {
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage("no es un cursor", 2));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage("YWJj", 2));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage(null, 0));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksPage(null, 11));
+        assertTrue(taskService.getTasksPage(null, 10).getItems().isEmpty());
+
+        mockMvc.perform(get("/tasks").param("after", "%%%"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks").param("limit", "11"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamsAllTasksAsAJsonArrayWithTheStreamingTimeout() throws Exception {
+        MvcResult empty = mockMvc.perform(get("/tasks")).andReturn();
+        assertEquals(120_000L, empty.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(empty))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        List<Long> ids = createTasks(2);
+        MvcResult all = mockMvc.perform(get("/tasks")).andReturn();
+        mockMvc.perform(asyncDispatch(all))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(ids.get(1)));
+
+        // Las demás solicitudes asíncronas, como las suscripciones a los cambios, conservan el límite general.
+        MvcResult changes = mockMvc.perform(get("/tasks/changes")).andReturn();
+        assertEquals(60_000L, changes.getRequest().getAsyncContext().getTimeout());
+    }
+
+    private List<Long> createTasks(int count) {
+        List<Long> ids = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> {
+            TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+            taskRequestDTO.setTitle("Tarea " + i);
+            taskRequestDTO.setDescription("Descripción " + i);
+            ids.add(taskService.createTask(taskRequestDTO).getId());
+        });
+        return ids;
+    }
+
+    private static List<Long> ids(TaskPageDTO page) {
+        return page.getItems().stream().map(TaskResponseDTO::getId).toList();
+    }
+}
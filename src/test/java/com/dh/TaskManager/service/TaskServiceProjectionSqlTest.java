@@ -0,0 +1,98 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.TaskField;
+import com.dh.TaskManager.dto.TaskPageDTO;
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.metrics.StatementCountingInspector;
+import com.dh.TaskManager.service.impl.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica que las lecturas con el parámetro fields solo seleccionan las columnas pedidas.
+ * Las sentencias SQL se obtienen del StatementInspector registrado en Hibernate.
+ */
+@SpringBootTest(properties = "taskmanager.cache.enabled=false")
+class TaskServiceProjectionSqlTest {
+
+    private static final Set<TaskField> ID_AND_TITLE = EnumSet.of(TaskField.ID, TaskField.TITLE);
+
+    @Autowired
+    private TaskService taskService;
+
+    @SpyBean
+    private StatementCountingInspector statementInspector;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Título");
+        taskRequestDTO.setDescription("Descripción");
+        taskId = taskService.createTask(taskRequestDTO).getId();
+        clearInvocations(statementInspector);
+    }
+
+    @Test
+    void getTaskByIdWithoutDescriptionDoesNotSelectIt() {
+        TaskResponseDTO task = taskService.getTaskById(taskId, ID_AND_TITLE);
+
+        assertEquals(taskId, task.getId());
+        assertEquals("Título", task.getTitle());
+        assertNull(task.getDescription());
+        List<String> statements = statements();
+        assertEquals(1, statements.size());
+        assertFalse(statements.get(0).contains("description"), statements.get(0));
+    }
+
+    @Test
+    void getTaskByIdWithDescriptionSelectsIt() {
+        taskService.getTaskById(taskId, EnumSet.allOf(TaskField.class));
+
+        assertTrue(statements().get(0).contains("description"));
+    }
+
+    @Test
+    void getTasksPageWithoutDescriptionDoesNotSelectIt() {
+        TaskPageDTO page = taskService.getTasksPage(null, 10, EnumSet.of(TaskField.TITLE));
+
+        assertFalse(page.getItems().isEmpty());
+        assertNull(page.getItems().get(0).getId());
+        assertNull(page.getItems().get(0).getDescription());
+        List<String> statements = statements();
+        assertEquals(1, statements.size());
+        assertFalse(statements.get(0).contains("description"), statements.get(0));
+    }
+
+    @Test
+    void streamAllTasksWithoutDescriptionDoesNotSelectIt() {
+        List<TaskResponseDTO> tasks = new ArrayList<>();
+        taskService.streamAllTasks(ID_AND_TITLE, tasks::add);
+
+        assertFalse(tasks.isEmpty());
+        assertTrue(tasks.stream().allMatch(task -> task.getDescription() == null));
+        List<String> statements = statements();
+        assertEquals(1, statements.size());
+        assertFalse(statements.get(0).contains("description"), statements.get(0));
+    }
+
+    private List<String> statements() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(statementInspector, atLeastOnce()).inspect(sql.capture());
+        return sql.getAllValues();
+    }
+}
@@ -0,0 +1,89 @@
+package com.dh.TaskManager.service;
+
+import com.dh.TaskManager.dto.TaskRequestDTO;
+import com.dh.TaskManager.dto.TaskRequestToUpdateDTO;
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.exception.NotFoundException;
+import com.dh.TaskManager.service.impl.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la cantidad exacta de sentencias SQL que ejecuta cada operación de escritura de TaskService.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskServiceStatementCountTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        TaskRequestDTO taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Título");
+        taskRequestDTO.setDescription("Descripción");
+        taskId = taskService.createTask(taskRequestDTO).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void updateTaskExecutesOneUpdateAndReadsTheNewVersion() {
+        TaskResponseDTO updated = taskService.updateTask(updateRequest(taskId, "Nuevo título", "Nueva descripción"));
+
+        assertEquals("Nuevo título", updated.getTitle());
+        assertEquals(1L, updated.getVersion());
+        // El UPDATE y la consulta de la versión nueva, para informarla en la respuesta y en el ETag.
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateMissingTaskExecutesOneStatement() {
+        assertThrows(NotFoundException.class, () -> taskService.updateTask(updateRequest(-1L, "Título", "Descripción")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteTaskByIdExecutesOneStatement() {
+        taskService.deleteTaskById(taskId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteMissingTaskExecutesNoStatements() {
+        // El filtro de identificadores ya sabe que la tarea no existe.
+        assertThrows(NotFoundException.class, () -> taskService.deleteTaskById(-1L));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void patchTaskExecutesOneUpdateAndOneSelect() {
+        TaskResponseDTO patched = taskService.patchTask(updateRequest(taskId, "Solo el título", null));
+
+        assertEquals("Solo el título", patched.getTitle());
+        assertEquals("Descripción", patched.getDescription());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private static TaskRequestToUpdateDTO updateRequest(Long id, String title, String description) {
+        TaskRequestToUpdateDTO taskRequestToUpdateDTO = new TaskRequestToUpdateDTO();
+        taskRequestToUpdateDTO.setId(id);
+        taskRequestToUpdateDTO.setTitle(title);
+        taskRequestToUpdateDTO.setDescription(description);
+        return taskRequestToUpdateDTO;
+    }
+}
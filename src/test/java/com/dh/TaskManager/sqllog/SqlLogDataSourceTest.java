@@ -0,0 +1,56 @@
+package com.dh.TaskManager.sqllog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que las sentencias lentas se registren con sus parámetros y el método de servicio en curso, y que las
+ * demás no se registren cuando no hay muestreo.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SqlLogDataSourceTest {
+
+    private final DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:sql-log-test;DB_CLOSE_DELAY=-1");
+
+    @AfterEach
+    void tearDown() {
+        SqlLogServiceAspect.CALLER.remove();
+        new JdbcTemplate(target).execute("drop all objects");
+    }
+
+    @Test
+    void logsSlowStatementsWithParametersAndCaller(CapturedOutput output) throws InterruptedException {
+        SqlLog sqlLog = new SqlLog(Duration.ZERO, 0, 100, 5, new SimpleMeterRegistry());
+        JdbcTemplate jdbc = new JdbcTemplate(new SqlLogDataSource(target, () -> sqlLog));
+        jdbc.execute("create table items (id bigint, name varchar(100))");
+
+        SqlLogServiceAspect.CALLER.set("TaskService.createTask");
+        jdbc.update("insert into items (id, name) values (?, ?)", 7L, "un nombre largo");
+        sqlLog.close();
+
+        assertTrue(output.getOut().contains("SQL lento"));
+        assertTrue(output.getOut().contains(
+                "en TaskService.createTask: insert into items (id, name) values (?, ?) | parámetros: [1=7, 2='un no…']"));
+    }
+
+    @Test
+    void skipsFastStatementsWithoutSampling(CapturedOutput output) throws InterruptedException {
+        SqlLog sqlLog = new SqlLog(Duration.ofHours(1), 0, 100, 200, new SimpleMeterRegistry());
+        JdbcTemplate jdbc = new JdbcTemplate(new SqlLogDataSource(target, () -> sqlLog));
+        jdbc.execute("create table items (id bigint)");
+        jdbc.update("insert into items (id) values (?)", 1L);
+        sqlLog.close();
+
+        assertFalse(output.getOut().contains("insert into items"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.dh.TaskManager.stats;
+
+import com.dh.TaskManager.dto.TaskResponseDTO;
+import com.dh.TaskManager.dto.TaskStatsDTO;
+import com.dh.TaskManager.event.TaskChangeType;
+import com.dh.TaskManager.event.TaskChangedEvent;
+import com.dh.TaskManager.repository.TaskSize;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica el mantenimiento incremental de TaskStatistics y su conciliación con el repositorio.
+ */
+class TaskStatisticsTest {
+
+    private final TaskStatistics statistics = new TaskStatistics(Duration.ofHours(1), 60);
+
+    @Test
+    void countsAndLengthsFollowCreatesUpdatesAndDeletes() {
+        change(TaskChangeType.CREATED, 1L, "abc", "descripción");
+        change(TaskChangeType.CREATED, 2L, "abcdefgh", "");
+        change(TaskChangeType.UPDATED, 1L, "a", "d");
+        change(TaskChangeType.DELETED, 2L, null, null);
+
+        TaskStatsDTO stats = statistics.snapshot();
+        assertEquals(1, stats.getCount());
+        assertEquals(2, stats.getCreatedInWindow());
+        assertEquals(1, stats.getUpdatedInWindow());
+        assertEquals(1, stats.getDeletedInWindow());
+        assertEquals(1, stats.getTitle().getTotalLength());
+        assertEquals(1, stats.getTitle().getDistribution().size());
+        assertEquals(1, stats.getTitle().getDistribution().get(0).getMinLength());
+        assertEquals(1, stats.getDescription().getTotalLength());
+    }
+
+    @Test
+    void reconcileReplacesLengthsAndDropsTasksMissingFromTheRepository() {
+        change(TaskChangeType.CREATED, 1L, "abc", "abc");
+        change(TaskChangeType.CREATED, 2L, "abc", "abc");
+
+        // La tarea 2 se eliminó y la tarea 3 se creó por fuera de la aplicación; la tarea 1 cambió de longitud.
+        statistics.reconcile(consumer -> List.of(size(1L, 10, 20), size(3L, 1, 2)).forEach(consumer));
+        TaskStatsDTO stats = statistics.snapshot();
+        assertEquals(2, stats.getCount());
+        assertEquals(11, stats.getTitle().getTotalLength());
+        assertEquals(22, stats.getDescription().getTotalLength());
+        assertNotNull(stats.getReconciledAt());
+
+        // Una segunda conciliación con los mismos datos no cambia nada.
+        statistics.reconcile(consumer -> List.of(size(1L, 10, 20), size(3L, 1, 2)).forEach(consumer));
+        assertEquals(2, statistics.snapshot().getCount());
+        assertEquals(11, statistics.snapshot().getTitle().getTotalLength());
+    }
+
+    @Test
+    void changesDuringReconcileWinOverTheRepositoryRead() {
+        change(TaskChangeType.CREATED, 1L, "abc", "abc");
+
+        statistics.reconcile(consumer -> {
+            change(TaskChangeType.UPDATED, 1L, "abcdef", "abc");
+            change(TaskChangeType.CREATED, 2L, "ab", "ab");
+            consumer.accept(size(1L, 3, 3));
+        });
+        TaskStatsDTO stats = statistics.snapshot();
+        assertEquals(2, stats.getCount());
+        assertEquals(8, stats.getTitle().getTotalLength());
+    }
+
+    private void change(TaskChangeType type, Long id, String title, String description) {
+        TaskResponseDTO task = null;
+        if (type != TaskChangeType.DELETED) {
+            task = new TaskResponseDTO();
+            task.setId(id);
+            task.setTitle(title);
+            task.setDescription(description);
+        }
+        statistics.onTaskChanged(new TaskChangedEvent(type, id, task));
+    }
+
+    private static TaskSize size(Long id, int titleLength, int descriptionLength) {
+        return new TaskSize() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getTitleLength() {
+                return titleLength;
+            }
+
+            @Override
+            public Integer getDescriptionLength() {
+                return descriptionLength;
+            }
+        };
+    }
+}
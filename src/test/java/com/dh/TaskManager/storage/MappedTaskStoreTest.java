@@ -0,0 +1,117 @@
+package com.dh.TaskManager.storage;
+
+import com.dh.TaskManager.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica la recuperación del índice al reabrir, el descarte de registros dañados y la compactación
+ * del almacenamiento mapeado en memoria.
+ */
+class MappedTaskStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversTasksVersionsAndDeletesAfterReopening() {
+        try (MappedTaskStore store = open()) {
+            store.insert("Uno", "Primera");
+            store.insert("Dos", null);
+            store.insert("Tres", "Tercera");
+            assertEquals(1L, store.update(1, 0L, "Uno editada", "Primera editada", false));
+            assertNull(store.update(1, 0L, "Uno", "Versión vencida", false));
+            assertEquals(1L, store.update(2, null, null, "Segunda", true));
+            assertTrue(store.delete(3));
+        }
+
+        try (MappedTaskStore store = open()) {
+            assertEquals(2, store.count());
+            assertEquals("Uno editada", store.get(1).getTitle());
+            assertEquals(1L, store.getVersion(1));
+            assertEquals("Dos", store.get(2).getTitle());
+            assertEquals("Segunda", store.get(2).getDescription());
+            assertNull(store.get(3));
+            assertEquals(2, store.versionSum());
+            // Los identificadores de tareas eliminadas no se reutilizan.
+            assertEquals(4, store.insert("Cuatro", null).getId());
+        }
+    }
+
+    @Test
+    void discardsTornRecordAtTheEndOfTheLog() throws IOException {
+        try (MappedTaskStore store = open()) {
+            store.insert("Uno", "Primera");
+            store.insert("Dos", "Segunda");
+        }
+        // Se altera el último byte escrito de la segunda tarea, como si la escritura se hubiera interrumpido.
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 16);
+            int secondRecord = 16 + 8 + header.flip().getInt();
+            header.clear();
+            channel.read(header, secondRecord);
+            int lastByte = secondRecord + 8 + header.flip().getInt() - 1;
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), lastByte);
+        }
+
+        try (MappedTaskStore store = open()) {
+            assertEquals(1, store.count());
+            assertEquals("Primera", store.get(1).getDescription());
+            Task task = store.insert("Dos", "Reintento");
+            assertEquals("Reintento", store.get(task.getId()).getDescription());
+        }
+        try (MappedTaskStore store = open()) {
+            assertEquals(2, store.count());
+        }
+    }
+
+    @Test
+    void compactionRemovesObsoleteSegmentsWithoutLosingTasks() throws IOException {
+        try (MappedTaskStore store = open()) {
+            for (int i = 0; i < 100; i++) {
+                store.insert("Tarea " + i, "Descripción de la tarea " + i);
+            }
+            for (long id = 1; id <= 100; id++) {
+                if (id % 10 != 0) {
+                    store.delete(id);
+                }
+            }
+            int before = segments().size();
+            assertTrue(store.compact() > 0);
+            assertTrue(segments().size() < before);
+            assertEquals(10, store.count());
+        }
+
+        try (MappedTaskStore store = open()) {
+            assertEquals(10, store.count());
+            assertEquals("Tarea 49", store.get(50).getTitle());
+            assertNull(store.get(51));
+        }
+    }
+
+    private MappedTaskStore open() {
+        return new MappedTaskStore(directory, SEGMENT_SIZE, false, Duration.ZERO, 0.5);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}